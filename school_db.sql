@@ -76,8 +76,7 @@ CREATE TABLE IF NOT EXISTS attendance (
     student_id INTEGER NOT NULL REFERENCES students(id) ON DELETE CASCADE,
     attendance_date DATE NOT NULL,
     present BOOLEAN NOT NULL DEFAULT TRUE,
-    remarks TEXT,
-    CONSTRAINT uq_attendance UNIQUE (student_id, attendance_date)
+    remarks TEXT
 );
 
 -- =========================
@@ -132,6 +131,30 @@ CREATE TABLE IF NOT EXISTS timetables (
     CHECK (start_time < end_time)
 );
 
+-- =========================
+-- CLASS SESSIONS (one meeting of a course; attendance is marked per session)
+-- =========================
+CREATE TABLE IF NOT EXISTS class_sessions (
+    id SERIAL PRIMARY KEY,
+    course_id INTEGER NOT NULL REFERENCES courses(id) ON DELETE CASCADE,
+    session_date DATE NOT NULL,
+    slot SMALLINT NOT NULL DEFAULT 1 CHECK (slot > 0),
+    CONSTRAINT uq_class_session UNIQUE (course_id, session_date, slot)
+);
+
+ALTER TABLE attendance ADD COLUMN IF NOT EXISTS session_id INTEGER REFERENCES class_sessions(id) ON DELETE CASCADE;
+
+-- =========================
+-- ATTENDANCE BITMAPS (one school year per row, one bit per day; kept in step by AttendanceDAO)
+-- =========================
+CREATE TABLE IF NOT EXISTS attendance_bitmaps (
+    student_id INTEGER NOT NULL REFERENCES students(id) ON DELETE CASCADE,
+    term_start DATE NOT NULL,
+    recorded BYTEA NOT NULL,
+    present BYTEA NOT NULL,
+    PRIMARY KEY (student_id, term_start)
+);
+
 -- =========================
 -- LIBRARY
 -- =========================
@@ -194,9 +217,16 @@ CREATE INDEX IF NOT EXISTS idx_students_class ON students(class_id);
 CREATE INDEX IF NOT EXISTS idx_subjects_teacher ON subjects(teacher_id);
 CREATE INDEX IF NOT EXISTS idx_enrollments_student ON enrollments(student_id);
 CREATE INDEX IF NOT EXISTS idx_enrollments_course ON enrollments(course_id);
+-- Student timetable: enrollments(student_id) -> timetables(course_id)
+CREATE INDEX IF NOT EXISTS idx_timetables_course ON timetables(course_id);
 CREATE INDEX IF NOT EXISTS idx_courses_department ON courses(department_id);
 CREATE INDEX IF NOT EXISTS idx_fees_student ON fees(student_id);
 CREATE INDEX IF NOT EXISTS idx_announcements_active ON announcements(is_active);
+-- Per-session marks; present is included so session summaries are index-only
+CREATE UNIQUE INDEX IF NOT EXISTS uq_attendance_session ON attendance(session_id, student_id) INCLUDE (present) WHERE session_id IS NOT NULL;
+-- Daily marks recorded without a session
+CREATE UNIQUE INDEX IF NOT EXISTS uq_attendance_daily ON attendance(student_id, attendance_date) WHERE session_id IS NULL;
+CREATE INDEX IF NOT EXISTS idx_attendance_bitmaps_term ON attendance_bitmaps(term_start);
 
 -- =====================================================
 -- END OF SCHEMA
@@ -1,93 +1,241 @@
 package app;
 
 import config.DBConnection;
+import dao.AttendanceBitmapDAO;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Time;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import service.PasswordHashingService;
 import utils.PasswordUtil;
 
+/**
+ * Versioned schema and seed migrations. Applied versions are recorded in
+ * schema_version, so a normal start costs one query; each pending migration runs
+ * in its own transaction under an advisory lock, and is skipped if another
+ * workstation applied it first. Add new steps to the end of MIGRATIONS with the next
+ * version number and never change a step that has shipped.
+ */
 public class DBSeeder {
-    public static void seedAdmin() {
-        try (Connection c = DBConnection.getConnection();
-             Statement st = c.createStatement()) {
 
-            // Create all tables
-            createTables(st);
+    private interface Step {
+        void apply(Connection c) throws SQLException;
+    }
+
+    private static final class Migration {
+        final int version;
+        final String description;
+        final Step step;
 
-            // Alter users table to add new columns if not exist
-            st.execute("ALTER TABLE users ADD COLUMN IF NOT EXISTS name VARCHAR(255)");
-            st.execute("ALTER TABLE users ADD COLUMN IF NOT EXISTS email VARCHAR(255)");
-            st.execute("ALTER TABLE users ADD COLUMN IF NOT EXISTS matricule VARCHAR(100)");
-            st.execute("ALTER TABLE users ADD COLUMN IF NOT EXISTS level VARCHAR(50)");
+        Migration(int version, String description, Step step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
 
-            // Seed users
-            seedUser(c, "admin", "admin", "ADMIN", "Administrator", "admin@school.com", "ADM001", "N/A");
-            seedUser(c, "superadmin", "superadmin", "ADMIN", "Super Administrator", "superadmin@school.com", "SUP001", "N/A");
-            seedUser(c, "user", "user", "USER", "Normal User", "user@school.com", "USR001", "Level 1");
-            seedUser(c, "teacher1", "teacher", "TEACHER", "John Doe", "john.doe@school.com", "TCH001", "Senior");
-            seedUser(c, "teacher2", "teacher", "TEACHER", "Jane Smith", "jane.smith@school.com", "TCH002", "Senior");
+    private static final int SEED_USERS_VERSION = 5;
+
+    // pg_advisory_xact_lock key held while a migration runs, so workstations starting together take turns
+    private static final long MIGRATION_LOCK_KEY = 7_318_200_001L;
+
+    // username, password, role, name, email, matricule, level
+    private static final String[][] DEFAULT_USERS = {
+        {"admin", "admin", "ADMIN", "Administrator", "admin@school.com", "ADM001", "N/A"},
+        {"superadmin", "superadmin", "ADMIN", "Super Administrator", "superadmin@school.com", "SUP001", "N/A"},
+        {"user", "user", "USER", "Normal User", "user@school.com", "USR001", "Level 1"},
+        {"teacher1", "teacher", "TEACHER", "John Doe", "john.doe@school.com", "TCH001", "Senior"},
+        {"teacher2", "teacher", "TEACHER", "Jane Smith", "jane.smith@school.com", "TCH002", "Senior"}
+    };
+
+    // Hashes for DEFAULT_USERS, computed on the hashing pool while earlier migrations run
+    private static CompletableFuture<List<String>> defaultUserHashes;
+
+    private static final List<Migration> MIGRATIONS = Arrays.asList(
+        new Migration(1, "Create tables", DBSeeder::createTables),
+        new Migration(2, "Add user profile columns", DBSeeder::addUserColumns),
+        new Migration(3, "Create indexes", DBSeeder::createIndexes),
+        new Migration(4, "Seed sample data", DBSeeder::seedSampleData),
+        new Migration(SEED_USERS_VERSION, "Seed default users", DBSeeder::seedUsers),
+        new Migration(6, "Per-session attendance", DBSeeder::addClassSessions),
+        new Migration(7, "Attendance bitmaps", DBSeeder::addAttendanceBitmaps)
+    );
+
+    /**
+     * Bring the database up to the latest version. Stops at the first failing migration.
+     */
+    public static void migrate() {
+        try (Connection c = DBConnection.getConnection()) {
+            try (Statement st = c.createStatement()) {
+                st.execute("CREATE TABLE IF NOT EXISTS schema_version (version INTEGER PRIMARY KEY, description VARCHAR(255) NOT NULL, applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            }
+            Set<Integer> applied = appliedVersions(c);
 
-            // Seed sample data
-            seedSampleData(c);
+            List<Migration> pending = new ArrayList<>();
+            for (Migration m : MIGRATIONS) {
+                if (!applied.contains(m.version)) {
+                    pending.add(m);
+                }
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            if (!applied.contains(SEED_USERS_VERSION)) {
+                hashDefaultPasswords();
+            }
+
+            c.setAutoCommit(false);
+            try {
+                for (Migration m : pending) {
+                    try {
+                        lockMigrations(c);
+                        if (isApplied(c, m.version)) {
+                            // Another workstation applied it while we waited for the lock
+                            c.commit();
+                            continue;
+                        }
+                        m.step.apply(c);
+                        try (PreparedStatement ps = c.prepareStatement("INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                            ps.setInt(1, m.version);
+                            ps.setString(2, m.description);
+                            ps.executeUpdate();
+                        }
+                        c.commit();
+                        System.out.println("Applied migration " + m.version + ": " + m.description);
+                    } catch (SQLException | RuntimeException e) {
+                        c.rollback();
+                        System.err.println("Migration " + m.version + " (" + m.description + ") failed: " + e.getMessage());
+                        e.printStackTrace();
+                        return;
+                    }
+                }
+            } finally {
+                c.setAutoCommit(true);
+            }
 
         } catch (SQLException e) {
-            System.err.println("Failed to seed DB: " + e.getMessage());
+            System.err.println("Failed to migrate DB: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
-    private static void createTables(Statement st) throws SQLException {
-        // Users table (already handled)
-        st.execute("CREATE TABLE IF NOT EXISTS users (id SERIAL PRIMARY KEY, username VARCHAR(100) UNIQUE NOT NULL, password VARCHAR(255) NOT NULL, role VARCHAR(50) DEFAULT 'USER')");
+    /**
+     * Hold the migration lock until the current transaction ends
+     */
+    private static void lockMigrations(Connection c) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("SELECT pg_advisory_xact_lock(?)")) {
+            ps.setLong(1, MIGRATION_LOCK_KEY);
+            ps.executeQuery().close();
+        }
+    }
 
-        // Departments
-        st.execute("CREATE TABLE IF NOT EXISTS departments (id SERIAL PRIMARY KEY, department_code VARCHAR(10) UNIQUE NOT NULL, department_name VARCHAR(150) NOT NULL, description TEXT, head_of_department VARCHAR(150))");
+    private static boolean isApplied(Connection c, int version) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("SELECT 1 FROM schema_version WHERE version = ?")) {
+            ps.setInt(1, version);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
 
-        // Classes
-        st.execute("CREATE TABLE IF NOT EXISTS classes (id SERIAL PRIMARY KEY, name VARCHAR(100) NOT NULL)");
+    private static Set<Integer> appliedVersions(Connection c) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT version FROM schema_version")) {
+            while (rs.next()) {
+                versions.add(rs.getInt(1));
+            }
+        }
+        return versions;
+    }
 
-        // Students
-        st.execute("CREATE TABLE IF NOT EXISTS students (id SERIAL PRIMARY KEY, first_name VARCHAR(100) NOT NULL, last_name VARCHAR(100) NOT NULL, email VARCHAR(255) UNIQUE, class_id INTEGER REFERENCES classes(id) ON DELETE SET NULL)");
+    /**
+     * Start hashing the default passwords in the background. They get the minimum work
+     * factor; login upgrades them to the calibrated one.
+     */
+    private static void hashDefaultPasswords() {
+        List<String> passwords = new ArrayList<>();
+        for (String[] u : DEFAULT_USERS) {
+            passwords.add(u[1]);
+        }
+        defaultUserHashes = PasswordHashingService.getInstance().hashAll(passwords, PasswordUtil.MIN_ITERATIONS);
+    }
+
+    private static void createTables(Connection c) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            // Users
+            st.addBatch("CREATE TABLE IF NOT EXISTS users (id SERIAL PRIMARY KEY, username VARCHAR(100) UNIQUE NOT NULL, password VARCHAR(255) NOT NULL, role VARCHAR(50) DEFAULT 'USER')");
 
-        // Teachers
-        st.execute("CREATE TABLE IF NOT EXISTS teachers (id SERIAL PRIMARY KEY, first_name VARCHAR(100) NOT NULL, last_name VARCHAR(100) NOT NULL, email VARCHAR(255) UNIQUE)");
+            // Departments
+            st.addBatch("CREATE TABLE IF NOT EXISTS departments (id SERIAL PRIMARY KEY, department_code VARCHAR(10) UNIQUE NOT NULL, department_name VARCHAR(150) NOT NULL, description TEXT, head_of_department VARCHAR(150))");
 
-        // Courses
-        st.execute("CREATE TABLE IF NOT EXISTS courses (id SERIAL PRIMARY KEY, course_code VARCHAR(20) UNIQUE NOT NULL, course_name VARCHAR(150) NOT NULL, description TEXT, credits INTEGER NOT NULL CHECK (credits > 0), department_id INTEGER REFERENCES departments(id) ON DELETE SET NULL)");
+            // Classes
+            st.addBatch("CREATE TABLE IF NOT EXISTS classes (id SERIAL PRIMARY KEY, name VARCHAR(100) NOT NULL)");
 
-        // Subjects
-        st.execute("CREATE TABLE IF NOT EXISTS subjects (id SERIAL PRIMARY KEY, name VARCHAR(150) NOT NULL, teacher_id INTEGER REFERENCES teachers(id) ON DELETE SET NULL)");
+            // Students
+            st.addBatch("CREATE TABLE IF NOT EXISTS students (id SERIAL PRIMARY KEY, first_name VARCHAR(100) NOT NULL, last_name VARCHAR(100) NOT NULL, email VARCHAR(255) UNIQUE, class_id INTEGER REFERENCES classes(id) ON DELETE SET NULL)");
 
-        // Enrollments
-        st.execute("CREATE TABLE IF NOT EXISTS enrollments (id SERIAL PRIMARY KEY, student_id INTEGER NOT NULL REFERENCES students(id) ON DELETE CASCADE, course_id INTEGER NOT NULL REFERENCES courses(id) ON DELETE CASCADE, enrollment_date DATE DEFAULT CURRENT_DATE, status VARCHAR(20) DEFAULT 'ACTIVE', grade DECIMAL(5,2) CHECK (grade BETWEEN 0 AND 100))");
+            // Teachers
+            st.addBatch("CREATE TABLE IF NOT EXISTS teachers (id SERIAL PRIMARY KEY, first_name VARCHAR(100) NOT NULL, last_name VARCHAR(100) NOT NULL, email VARCHAR(255) UNIQUE)");
 
-        // Timetables
-        st.execute("CREATE TABLE IF NOT EXISTS timetables (id SERIAL PRIMARY KEY, course_id INTEGER REFERENCES courses(id) ON DELETE CASCADE, day_of_week VARCHAR(15) NOT NULL, start_time TIME NOT NULL, end_time TIME NOT NULL, room VARCHAR(50) NOT NULL, instructor VARCHAR(150))");
+            // Courses
+            st.addBatch("CREATE TABLE IF NOT EXISTS courses (id SERIAL PRIMARY KEY, course_code VARCHAR(20) UNIQUE NOT NULL, course_name VARCHAR(150) NOT NULL, description TEXT, credits INTEGER NOT NULL CHECK (credits > 0), department_id INTEGER REFERENCES departments(id) ON DELETE SET NULL)");
 
-        // Attendance
-        st.execute("CREATE TABLE IF NOT EXISTS attendance (id SERIAL PRIMARY KEY, student_id INTEGER REFERENCES students(id) ON DELETE CASCADE, attendance_date DATE NOT NULL, present BOOLEAN NOT NULL DEFAULT TRUE, remarks TEXT)");
+            // Subjects
+            st.addBatch("CREATE TABLE IF NOT EXISTS subjects (id SERIAL PRIMARY KEY, name VARCHAR(150) NOT NULL, teacher_id INTEGER REFERENCES teachers(id) ON DELETE SET NULL)");
 
-        // Fees
-        st.execute("CREATE TABLE IF NOT EXISTS fees (id SERIAL PRIMARY KEY, student_id INTEGER REFERENCES students(id) ON DELETE CASCADE, fee_type VARCHAR(100) NOT NULL, amount DECIMAL(10,2) NOT NULL CHECK (amount > 0), paid_amount DECIMAL(10,2) DEFAULT 0 CHECK (paid_amount >= 0), due_date DATE NOT NULL, payment_date DATE, status VARCHAR(20) DEFAULT 'PENDING')");
+            // Enrollments
+            st.addBatch("CREATE TABLE IF NOT EXISTS enrollments (id SERIAL PRIMARY KEY, student_id INTEGER NOT NULL REFERENCES students(id) ON DELETE CASCADE, course_id INTEGER NOT NULL REFERENCES courses(id) ON DELETE CASCADE, enrollment_date DATE DEFAULT CURRENT_DATE, status VARCHAR(20) DEFAULT 'ACTIVE', grade DECIMAL(5,2) CHECK (grade BETWEEN 0 AND 100))");
 
-        // Announcements
-        st.execute("CREATE TABLE IF NOT EXISTS announcements (id SERIAL PRIMARY KEY, title VARCHAR(255) NOT NULL, content TEXT NOT NULL, author VARCHAR(150) NOT NULL, publish_date DATE DEFAULT CURRENT_DATE, expiry_date DATE, target_audience VARCHAR(20) DEFAULT 'ALL', is_active BOOLEAN DEFAULT TRUE)");
+            // Timetables
+            st.addBatch("CREATE TABLE IF NOT EXISTS timetables (id SERIAL PRIMARY KEY, course_id INTEGER REFERENCES courses(id) ON DELETE CASCADE, day_of_week VARCHAR(15) NOT NULL, start_time TIME NOT NULL, end_time TIME NOT NULL, room VARCHAR(50) NOT NULL, instructor VARCHAR(150))");
 
-        // Indexes
-        st.execute("CREATE INDEX IF NOT EXISTS idx_students_class ON students(class_id)");
-        st.execute("CREATE INDEX IF NOT EXISTS idx_subjects_teacher ON subjects(teacher_id)");
-        st.execute("CREATE INDEX IF NOT EXISTS idx_enrollments_student ON enrollments(student_id)");
-        st.execute("CREATE INDEX IF NOT EXISTS idx_enrollments_course ON enrollments(course_id)");
-        st.execute("CREATE INDEX IF NOT EXISTS idx_courses_department ON courses(department_id)");
-        st.execute("CREATE INDEX IF NOT EXISTS idx_fees_student ON fees(student_id)");
-        st.execute("CREATE INDEX IF NOT EXISTS idx_announcements_active ON announcements(is_active)");
-        st.execute("CREATE INDEX IF NOT EXISTS idx_attendance_student_date ON attendance(student_id, attendance_date)");
-        st.execute("CREATE UNIQUE INDEX IF NOT EXISTS uq_enrollment ON enrollments(student_id, course_id)");
-        st.execute("CREATE UNIQUE INDEX IF NOT EXISTS uq_attendance ON attendance(student_id, attendance_date)");
+            // Attendance
+            st.addBatch("CREATE TABLE IF NOT EXISTS attendance (id SERIAL PRIMARY KEY, student_id INTEGER REFERENCES students(id) ON DELETE CASCADE, attendance_date DATE NOT NULL, present BOOLEAN NOT NULL DEFAULT TRUE, remarks TEXT)");
 
+            // Fees
+            st.addBatch("CREATE TABLE IF NOT EXISTS fees (id SERIAL PRIMARY KEY, student_id INTEGER REFERENCES students(id) ON DELETE CASCADE, fee_type VARCHAR(100) NOT NULL, amount DECIMAL(10,2) NOT NULL CHECK (amount > 0), paid_amount DECIMAL(10,2) DEFAULT 0 CHECK (paid_amount >= 0), due_date DATE NOT NULL, payment_date DATE, status VARCHAR(20) DEFAULT 'PENDING')");
+
+            // Announcements
+            st.addBatch("CREATE TABLE IF NOT EXISTS announcements (id SERIAL PRIMARY KEY, title VARCHAR(255) NOT NULL, content TEXT NOT NULL, author VARCHAR(150) NOT NULL, publish_date DATE DEFAULT CURRENT_DATE, expiry_date DATE, target_audience VARCHAR(20) DEFAULT 'ALL', is_active BOOLEAN DEFAULT TRUE)");
+
+            st.executeBatch();
+        }
+    }
+
+    private static void addUserColumns(Connection c) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            st.addBatch("ALTER TABLE users ADD COLUMN IF NOT EXISTS name VARCHAR(255)");
+            st.addBatch("ALTER TABLE users ADD COLUMN IF NOT EXISTS email VARCHAR(255)");
+            st.addBatch("ALTER TABLE users ADD COLUMN IF NOT EXISTS matricule VARCHAR(100)");
+            st.addBatch("ALTER TABLE users ADD COLUMN IF NOT EXISTS level VARCHAR(50)");
+            st.executeBatch();
+        }
+    }
+
+    private static void createIndexes(Connection c) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            st.addBatch("CREATE INDEX IF NOT EXISTS idx_students_class ON students(class_id)");
+            st.addBatch("CREATE INDEX IF NOT EXISTS idx_subjects_teacher ON subjects(teacher_id)");
+            st.addBatch("CREATE INDEX IF NOT EXISTS idx_enrollments_student ON enrollments(student_id)");
+            st.addBatch("CREATE INDEX IF NOT EXISTS idx_enrollments_course ON enrollments(course_id)");
+            st.addBatch("CREATE INDEX IF NOT EXISTS idx_timetables_course ON timetables(course_id)");
+            st.addBatch("CREATE INDEX IF NOT EXISTS idx_courses_department ON courses(department_id)");
+            st.addBatch("CREATE INDEX IF NOT EXISTS idx_fees_student ON fees(student_id)");
+            st.addBatch("CREATE INDEX IF NOT EXISTS idx_announcements_active ON announcements(is_active)");
+            st.addBatch("CREATE INDEX IF NOT EXISTS idx_attendance_student_date ON attendance(student_id, attendance_date)");
+            st.addBatch("CREATE UNIQUE INDEX IF NOT EXISTS uq_enrollment ON enrollments(student_id, course_id)");
+            st.addBatch("CREATE UNIQUE INDEX IF NOT EXISTS uq_attendance ON attendance(student_id, attendance_date)");
+            st.executeBatch();
+        }
     }
 
     private static void seedSampleData(Connection c) throws SQLException {
@@ -103,8 +251,9 @@ public class DBSeeder {
                 ps.setString(1, (String)dept[0]);
                 ps.setString(2, (String)dept[1]);
                 ps.setString(3, (String)dept[2]);
-                ps.executeUpdate();
+                ps.addBatch();
             }
+            ps.executeBatch();
         }
 
         // Seed classes
@@ -112,8 +261,9 @@ public class DBSeeder {
             String[] classes = {"Class 1A", "Class 1B", "Class 2A", "Class 2B"};
             for (String cls : classes) {
                 ps.setString(1, cls);
-                ps.executeUpdate();
+                ps.addBatch();
             }
+            ps.executeBatch();
         }
 
         // Seed teachers
@@ -127,8 +277,9 @@ public class DBSeeder {
                 ps.setString(1, (String)t[0]);
                 ps.setString(2, (String)t[1]);
                 ps.setString(3, (String)t[2]);
-                ps.executeUpdate();
+                ps.addBatch();
             }
+            ps.executeBatch();
         }
 
         // Seed subjects
@@ -143,8 +294,9 @@ public class DBSeeder {
             for (Object[] s : subjects) {
                 ps.setString(1, (String)s[0]);
                 ps.setInt(2, (Integer)s[1]);
-                ps.executeUpdate();
+                ps.addBatch();
             }
+            ps.executeBatch();
         }
 
         // Seed students
@@ -160,8 +312,9 @@ public class DBSeeder {
                 ps.setString(2, (String)s[1]);
                 ps.setString(3, (String)s[2]);
                 ps.setInt(4, (Integer)s[3]);
-                ps.executeUpdate();
+                ps.addBatch();
             }
+            ps.executeBatch();
         }
 
         // Seed courses
@@ -178,8 +331,9 @@ public class DBSeeder {
                 ps.setString(3, (String)course[2]);
                 ps.setInt(4, (Integer)course[3]);
                 ps.setInt(5, (Integer)course[4]);
-                ps.executeUpdate();
+                ps.addBatch();
             }
+            ps.executeBatch();
         }
 
         // Seed enrollments
@@ -191,8 +345,9 @@ public class DBSeeder {
             for (int[] en : enrollments) {
                 ps.setInt(1, en[0]);
                 ps.setInt(2, en[1]);
-                ps.executeUpdate();
+                ps.addBatch();
             }
+            ps.executeBatch();
         }
 
         // Seed timetables
@@ -210,8 +365,9 @@ public class DBSeeder {
                 ps.setTime(4, Time.valueOf((String)tt[3]));
                 ps.setString(5, (String)tt[4]);
                 ps.setString(6, (String)tt[5]);
-                ps.executeUpdate();
+                ps.addBatch();
             }
+            ps.executeBatch();
         }
 
         // Seed attendance (sample)
@@ -220,48 +376,79 @@ public class DBSeeder {
             for (int i = 1; i <= 4; i++) {
                 ps.setInt(1, i);
                 ps.setBoolean(2, i % 2 == 0); // Alternate present/absent
-                ps.executeUpdate();
+                ps.addBatch();
             }
+            ps.executeBatch();
         }
     }
 
-    private static void seedUser(Connection c, String username, String password, String role, String name, String email, String matricule, String level) throws SQLException {
-        String check = "SELECT id FROM users WHERE username = ?";
-        String insert = "INSERT INTO users (username, password, role, name, email, matricule, level) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        String update = "UPDATE users SET password=?, name=?, email=?, matricule=?, level=? WHERE username=?";
+    /**
+     * Attendance is marked per class session (course, date, slot) instead of once per
+     * student per day. Existing daily rows are attached to a session when the student's
+     * timetable shows exactly one enrolled course meeting on that weekday; the rest stay
+     * daily marks with no session.
+     */
+    private static void addClassSessions(Connection c) throws SQLException {
+        String legacyCourse = "SELECT a.id AS attendance_id, MIN(t.course_id) AS course_id, a.attendance_date " +
+                "FROM attendance a JOIN enrollments e ON e.student_id = a.student_id " +
+                "JOIN timetables t ON t.course_id = e.course_id " +
+                "AND lower(t.day_of_week) = lower(trim(to_char(a.attendance_date, 'Day'))) " +
+                "WHERE a.session_id IS NULL GROUP BY a.id, a.attendance_date HAVING COUNT(DISTINCT t.course_id) = 1";
+
+        try (Statement st = c.createStatement()) {
+            st.addBatch("CREATE TABLE IF NOT EXISTS class_sessions (id SERIAL PRIMARY KEY, course_id INTEGER NOT NULL REFERENCES courses(id) ON DELETE CASCADE, session_date DATE NOT NULL, slot SMALLINT NOT NULL DEFAULT 1 CHECK (slot > 0))");
+            st.addBatch("CREATE UNIQUE INDEX IF NOT EXISTS uq_class_session ON class_sessions(course_id, session_date, slot)");
+            st.addBatch("ALTER TABLE attendance ADD COLUMN IF NOT EXISTS session_id INTEGER REFERENCES class_sessions(id) ON DELETE CASCADE");
+
+            // One mark per student per session; daily marks without a session keep one per day
+            st.addBatch("ALTER TABLE attendance DROP CONSTRAINT IF EXISTS uq_attendance");
+            st.addBatch("DROP INDEX IF EXISTS uq_attendance");
+            st.addBatch("CREATE UNIQUE INDEX IF NOT EXISTS uq_attendance_session ON attendance(session_id, student_id) INCLUDE (present) WHERE session_id IS NOT NULL");
+            st.addBatch("CREATE UNIQUE INDEX IF NOT EXISTS uq_attendance_daily ON attendance(student_id, attendance_date) WHERE session_id IS NULL");
+
+            st.addBatch("INSERT INTO class_sessions (course_id, session_date, slot) " +
+                    "SELECT DISTINCT l.course_id, l.attendance_date, 1 FROM (" + legacyCourse + ") l " +
+                    "ON CONFLICT (course_id, session_date, slot) DO NOTHING");
+            st.addBatch("UPDATE attendance a SET session_id = cs.id FROM (" + legacyCourse + ") l " +
+                    "JOIN class_sessions cs ON cs.course_id = l.course_id AND cs.session_date = l.attendance_date AND cs.slot = 1 " +
+                    "WHERE a.id = l.attendance_id");
+            st.executeBatch();
+        }
+    }
 
-        try (PreparedStatement ps = c.prepareStatement(check)) {
-            ps.setString(1, username);
-            try (ResultSet rs = ps.executeQuery()) {
-                String hashed = PasswordUtil.hash(password);
-                System.out.println("Hashed password for " + username + ": " + hashed);
-                if (!rs.next()) {
-                    // Insert
-                    try (PreparedStatement ins = c.prepareStatement(insert)) {
-                        ins.setString(1, username);
-                        ins.setString(2, hashed);
-                        ins.setString(3, role);
-                        ins.setString(4, name);
-                        ins.setString(5, email);
-                        ins.setString(6, matricule);
-                        ins.setString(7, level);
-                        ins.executeUpdate();
-                        System.out.println("Seeded " + username + " (" + role + ")");
-                    }
-                } else {
-                    // Update
-                    try (PreparedStatement upd = c.prepareStatement(update)) {
-                        upd.setString(1, hashed);
-                        upd.setString(2, name);
-                        upd.setString(3, email);
-                        upd.setString(4, matricule);
-                        upd.setString(5, level);
-                        upd.setString(6, username);
-                        upd.executeUpdate();
-                        System.out.println("Updated " + username + " password");
-                    }
-                }
+    /**
+     * One row per student per school year holding that year's attendance as two
+     * bitmaps, filled from the existing attendance rows
+     */
+    private static void addAttendanceBitmaps(Connection c) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            st.execute("CREATE TABLE IF NOT EXISTS attendance_bitmaps (student_id INTEGER NOT NULL REFERENCES students(id) ON DELETE CASCADE, term_start DATE NOT NULL, recorded BYTEA NOT NULL, present BYTEA NOT NULL, PRIMARY KEY (student_id, term_start))");
+            st.execute("CREATE INDEX IF NOT EXISTS idx_attendance_bitmaps_term ON attendance_bitmaps(term_start)");
+        }
+        AttendanceBitmapDAO.rebuildAll(c);
+    }
+
+    /**
+     * Insert the default accounts. Existing accounts with the same username are left
+     * alone, so a password changed by an administrator is never reset.
+     */
+    private static void seedUsers(Connection c) throws SQLException {
+        List<String> hashes = PasswordHashingService.await(defaultUserHashes);
+        String insert = "INSERT INTO users (username, password, role, name, email, matricule, level) VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT (username) DO NOTHING";
+
+        try (PreparedStatement ins = c.prepareStatement(insert)) {
+            for (int i = 0; i < DEFAULT_USERS.length; i++) {
+                String[] u = DEFAULT_USERS[i];
+                ins.setString(1, u[0]);
+                ins.setString(2, hashes.get(i));
+                ins.setString(3, u[2]);
+                ins.setString(4, u[3]);
+                ins.setString(5, u[4]);
+                ins.setString(6, u[5]);
+                ins.setString(7, u[6]);
+                ins.addBatch();
             }
+            ins.executeBatch();
         }
     }
 }
@@ -2,14 +2,20 @@ package app;
 
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
+import dao.UserDAO;
+import service.PasswordHashingService;
 import ui.LoginFrame;
 
 public class MainApp {
 
     public static void main(String[] args) {
 
-        // seed DB with admin user if needed
-        DBSeeder.seedAdmin();
+        // pick the password work factor for this machine before the first login
+        PasswordHashingService.getInstance().calibrate();
+
+        // create or upgrade the schema and seed a new database
+        DBSeeder.migrate();
+        UserDAO.rebuildUsernameFilter();
 
         // Run Swing on Event Dispatch Thread
         SwingUtilities.invokeLater(() -> {
@@ -2,6 +2,6 @@ package app;
 
 public class RunSeeder {
     public static void main(String[] args) {
-        DBSeeder.seedAdmin();
+        DBSeeder.migrate();
     }
 }
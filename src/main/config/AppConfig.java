@@ -2,6 +2,7 @@ package config;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.time.MonthDay;
 import java.util.Properties;
 
 /**
@@ -20,24 +21,53 @@ public class AppConfig {
     private static String appDescription = "Comprehensive university management solution";
     private static boolean debugMode = false;
     private static int sessionTimeout = 30; // minutes
-    private static int maxLoginAttempts = 3;
+    private static int maxLoginAttempts = 3; // failed logins per username within the window, 0 = unlimited
+    private static int loginWindowSeconds = 300; // sliding window for counting failed logins
+    private static int loginLockoutSeconds = 30; // first lockout, doubled for each further failure
+    private static int loginLockoutMaxSeconds = 900;
+    private static int loginThrottleMaxEntries = 10000; // usernames/terminals tracked at once
     private static boolean enableNotifications = true;
+    private static int dashboardStatsTtl = 30; // seconds, 0 = always reload
+    private static String termStart = "09-01"; // MM-dd the school year starts; attendance bitmaps cover one year each
+    private static int atRiskAttendanceMin = 75; // percent of recorded days; below this a student is flagged
+    private static int atRiskPassGrade = 50; // enrollment grades below this count as failing
+    private static int atRiskAbsenceStreak = 5; // recorded days missed in a row that flag a student
+    private static int atRiskMinDays = 10; // recorded days needed before the attendance rate is judged
+    private static int analyticsThreads = 0; // fork/join parallelism for analytics scans, 0 = all cores
+    private static int transcriptCacheTtl = 900; // seconds a computed transcript is reused, 0 = disabled
+    private static int transcriptCacheMaxEntries = 5000; // transcripts kept in memory
+    private static int transcriptBatchThreads = 4; // workers for batch transcript runs, keep below db.pool.size
+    private static int transcriptBatchSize = 200; // students loaded per query in a batch run
 
     // UI settings
     private static String theme = "system";
     private static int defaultWindowWidth = 900;
     private static int defaultWindowHeight = 700;
+    private static int tableBlockSize = 200; // rows fetched per block by lazy tables
+    private static int tableCachedBlocks = 20; // blocks a lazy table keeps in memory
+    private static int uiTaskThreads = 4; // background threads for database work started from the UI
 
     // Database settings (additional to DBConnection)
     private static int connectionPoolSize = 10;
     private static int connectionTimeout = 30000; // milliseconds
     private static boolean enableConnectionPooling = false;
+    private static int connectionIdleTimeout = 600000; // milliseconds, 0 = never evict
+    private static int statementCacheSize = 64; // per pooled connection, 0 = disabled
+    private static int batchSize = 100; // rows per JDBC batch
+    private static int exportFetchSize = 1000; // rows per round trip when streaming exports
+    private static int referenceCacheTtl = 300; // seconds courses/departments are cached, 0 = disabled
+    private static int referenceCacheMaxEntries = 256; // entries per reference cache
 
     // Security settings
     private static int passwordMinLength = 8;
     private static boolean requireSpecialChars = true;
     private static boolean requireNumbers = true;
     private static int passwordHistorySize = 5;
+    private static int passwordIterations = 65536; // minimum PBKDF2 work factor for new hashes
+    private static int passwordTargetMillis = 250; // calibrate iterations to this verify time, 0 = use passwordIterations
+    private static int usernameFilterRefresh = 60; // seconds before the known-username filter is rebuilt, 0 = disabled
+    private static int passwordHashThreads = 0; // 0 = one less than the number of cores
+    private static int passwordHashQueueSize = 64; // waiting hash requests before new ones are rejected
 
     // Email settings (for notifications)
     private static String smtpHost = "localhost";
@@ -81,23 +111,52 @@ public class AppConfig {
         debugMode = Boolean.parseBoolean(getProperty(props, "app.debug", String.valueOf(debugMode)));
         sessionTimeout = Integer.parseInt(getProperty(props, "app.session.timeout", String.valueOf(sessionTimeout)));
         maxLoginAttempts = Integer.parseInt(getProperty(props, "app.login.max.attempts", String.valueOf(maxLoginAttempts)));
+        loginWindowSeconds = Integer.parseInt(getProperty(props, "app.login.window.seconds", String.valueOf(loginWindowSeconds)));
+        loginLockoutSeconds = Integer.parseInt(getProperty(props, "app.login.lockout.seconds", String.valueOf(loginLockoutSeconds)));
+        loginLockoutMaxSeconds = Integer.parseInt(getProperty(props, "app.login.lockout.max.seconds", String.valueOf(loginLockoutMaxSeconds)));
+        loginThrottleMaxEntries = Integer.parseInt(getProperty(props, "app.login.throttle.max.entries", String.valueOf(loginThrottleMaxEntries)));
         enableNotifications = Boolean.parseBoolean(getProperty(props, "app.notifications.enabled", String.valueOf(enableNotifications)));
+        dashboardStatsTtl = Integer.parseInt(getProperty(props, "app.dashboard.stats.ttl", String.valueOf(dashboardStatsTtl)));
+        termStart = getProperty(props, "app.term.start", termStart);
+        atRiskAttendanceMin = Integer.parseInt(getProperty(props, "app.atrisk.attendance.min", String.valueOf(atRiskAttendanceMin)));
+        atRiskPassGrade = Integer.parseInt(getProperty(props, "app.atrisk.pass.grade", String.valueOf(atRiskPassGrade)));
+        atRiskAbsenceStreak = Integer.parseInt(getProperty(props, "app.atrisk.absence.streak", String.valueOf(atRiskAbsenceStreak)));
+        atRiskMinDays = Integer.parseInt(getProperty(props, "app.atrisk.min.days", String.valueOf(atRiskMinDays)));
+        analyticsThreads = Integer.parseInt(getProperty(props, "app.analytics.threads", String.valueOf(analyticsThreads)));
+        transcriptCacheTtl = Integer.parseInt(getProperty(props, "app.transcript.cache.ttl", String.valueOf(transcriptCacheTtl)));
+        transcriptCacheMaxEntries = Integer.parseInt(getProperty(props, "app.transcript.cache.max.entries", String.valueOf(transcriptCacheMaxEntries)));
+        transcriptBatchThreads = Integer.parseInt(getProperty(props, "app.transcript.batch.threads", String.valueOf(transcriptBatchThreads)));
+        transcriptBatchSize = Integer.parseInt(getProperty(props, "app.transcript.batch.size", String.valueOf(transcriptBatchSize)));
 
         // Load UI settings
         theme = getProperty(props, "ui.theme", theme);
         defaultWindowWidth = Integer.parseInt(getProperty(props, "ui.window.width", String.valueOf(defaultWindowWidth)));
         defaultWindowHeight = Integer.parseInt(getProperty(props, "ui.window.height", String.valueOf(defaultWindowHeight)));
+        tableBlockSize = Integer.parseInt(getProperty(props, "ui.table.block.size", String.valueOf(tableBlockSize)));
+        tableCachedBlocks = Integer.parseInt(getProperty(props, "ui.table.cached.blocks", String.valueOf(tableCachedBlocks)));
+        uiTaskThreads = Integer.parseInt(getProperty(props, "ui.task.threads", String.valueOf(uiTaskThreads)));
 
         // Load database settings
         connectionPoolSize = Integer.parseInt(getProperty(props, "db.pool.size", String.valueOf(connectionPoolSize)));
         connectionTimeout = Integer.parseInt(getProperty(props, "db.connection.timeout", String.valueOf(connectionTimeout)));
         enableConnectionPooling = Boolean.parseBoolean(getProperty(props, "db.pooling.enabled", String.valueOf(enableConnectionPooling)));
+        connectionIdleTimeout = Integer.parseInt(getProperty(props, "db.pool.idle.timeout", String.valueOf(connectionIdleTimeout)));
+        statementCacheSize = Integer.parseInt(getProperty(props, "db.statement.cache.size", String.valueOf(statementCacheSize)));
+        batchSize = Integer.parseInt(getProperty(props, "db.batch.size", String.valueOf(batchSize)));
+        exportFetchSize = Integer.parseInt(getProperty(props, "db.export.fetch.size", String.valueOf(exportFetchSize)));
+        referenceCacheTtl = Integer.parseInt(getProperty(props, "db.reference.cache.ttl", String.valueOf(referenceCacheTtl)));
+        referenceCacheMaxEntries = Integer.parseInt(getProperty(props, "db.reference.cache.max.entries", String.valueOf(referenceCacheMaxEntries)));
 
         // Load security settings
         passwordMinLength = Integer.parseInt(getProperty(props, "security.password.min.length", String.valueOf(passwordMinLength)));
         requireSpecialChars = Boolean.parseBoolean(getProperty(props, "security.password.require.special", String.valueOf(requireSpecialChars)));
         requireNumbers = Boolean.parseBoolean(getProperty(props, "security.password.require.numbers", String.valueOf(requireNumbers)));
         passwordHistorySize = Integer.parseInt(getProperty(props, "security.password.history.size", String.valueOf(passwordHistorySize)));
+        passwordIterations = Integer.parseInt(getProperty(props, "security.password.iterations", String.valueOf(passwordIterations)));
+        passwordTargetMillis = Integer.parseInt(getProperty(props, "security.password.target.ms", String.valueOf(passwordTargetMillis)));
+        usernameFilterRefresh = Integer.parseInt(getProperty(props, "security.login.username.filter.refresh", String.valueOf(usernameFilterRefresh)));
+        passwordHashThreads = Integer.parseInt(getProperty(props, "security.password.hash.threads", String.valueOf(passwordHashThreads)));
+        passwordHashQueueSize = Integer.parseInt(getProperty(props, "security.password.hash.queue.size", String.valueOf(passwordHashQueueSize)));
 
         // Load email settings
         smtpHost = getProperty(props, "email.smtp.host", smtpHost);
@@ -142,23 +201,52 @@ public class AppConfig {
     public static boolean isDebugMode() { return debugMode; }
     public static int getSessionTimeout() { return sessionTimeout; }
     public static int getMaxLoginAttempts() { return maxLoginAttempts; }
+    public static int getLoginWindowSeconds() { return loginWindowSeconds; }
+    public static int getLoginLockoutSeconds() { return loginLockoutSeconds; }
+    public static int getLoginLockoutMaxSeconds() { return loginLockoutMaxSeconds; }
+    public static int getLoginThrottleMaxEntries() { return loginThrottleMaxEntries; }
     public static boolean isNotificationsEnabled() { return enableNotifications; }
+    public static int getDashboardStatsTtl() { return dashboardStatsTtl; }
+    public static MonthDay getTermStart() { return MonthDay.parse("--" + termStart); }
+    public static int getAtRiskAttendanceMin() { return atRiskAttendanceMin; }
+    public static int getAtRiskPassGrade() { return atRiskPassGrade; }
+    public static int getAtRiskAbsenceStreak() { return atRiskAbsenceStreak; }
+    public static int getAtRiskMinDays() { return atRiskMinDays; }
+    public static int getAnalyticsThreads() { return analyticsThreads; }
+    public static int getTranscriptCacheTtl() { return transcriptCacheTtl; }
+    public static int getTranscriptCacheMaxEntries() { return transcriptCacheMaxEntries; }
+    public static int getTranscriptBatchThreads() { return transcriptBatchThreads; }
+    public static int getTranscriptBatchSize() { return transcriptBatchSize; }
 
     // UI settings
     public static String getTheme() { return theme; }
     public static int getDefaultWindowWidth() { return defaultWindowWidth; }
     public static int getDefaultWindowHeight() { return defaultWindowHeight; }
+    public static int getTableBlockSize() { return tableBlockSize; }
+    public static int getTableCachedBlocks() { return tableCachedBlocks; }
+    public static int getUiTaskThreads() { return uiTaskThreads; }
 
     // Database settings
     public static int getConnectionPoolSize() { return connectionPoolSize; }
     public static int getConnectionTimeout() { return connectionTimeout; }
     public static boolean isConnectionPoolingEnabled() { return enableConnectionPooling; }
+    public static int getConnectionIdleTimeout() { return connectionIdleTimeout; }
+    public static int getStatementCacheSize() { return statementCacheSize; }
+    public static int getBatchSize() { return batchSize; }
+    public static int getExportFetchSize() { return exportFetchSize; }
+    public static int getReferenceCacheTtl() { return referenceCacheTtl; }
+    public static int getReferenceCacheMaxEntries() { return referenceCacheMaxEntries; }
 
     // Security settings
     public static int getPasswordMinLength() { return passwordMinLength; }
     public static boolean isRequireSpecialChars() { return requireSpecialChars; }
     public static boolean isRequireNumbers() { return requireNumbers; }
     public static int getPasswordHistorySize() { return passwordHistorySize; }
+    public static int getPasswordIterations() { return passwordIterations; }
+    public static int getPasswordTargetMillis() { return passwordTargetMillis; }
+    public static int getUsernameFilterRefresh() { return usernameFilterRefresh; }
+    public static int getPasswordHashThreads() { return passwordHashThreads; }
+    public static int getPasswordHashQueueSize() { return passwordHashQueueSize; }
 
     // Email settings
     public static String getSmtpHost() { return smtpHost; }
@@ -188,6 +276,10 @@ public class AppConfig {
         System.out.println("Window Size: " + defaultWindowWidth + "x" + defaultWindowHeight);
         System.out.println("Connection Pool Size: " + connectionPoolSize);
         System.out.println("Connection Timeout: " + connectionTimeout + "ms");
+        System.out.println("Connection Pooling: " + enableConnectionPooling);
+        System.out.println("Connection Idle Timeout: " + connectionIdleTimeout + "ms");
+        System.out.println("Statement Cache Size: " + statementCacheSize);
+        System.out.println("Batch Size: " + batchSize);
         System.out.println("Password Min Length: " + passwordMinLength);
         System.out.println("Require Special Chars: " + requireSpecialChars);
         System.out.println("Require Numbers: " + requireNumbers);
@@ -32,11 +32,16 @@ public final class DBConnection {
     private static String dbUser;
     private static String dbPassword;
 
+    // Created on first use when db.pooling.enabled=true
+    private static volatile ConnectionPool pool;
+
     // Prevent object creation
     private DBConnection() {}
 
     /**
-     * Get database connection using configured credentials
+     * Get database connection using configured credentials.
+     * When pooling is enabled the connection is borrowed from the pool and
+     * closing it returns it there instead of tearing down the socket.
      */
     public static Connection getConnection() {
         try {
@@ -45,6 +50,10 @@ public final class DBConnection {
                 loadConfiguration();
             }
 
+            if (AppConfig.isConnectionPoolingEnabled()) {
+                return getPool().borrow();
+            }
+
             // Optional for newer JDBC, but safe
             Class.forName("org.postgresql.Driver");
             return DriverManager.getConnection(dbUrl, dbUser, dbPassword);
@@ -55,6 +64,63 @@ public final class DBConnection {
         }
     }
 
+    /**
+     * Lazily create the shared connection pool from AppConfig settings
+     */
+    private static ConnectionPool getPool() throws ClassNotFoundException {
+        ConnectionPool p = pool;
+        if (p == null) {
+            synchronized (DBConnection.class) {
+                p = pool;
+                if (p == null) {
+                    Class.forName("org.postgresql.Driver");
+                    p = new ConnectionPool(dbUrl, dbUser, dbPassword,
+                            AppConfig.getConnectionPoolSize(),
+                            AppConfig.getConnectionTimeout(),
+                            AppConfig.getConnectionIdleTimeout(),
+                            AppConfig.getStatementCacheSize());
+                    pool = p;
+                    Runtime.getRuntime().addShutdownHook(new Thread(DBConnection::shutdown, "db-pool-shutdown"));
+                    System.out.println("Connection pool enabled (max " + p.getMaxSize() + " connections)");
+                }
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Close pooled connections (no-op when pooling is disabled)
+     */
+    public static void shutdown() {
+        ConnectionPool p = pool;
+        if (p != null) {
+            p.shutdown();
+        }
+    }
+
+    /**
+     * Get pool usage as "open/max (idle)" for debugging/logging purposes
+     */
+    public static String getPoolStatus() {
+        ConnectionPool p = pool;
+        if (p == null) {
+            return "pooling disabled";
+        }
+        return p.getOpenCount() + "/" + p.getMaxSize() + " open (" + p.getIdleCount() + " idle)";
+    }
+
+    /**
+     * Get prepared statement cache hit/miss counters for debugging/logging purposes
+     */
+    public static String getStatementCacheStats() {
+        long hits = StatementCache.getHits();
+        long misses = StatementCache.getMisses();
+        long total = hits + misses;
+        double hitRate = total == 0 ? 0 : (hits * 100.0) / total;
+        return String.format("hits=%d misses=%d evictions=%d hitRate=%.1f%%",
+                hits, misses, StatementCache.getEvictions(), hitRate);
+    }
+
     /**
      * Load database configuration from environment variables or properties file
      */
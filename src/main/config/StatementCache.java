@@ -0,0 +1,228 @@
+package config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of prepared statements for one pooled connection, keyed by SQL text.
+ * Reusing the same PreparedStatement lets the PostgreSQL driver switch to a
+ * server-side prepared plan instead of re-parsing the query on every DAO call.
+ */
+final class StatementCache {
+
+    // Totals across all pooled connections
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+
+    private final Map<String, CachedStatement> statements;
+
+    StatementCache(int maxSize) {
+        this.statements = new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                EVICTIONS.incrementAndGet();
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Return a cached statement for the SQL, preparing it on the physical connection on a miss.
+     * If the cached statement is already open (nested use of the same SQL) an uncached one is returned.
+     */
+    synchronized PreparedStatement prepare(Connection physical, Connection logical, String sql) throws SQLException {
+        CachedStatement cached = statements.get(sql);
+        if (cached != null && !cached.inUse) {
+            HITS.incrementAndGet();
+            return cached.checkOut(logical);
+        }
+
+        MISSES.incrementAndGet();
+        PreparedStatement ps = physical.prepareStatement(sql);
+        if (cached != null) {
+            return ps;
+        }
+        cached = new CachedStatement(ps);
+        statements.put(sql, cached);
+        return cached.checkOut(logical);
+    }
+
+    /**
+     * Close every cached statement (called when the physical connection is destroyed)
+     */
+    synchronized void clear() {
+        for (CachedStatement cached : statements.values()) {
+            cached.evict();
+        }
+        statements.clear();
+    }
+
+    synchronized int size() {
+        return statements.size();
+    }
+
+    static long getHits() {
+        return HITS.get();
+    }
+
+    static long getMisses() {
+        return MISSES.get();
+    }
+
+    static long getEvictions() {
+        return EVICTIONS.get();
+    }
+
+    /**
+     * A physical statement plus the state needed to hand it out again
+     */
+    private final class CachedStatement {
+        private final PreparedStatement physical;
+        private boolean inUse;
+        private boolean evicted;
+        private boolean settingsChanged;
+        private boolean batched;
+        private final List<ResultSet> openResults = new ArrayList<>(1);
+
+        private CachedStatement(PreparedStatement physical) {
+            this.physical = physical;
+        }
+
+        private PreparedStatement checkOut(Connection logical) {
+            inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new Handler(this, logical));
+        }
+
+        /**
+         * Called when the borrower closes its statement
+         */
+        private void checkIn() {
+            synchronized (StatementCache.this) {
+                if (evicted) {
+                    closeQuietly();
+                    return;
+                }
+                try {
+                    for (ResultSet rs : openResults) {
+                        rs.close();
+                    }
+                    openResults.clear();
+                    physical.clearParameters();
+                    if (batched) {
+                        physical.clearBatch();
+                        batched = false;
+                    }
+                    if (settingsChanged) {
+                        physical.setFetchSize(0);
+                        physical.setMaxRows(0);
+                        physical.setQueryTimeout(0);
+                        settingsChanged = false;
+                    }
+                    physical.clearWarnings();
+                    inUse = false;
+                } catch (SQLException e) {
+                    // Statement is in an unknown state, drop it from the cache
+                    evicted = true;
+                    statements.values().remove(this);
+                    closeQuietly();
+                }
+            }
+        }
+
+        private void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                // connection may already be gone
+            }
+        }
+    }
+
+    /**
+     * Forwards calls to the cached statement until the borrower closes it
+     */
+    private static final class Handler implements InvocationHandler {
+        private final CachedStatement cached;
+        private final Connection logical;
+        private boolean closed;
+
+        private Handler(CachedStatement cached, Connection logical) {
+            this.cached = cached;
+            this.logical = logical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        cached.checkIn();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || cached.physical.isClosed();
+                case "getConnection":
+                    // Never leak the physical connection past the pool
+                    return logical;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + cached.physical + "]";
+                case "addBatch":
+                    cached.batched = true;
+                    break;
+                case "setFetchSize":
+                case "setMaxRows":
+                case "setQueryTimeout":
+                    cached.settingsChanged = true;
+                    break;
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            Object result;
+            try {
+                result = method.invoke(cached.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet) {
+                cached.openResults.add((ResultSet) result);
+            }
+            return result;
+        }
+    }
+}
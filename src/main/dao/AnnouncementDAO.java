@@ -5,6 +5,7 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import model.Announcement;
+import model.Page;
 
 public class AnnouncementDAO {
 
@@ -17,18 +18,7 @@ public class AnnouncementDAO {
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                Announcement announcement = new Announcement();
-                announcement.setId(rs.getInt("id"));
-                announcement.setTitle(rs.getString("title"));
-                announcement.setContent(rs.getString("content"));
-                announcement.setAuthor(rs.getString("author"));
-                announcement.setPublishDate(rs.getDate("publish_date").toLocalDate());
-                if (rs.getDate("expiry_date") != null) {
-                    announcement.setExpiryDate(rs.getDate("expiry_date").toLocalDate());
-                }
-                announcement.setTargetAudience(rs.getString("target_audience"));
-                announcement.setActive(rs.getBoolean("is_active"));
-                announcements.add(announcement);
+                announcements.add(mapAnnouncement(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -36,6 +26,44 @@ public class AnnouncementDAO {
         return announcements;
     }
 
+    /**
+     * Keyset page of active announcements, newest first, starting after afterId (0 for the first page)
+     */
+    public Page<Announcement> getAnnouncementsPage(int afterId, int limit) {
+        List<Announcement> announcements = new ArrayList<>();
+        String sql = "SELECT * FROM announcements WHERE is_active = true AND id < ? ORDER BY id DESC LIMIT ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, afterId > 0 ? afterId : Integer.MAX_VALUE);
+            stmt.setInt(2, limit + 1);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                announcements.add(mapAnnouncement(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromRows(announcements, limit, Announcement::getId);
+    }
+
+    private static Announcement mapAnnouncement(ResultSet rs) throws SQLException {
+        Announcement announcement = new Announcement();
+        announcement.setId(rs.getInt("id"));
+        announcement.setTitle(rs.getString("title"));
+        announcement.setContent(rs.getString("content"));
+        announcement.setAuthor(rs.getString("author"));
+        announcement.setPublishDate(rs.getDate("publish_date").toLocalDate());
+        if (rs.getDate("expiry_date") != null) {
+            announcement.setExpiryDate(rs.getDate("expiry_date").toLocalDate());
+        }
+        announcement.setTargetAudience(rs.getString("target_audience"));
+        announcement.setActive(rs.getBoolean("is_active"));
+        return announcement;
+    }
+
     public List<Announcement> getAnnouncementsForAudience(String audience) {
         List<Announcement> announcements = new ArrayList<>();
         String sql = "SELECT * FROM announcements WHERE is_active = true AND (target_audience = 'ALL' OR target_audience = CAST(? AS audience_type)) ORDER BY publish_date DESC";
@@ -0,0 +1,221 @@
+package dao;
+
+import config.AppConfig;
+import config.DBConnection;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import utils.AttendanceBitmap;
+import utils.ReferenceCache;
+
+/**
+ * Per-student, per-year attendance bitmaps stored as bytea in attendance_bitmaps.
+ * AttendanceDAO keeps them in step with the attendance rows in the same transaction;
+ * whole years are mirrored in memory so institution-wide figures never touch the
+ * attendance rows.
+ */
+public class AttendanceBitmapDAO {
+
+    // A year of bitmaps for 20k students is a few MB, so only a couple are kept
+    private static final ReferenceCache<LocalDate, Map<Integer, AttendanceBitmap>> MIRROR = new ReferenceCache<>(
+            "attendance-bitmaps", 2, AppConfig.getReferenceCacheTtl() * 1000L);
+
+    private static final String ZERO_BITS = "decode(repeat('00', " + AttendanceBitmap.BYTES + "), 'hex')";
+
+    // Sets one day's bits for the given students from their attendance rows on that day.
+    // A day counts as present if the student attended any session that day.
+    private static final String SYNC_DAY_SQL =
+            "INSERT INTO attendance_bitmaps (student_id, term_start, recorded, present) " +
+            "SELECT d.student_id, ?, set_bit(" + ZERO_BITS + ", ?, 1), set_bit(" + ZERO_BITS + ", ?, d.p) " +
+            "FROM (SELECT student_id, MAX(CASE WHEN present THEN 1 ELSE 0 END) AS p FROM attendance " +
+            "WHERE attendance_date = ? AND student_id = ANY (?) GROUP BY student_id) d " +
+            "ON CONFLICT (student_id, term_start) DO UPDATE " +
+            "SET recorded = set_bit(attendance_bitmaps.recorded, ?, 1), " +
+            "present = set_bit(attendance_bitmaps.present, ?, get_bit(EXCLUDED.present, ?)) " +
+            "RETURNING student_id, recorded, present";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO attendance_bitmaps (student_id, term_start, recorded, present) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (student_id, term_start) DO UPDATE SET recorded = EXCLUDED.recorded, present = EXCLUDED.present";
+
+    public static LocalDate termStartOf(LocalDate date) {
+        return AttendanceBitmap.termStart(date, AppConfig.getTermStart());
+    }
+
+    /**
+     * All bitmaps of the year starting termStart, keyed by student id. Read-only; it is
+     * kept up to date as attendance is marked.
+     */
+    public Map<Integer, AttendanceBitmap> getTerm(LocalDate termStart) {
+        Map<Integer, AttendanceBitmap> term = MIRROR.get(termStart, this::loadTerm);
+        return term != null ? term : Collections.emptyMap();
+    }
+
+    /**
+     * One student's bitmap for a year, empty if nothing has been recorded
+     */
+    public AttendanceBitmap getBitmap(int studentId, LocalDate termStart) {
+        String sql = "SELECT recorded, present FROM attendance_bitmaps WHERE student_id = ? AND term_start = ?";
+
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+
+            ps.setInt(1, studentId);
+            ps.setDate(2, Date.valueOf(termStart));
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return AttendanceBitmap.fromBytes(termStart, rs.getBytes("recorded"), rs.getBytes("present"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new AttendanceBitmap(termStart);
+    }
+
+    /**
+     * Share of recorded student-days attended between from and to (inclusive) across
+     * every student, or -1 if no attendance was recorded in that range
+     */
+    public double getInstitutionRate(LocalDate from, LocalDate to) {
+        long present = 0;
+        long recorded = 0;
+        for (LocalDate term = termStartOf(from); !term.isAfter(to); term = termStartOf(term.plusDays(AttendanceBitmap.MAX_DAYS))) {
+            for (AttendanceBitmap bitmap : getTerm(term).values()) {
+                present += bitmap.countPresent(from, to);
+                recorded += bitmap.countRecorded(from, to);
+            }
+        }
+        return recorded == 0 ? -1 : (double) present / recorded;
+    }
+
+    public static String getCacheStats() {
+        return MIRROR.getStats();
+    }
+
+    /**
+     * Put bitmaps written by syncDays into the in-memory years, once their transaction
+     * has committed. Years not loaded yet are left to be read on first use.
+     */
+    static void applyToMirror(Map<LocalDate, Map<Integer, AttendanceBitmap>> updated) {
+        for (Map.Entry<LocalDate, Map<Integer, AttendanceBitmap>> term : updated.entrySet()) {
+            // Whole bitmaps are swapped, never modified, so readers holding the old one stay consistent
+            MIRROR.update(term.getKey(), bitmaps -> bitmaps.putAll(term.getValue()));
+        }
+    }
+
+    /**
+     * Bring the bitmaps of the given students in line with their attendance rows on
+     * each date. Runs on the caller's connection so it commits with the marks.
+     * Returns the resulting bitmaps by year and student, for applyToMirror.
+     */
+    static Map<LocalDate, Map<Integer, AttendanceBitmap>> syncDays(Connection con,
+            Map<LocalDate, List<Integer>> studentsByDate) throws SQLException {
+        Map<LocalDate, Map<Integer, AttendanceBitmap>> updated = new HashMap<>();
+        try (PreparedStatement ps = con.prepareStatement(SYNC_DAY_SQL)) {
+            for (Map.Entry<LocalDate, List<Integer>> entry : studentsByDate.entrySet()) {
+                LocalDate date = entry.getKey();
+                LocalDate termStart = termStartOf(date);
+                int day = new AttendanceBitmap(termStart).dayIndex(date);
+                ps.setDate(1, Date.valueOf(termStart));
+                ps.setInt(2, day);
+                ps.setInt(3, day);
+                ps.setDate(4, Date.valueOf(date));
+                ps.setArray(5, con.createArrayOf("integer", entry.getValue().toArray()));
+                ps.setInt(6, day);
+                ps.setInt(7, day);
+                ps.setInt(8, day);
+                // One statement per date, since a batch cannot return the rows it wrote
+                try (ResultSet rs = ps.executeQuery()) {
+                    Map<Integer, AttendanceBitmap> term = updated.computeIfAbsent(termStart, t -> new HashMap<>());
+                    while (rs.next()) {
+                        term.put(rs.getInt("student_id"),
+                                AttendanceBitmap.fromBytes(termStart, rs.getBytes("recorded"), rs.getBytes("present")));
+                    }
+                }
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Recompute every bitmap from the attendance rows, e.g. when the table is first
+     * created or app.term.start changes. Runs on the caller's connection.
+     */
+    public static void rebuildAll(Connection con) throws SQLException {
+        MonthDay start = AppConfig.getTermStart();
+        String sql = "SELECT student_id, attendance_date, bool_or(present) AS present FROM attendance " +
+                     "WHERE student_id IS NOT NULL GROUP BY student_id, attendance_date ORDER BY student_id";
+
+        Map<Integer, Map<LocalDate, AttendanceBitmap>> bitmaps = new HashMap<>();
+        try (Statement st = con.createStatement()) {
+            st.setFetchSize(AppConfig.getExportFetchSize());
+            try (ResultSet rs = st.executeQuery(sql)) {
+                while (rs.next()) {
+                    LocalDate date = rs.getDate("attendance_date").toLocalDate();
+                    LocalDate termStart = AttendanceBitmap.termStart(date, start);
+                    bitmaps.computeIfAbsent(rs.getInt("student_id"), id -> new HashMap<>())
+                           .computeIfAbsent(termStart, AttendanceBitmap::new)
+                           .mark(date, rs.getBoolean("present"));
+                }
+            }
+        }
+
+        try (Statement st = con.createStatement()) {
+            st.executeUpdate("DELETE FROM attendance_bitmaps");
+        }
+        int chunkSize = Math.max(1, AppConfig.getBatchSize());
+        try (PreparedStatement ps = con.prepareStatement(UPSERT_SQL)) {
+            int pending = 0;
+            for (Map.Entry<Integer, Map<LocalDate, AttendanceBitmap>> student : bitmaps.entrySet()) {
+                for (AttendanceBitmap bitmap : student.getValue().values()) {
+                    ps.setInt(1, student.getKey());
+                    ps.setDate(2, Date.valueOf(bitmap.getTermStart()));
+                    ps.setBytes(3, bitmap.getRecordedBytes());
+                    ps.setBytes(4, bitmap.getPresentBytes());
+                    ps.addBatch();
+                    if (++pending == chunkSize) {
+                        ps.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            if (pending > 0) {
+                ps.executeBatch();
+            }
+        }
+        MIRROR.invalidateAll();
+    }
+
+    // Concurrent so applyToMirror can swap single students' bitmaps while others read the year
+    private Map<Integer, AttendanceBitmap> loadTerm(LocalDate termStart) {
+        Map<Integer, AttendanceBitmap> term = new ConcurrentHashMap<>();
+        String sql = "SELECT student_id, recorded, present FROM attendance_bitmaps WHERE term_start = ?";
+
+        try (Connection con = DBConnection.getConnection()) {
+            con.setAutoCommit(false); // lets the driver stream with the fetch size
+            try (PreparedStatement ps = con.prepareStatement(sql)) {
+                ps.setFetchSize(AppConfig.getExportFetchSize());
+                ps.setDate(1, Date.valueOf(termStart));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        term.put(rs.getInt("student_id"),
+                                AttendanceBitmap.fromBytes(termStart, rs.getBytes("recorded"), rs.getBytes("present")));
+                    }
+                }
+                con.commit();
+            } finally {
+                con.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return term;
+    }
+}
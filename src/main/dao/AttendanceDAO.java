@@ -1,30 +1,166 @@
 package dao;
 
+import config.AppConfig;
 import config.DBConnection;
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import model.Attendance;
+import model.ClassSession;
+import utils.AttendanceBitmap;
 
 public class AttendanceDAO {
 
+    private static final String MARK_SQL = "INSERT INTO attendance(student_id, attendance_date, present, remarks) VALUES (?, ?, ?, ?) ON CONFLICT (student_id, attendance_date) WHERE session_id IS NULL DO UPDATE SET present = EXCLUDED.present, remarks = EXCLUDED.remarks";
+
+    private static final String MARK_SESSION_SQL = "INSERT INTO attendance(session_id, student_id, attendance_date, present, remarks) VALUES (?, ?, ?, ?, ?) ON CONFLICT (session_id, student_id) WHERE session_id IS NOT NULL DO UPDATE SET present = EXCLUDED.present, remarks = EXCLUDED.remarks";
+
+    // Returns the id of the session whether it was just created or already existed
+    private static final String SESSION_SQL = "INSERT INTO class_sessions(course_id, session_date, slot) VALUES (?, ?, ?) ON CONFLICT (course_id, session_date, slot) DO UPDATE SET slot = EXCLUDED.slot RETURNING id";
+
    public void markAttendance(Attendance attendance) {
-    String sql = "INSERT INTO attendance(student_id, attendance_date, present, remarks) VALUES (?, ?, ?, ?) ON CONFLICT (student_id, attendance_date) DO UPDATE SET present = EXCLUDED.present, remarks = EXCLUDED.remarks";
+    try (Connection con = DBConnection.getConnection()) {
+        // The bitmap is written in the same transaction as the row
+        con.setAutoCommit(false);
+        try (PreparedStatement ps = con.prepareStatement(MARK_SQL)) {
+            bindMark(ps, attendance);
+            ps.executeUpdate();
+            Map<LocalDate, Map<Integer, AttendanceBitmap>> bitmaps = AttendanceBitmapDAO.syncDays(con,
+                    Collections.singletonMap(attendance.getDate(), Collections.singletonList(attendance.getStudentId())));
+
+            con.commit();
+            AttendanceBitmapDAO.applyToMirror(bitmaps);
+        } catch (SQLException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(true);
+        }
+
+    } catch (SQLException e) {
+        e.printStackTrace();
+    }
+}
+
+    /**
+     * Mark attendance for a whole roster in a single transaction.
+     * Rows are sent with addBatch/executeBatch in chunks of db.batch.size.
+     * Returns one outcome per input row: true if the row was written.
+     * Rows missing a student or date are skipped; a database error rolls
+     * back the whole roster and every outcome is false.
+     */
+    public boolean[] markAttendanceBatch(List<Attendance> attendances) {
+        return writeRoster(attendances, null);
+    }
+
+    /**
+     * Mark attendance for one class session of a course, creating the session if
+     * needed. Same transaction and outcome rules as markAttendanceBatch; the date of
+     * each row is taken from the session.
+     */
+    public boolean[] markSessionAttendance(int courseId, LocalDate date, int slot, List<Attendance> attendances) {
+        return writeRoster(attendances, new ClassSession(0, courseId, date, slot));
+    }
+
+    private boolean[] writeRoster(List<Attendance> attendances, ClassSession session) {
+        boolean[] results = new boolean[attendances.size()];
+        if (attendances.isEmpty()) {
+            return results;
+        }
+
+        int chunkSize = Math.max(1, AppConfig.getBatchSize());
+
+        try (Connection con = DBConnection.getConnection()) {
+            con.setAutoCommit(false);
+            try (PreparedStatement ps = con.prepareStatement(session == null ? MARK_SQL : MARK_SESSION_SQL)) {
+                if (session != null) {
+                    session.setId(upsertSession(con, session));
+                }
+
+                // Index of the input row behind each queued batch entry
+                int[] queued = new int[Math.min(chunkSize, attendances.size())];
+                int pending = 0;
+                Map<LocalDate, List<Integer>> studentsByDate = new HashMap<>();
 
-    try (Connection con = DBConnection.getConnection();
-         PreparedStatement ps = con.prepareStatement(sql)) {
+                for (int i = 0; i < attendances.size(); i++) {
+                    Attendance attendance = attendances.get(i);
+                    if (attendance == null || attendance.getStudentId() <= 0
+                            || (session == null && attendance.getDate() == null)) {
+                        continue;
+                    }
+                    if (session == null) {
+                        bindMark(ps, attendance);
+                    } else {
+                        bindSessionMark(ps, session, attendance);
+                    }
+                    ps.addBatch();
+                    queued[pending++] = i;
+                    LocalDate day = session == null ? attendance.getDate() : session.getDate();
+                    studentsByDate.computeIfAbsent(day, d -> new ArrayList<>()).add(attendance.getStudentId());
 
+                    if (pending == queued.length) {
+                        applyBatchCounts(ps.executeBatch(), queued, pending, results);
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    applyBatchCounts(ps.executeBatch(), queued, pending, results);
+                }
+                Map<LocalDate, Map<Integer, AttendanceBitmap>> bitmaps = AttendanceBitmapDAO.syncDays(con, studentsByDate);
+
+                con.commit();
+                AttendanceBitmapDAO.applyToMirror(bitmaps);
+            } catch (SQLException e) {
+                con.rollback();
+                Arrays.fill(results, false);
+                e.printStackTrace();
+            } finally {
+                con.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            Arrays.fill(results, false);
+            e.printStackTrace();
+        }
+        return results;
+    }
+
+    private static int upsertSession(Connection con, ClassSession session) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(SESSION_SQL)) {
+            ps.setInt(1, session.getCourseId());
+            ps.setDate(2, Date.valueOf(session.getDate()));
+            ps.setInt(3, session.getSlot());
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private static void bindMark(PreparedStatement ps, Attendance attendance) throws SQLException {
         ps.setInt(1, attendance.getStudentId());
         ps.setDate(2, Date.valueOf(attendance.getDate()));
         ps.setBoolean(3, "Present".equalsIgnoreCase(attendance.getStatus()));
         ps.setString(4, attendance.getRemarks());
+    }
 
-        ps.executeUpdate();
+    private static void bindSessionMark(PreparedStatement ps, ClassSession session, Attendance attendance) throws SQLException {
+        ps.setInt(1, session.getId());
+        ps.setInt(2, attendance.getStudentId());
+        ps.setDate(3, Date.valueOf(session.getDate()));
+        ps.setBoolean(4, "Present".equalsIgnoreCase(attendance.getStatus()));
+        ps.setString(5, attendance.getRemarks());
+    }
 
-    } catch (SQLException e) {
-        e.printStackTrace();
+    private static void applyBatchCounts(int[] counts, int[] queued, int pending, boolean[] results) {
+        for (int j = 0; j < pending && j < counts.length; j++) {
+            results[queued[j]] = counts[j] > 0 || counts[j] == Statement.SUCCESS_NO_INFO;
+        }
     }
-}
 
 
     public List<Attendance> getAttendanceByStudent(int studentId) {
@@ -40,6 +176,7 @@ public class AttendanceDAO {
             while (rs.next()) {
                 Attendance a = new Attendance();
                 a.setId(rs.getInt("id"));
+                a.setSessionId(rs.getInt("session_id"));
                 a.setStudentId(rs.getInt("student_id"));
                 a.setDate(rs.getDate("attendance_date").toLocalDate());
                 a.setStatus(rs.getBoolean("present") ? "Present" : "Absent");
@@ -53,12 +190,16 @@ public class AttendanceDAO {
         return list;
     }
 
+    /**
+     * Marks recorded in the sessions of a course, one row per student per session
+     */
     public List<Attendance> getAttendanceByCourse(int courseId) {
         List<Attendance> list = new ArrayList<>();
-        String sql = "SELECT a.*, s.first_name || ' ' || s.last_name as student_name FROM attendance a " +
+        String sql = "SELECT a.id, a.session_id, a.student_id, cs.session_date, a.present, a.remarks, " +
+                     "s.first_name || ' ' || s.last_name as student_name FROM class_sessions cs " +
+                     "JOIN attendance a ON a.session_id = cs.id " +
                      "JOIN students s ON a.student_id = s.id " +
-                     "JOIN enrollments e ON s.id = e.student_id " +
-                     "WHERE e.course_id = ? ORDER BY a.attendance_date, s.first_name";
+                     "WHERE cs.course_id = ? ORDER BY cs.session_date, cs.slot, s.first_name";
 
         try (Connection con = DBConnection.getConnection();
              PreparedStatement ps = con.prepareStatement(sql)) {
@@ -69,9 +210,44 @@ public class AttendanceDAO {
             while (rs.next()) {
                 Attendance a = new Attendance();
                 a.setId(rs.getInt("id"));
+                a.setSessionId(rs.getInt("session_id"));
                 a.setStudentId(rs.getInt("student_id"));
                 a.setStudentName(rs.getString("student_name"));
-                a.setDate(rs.getDate("attendance_date").toLocalDate());
+                a.setDate(rs.getDate("session_date").toLocalDate());
+                a.setStatus(rs.getBoolean("present") ? "Present" : "Absent");
+                a.setRemarks(rs.getString("remarks"));
+                list.add(a);
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+
+    /**
+     * Marks for one session of a course, or an empty list if the session was never taken
+     */
+    public List<Attendance> getSessionAttendance(int courseId, LocalDate date, int slot) {
+        List<Attendance> list = new ArrayList<>();
+        String sql = "SELECT a.id, a.session_id, a.student_id, a.present, a.remarks FROM class_sessions cs " +
+                     "JOIN attendance a ON a.session_id = cs.id " +
+                     "WHERE cs.course_id = ? AND cs.session_date = ? AND cs.slot = ? ORDER BY a.student_id";
+
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+
+            ps.setInt(1, courseId);
+            ps.setDate(2, Date.valueOf(date));
+            ps.setInt(3, slot);
+            ResultSet rs = ps.executeQuery();
+
+            while (rs.next()) {
+                Attendance a = new Attendance();
+                a.setId(rs.getInt("id"));
+                a.setSessionId(rs.getInt("session_id"));
+                a.setStudentId(rs.getInt("student_id"));
+                a.setDate(date);
                 a.setStatus(rs.getBoolean("present") ? "Present" : "Absent");
                 a.setRemarks(rs.getString("remarks"));
                 list.add(a);
@@ -82,3 +258,36 @@ public class AttendanceDAO {
         }
         return list;
     }
+
+    /**
+     * Sessions of a course with present/absent counts, newest first. Counts are read
+     * from the covering session index without touching the attendance rows.
+     */
+    public List<ClassSession> getSessionsByCourse(int courseId) {
+        List<ClassSession> list = new ArrayList<>();
+        String sql = "SELECT cs.id, cs.session_date, cs.slot, " +
+                     "COUNT(*) FILTER (WHERE a.present) AS present, " +
+                     "COUNT(*) FILTER (WHERE NOT a.present) AS absent " +
+                     "FROM class_sessions cs LEFT JOIN attendance a ON a.session_id = cs.id " +
+                     "WHERE cs.course_id = ? GROUP BY cs.id ORDER BY cs.session_date DESC, cs.slot";
+
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+
+            ps.setInt(1, courseId);
+            ResultSet rs = ps.executeQuery();
+
+            while (rs.next()) {
+                ClassSession session = new ClassSession(rs.getInt("id"), courseId,
+                        rs.getDate("session_date").toLocalDate(), rs.getInt("slot"));
+                session.setPresent(rs.getInt("present"));
+                session.setAbsent(rs.getInt("absent"));
+                list.add(session);
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+}
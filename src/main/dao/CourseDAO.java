@@ -1,14 +1,41 @@
 package dao;
 
+import config.AppConfig;
 import config.DBConnection;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import model.Course;
+import model.Page;
+import utils.ReferenceCache;
 
 public class CourseDAO {
 
+    // Course lists are read by most admin and teacher windows but change rarely
+    private static final ReferenceCache<String, List<Course>> CACHE = new ReferenceCache<>("courses",
+            AppConfig.getReferenceCacheMaxEntries(), AppConfig.getReferenceCacheTtl() * 1000L);
+
+    /**
+     * All courses with their department name. Served from the reference cache;
+     * the returned list is a fresh copy, the Course objects are shared and must not be modified.
+     */
     public List<Course> getAllCourses() {
+        List<Course> courses = CACHE.get("all", key -> loadAllCourses());
+        return courses != null ? new ArrayList<>(courses) : new ArrayList<>();
+    }
+
+    /**
+     * Drop cached course lists, e.g. after a department they reference was renamed
+     */
+    public static void invalidateCache() {
+        CACHE.invalidateAll();
+    }
+
+    public static String getCacheStats() {
+        return CACHE.getStats();
+    }
+
+    private List<Course> loadAllCourses() {
         List<Course> courses = new ArrayList<>();
         String sql = "SELECT c.*, d.department_name FROM courses c LEFT JOIN departments d ON c.department_id = d.id";
 
@@ -17,22 +44,39 @@ public class CourseDAO {
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                Course course = new Course();
-                course.setId(rs.getInt("id"));
-                course.setCourseCode(rs.getString("course_code"));
-                course.setCourseName(rs.getString("course_name"));
-                course.setDescription(rs.getString("description"));
-                course.setCredits(rs.getInt("credits"));
-                course.setDepartmentId(rs.getInt("department_id"));
-                course.setDepartmentName(rs.getString("department_name"));
-                courses.add(course);
+                courses.add(mapCourse(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
+            return null; // not cached, so the next call retries
         }
         return courses;
     }
 
+    /**
+     * Keyset page of courses ordered by id, starting after afterId (0 for the first page)
+     */
+    public Page<Course> getCoursesPage(int afterId, int limit) {
+        List<Course> courses = new ArrayList<>();
+        String sql = "SELECT c.*, d.department_name FROM courses c LEFT JOIN departments d ON c.department_id = d.id " +
+                     "WHERE c.id > ? ORDER BY c.id LIMIT ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit + 1);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                courses.add(mapCourse(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromRows(courses, limit, Course::getId);
+    }
+
     public Course getCourseById(int id) {
         String sql = "SELECT c.*, d.department_name FROM courses c LEFT JOIN departments d ON c.department_id = d.id WHERE c.id = ?";
 
@@ -43,15 +87,7 @@ public class CourseDAO {
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
-                Course course = new Course();
-                course.setId(rs.getInt("id"));
-                course.setCourseCode(rs.getString("course_code"));
-                course.setCourseName(rs.getString("course_name"));
-                course.setDescription(rs.getString("description"));
-                course.setCredits(rs.getInt("credits"));
-                course.setDepartmentId(rs.getInt("department_id"));
-                course.setDepartmentName(rs.getString("department_name"));
-                return course;
+                return mapCourse(rs);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -71,7 +107,11 @@ public class CourseDAO {
             stmt.setInt(4, course.getCredits());
             stmt.setInt(5, course.getDepartmentId());
 
-            return stmt.executeUpdate() > 0;
+            boolean changed = stmt.executeUpdate() > 0;
+            if (changed) {
+                invalidateCache();
+            }
+            return changed;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -91,7 +131,12 @@ public class CourseDAO {
             stmt.setInt(5, course.getDepartmentId());
             stmt.setInt(6, course.getId());
 
-            return stmt.executeUpdate() > 0;
+            boolean changed = stmt.executeUpdate() > 0;
+            if (changed) {
+                invalidateCache();
+                EnrollmentDAO.fireGradesChanged(0); // credits weight every GPA that includes the course
+            }
+            return changed;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -105,10 +150,27 @@ public class CourseDAO {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+            boolean changed = stmt.executeUpdate() > 0;
+            if (changed) {
+                invalidateCache();
+                EnrollmentDAO.fireGradesChanged(0); // its enrollments are deleted with it
+            }
+            return changed;
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return false;
     }
-}
\ No newline at end of file
+
+    private static Course mapCourse(ResultSet rs) throws SQLException {
+        Course course = new Course();
+        course.setId(rs.getInt("id"));
+        course.setCourseCode(rs.getString("course_code"));
+        course.setCourseName(rs.getString("course_name"));
+        course.setDescription(rs.getString("description"));
+        course.setCredits(rs.getInt("credits"));
+        course.setDepartmentId(rs.getInt("department_id"));
+        course.setDepartmentName(rs.getString("department_name"));
+        return course;
+    }
+}
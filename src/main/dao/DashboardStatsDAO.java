@@ -0,0 +1,48 @@
+package dao;
+
+import config.DBConnection;
+import java.sql.*;
+import model.DashboardStats;
+
+public class DashboardStatsDAO {
+
+    /**
+     * Load every dashboard counter in one round trip.
+     * Counting happens in PostgreSQL; no rows are brought into Java.
+     */
+    public DashboardStats getStats() {
+        String sql = "SELECT COUNT(*) AS total_users, " +
+                     "COUNT(*) FILTER (WHERE UPPER(role) IN ('ADMIN', 'SUPERADMIN')) AS admin_users, " +
+                     "COUNT(*) FILTER (WHERE UPPER(role) = 'TEACHER') AS teacher_users, " +
+                     "COUNT(*) FILTER (WHERE UPPER(role) = 'STUDENT') AS student_users, " +
+                     "(SELECT COUNT(*) FROM students) AS total_students, " +
+                     "(SELECT COUNT(*) FROM teachers) AS total_teachers, " +
+                     "(SELECT COUNT(*) FROM enrollments WHERE status = 'ACTIVE') AS active_enrollments, " +
+                     "(SELECT COUNT(*) FROM fees WHERE status <> 'PAID') AS pending_fees, " +
+                     "(SELECT COUNT(*) FROM announcements WHERE is_active " +
+                     "AND (expiry_date IS NULL OR expiry_date >= CURRENT_DATE)) AS active_announcements " +
+                     "FROM users";
+
+        DashboardStats stats = new DashboardStats();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            if (rs.next()) {
+                stats.setTotalUsers(rs.getInt("total_users"));
+                stats.setAdminUsers(rs.getInt("admin_users"));
+                stats.setTeacherUsers(rs.getInt("teacher_users"));
+                stats.setStudentUsers(rs.getInt("student_users"));
+                stats.setTotalStudents(rs.getInt("total_students"));
+                stats.setTotalTeachers(rs.getInt("total_teachers"));
+                stats.setActiveEnrollments(rs.getInt("active_enrollments"));
+                stats.setPendingFees(rs.getInt("pending_fees"));
+                stats.setActiveAnnouncements(rs.getInt("active_announcements"));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return stats;
+    }
+}
@@ -1,14 +1,38 @@
 package dao;
 
+import config.AppConfig;
 import config.DBConnection;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import model.Department;
+import utils.ReferenceCache;
 
 public class DepartmentDAO {
 
+    private static final ReferenceCache<String, List<Department>> CACHE = new ReferenceCache<>("departments",
+            AppConfig.getReferenceCacheMaxEntries(), AppConfig.getReferenceCacheTtl() * 1000L);
+
+    /**
+     * All departments, served from the reference cache. The returned list is a fresh
+     * copy; the Department objects are shared and must not be modified.
+     */
     public List<Department> getAllDepartments() {
+        List<Department> departments = CACHE.get("all", key -> loadAllDepartments());
+        return departments != null ? new ArrayList<>(departments) : new ArrayList<>();
+    }
+
+    public static void invalidateCache() {
+        CACHE.invalidateAll();
+        // Course rows carry the department name
+        CourseDAO.invalidateCache();
+    }
+
+    public static String getCacheStats() {
+        return CACHE.getStats();
+    }
+
+    private List<Department> loadAllDepartments() {
         List<Department> departments = new ArrayList<>();
         String sql = "SELECT * FROM departments";
 
@@ -17,16 +41,11 @@ public class DepartmentDAO {
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                Department dept = new Department();
-                dept.setId(rs.getInt("id"));
-                dept.setDepartmentCode(rs.getString("department_code"));
-                dept.setDepartmentName(rs.getString("department_name"));
-                dept.setDescription(rs.getString("description"));
-                dept.setHeadOfDepartment(rs.getString("head_of_department"));
-                departments.add(dept);
+                departments.add(mapDepartment(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
+            return null; // not cached, so the next call retries
         }
         return departments;
     }
@@ -41,13 +60,7 @@ public class DepartmentDAO {
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
-                Department dept = new Department();
-                dept.setId(rs.getInt("id"));
-                dept.setDepartmentCode(rs.getString("department_code"));
-                dept.setDepartmentName(rs.getString("department_name"));
-                dept.setDescription(rs.getString("description"));
-                dept.setHeadOfDepartment(rs.getString("head_of_department"));
-                return dept;
+                return mapDepartment(rs);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -66,7 +79,11 @@ public class DepartmentDAO {
             stmt.setString(3, dept.getDescription());
             stmt.setString(4, dept.getHeadOfDepartment());
 
-            return stmt.executeUpdate() > 0;
+            boolean changed = stmt.executeUpdate() > 0;
+            if (changed) {
+                invalidateCache();
+            }
+            return changed;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -85,7 +102,11 @@ public class DepartmentDAO {
             stmt.setString(4, dept.getHeadOfDepartment());
             stmt.setInt(5, dept.getId());
 
-            return stmt.executeUpdate() > 0;
+            boolean changed = stmt.executeUpdate() > 0;
+            if (changed) {
+                invalidateCache();
+            }
+            return changed;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -99,10 +120,24 @@ public class DepartmentDAO {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+            boolean changed = stmt.executeUpdate() > 0;
+            if (changed) {
+                invalidateCache();
+            }
+            return changed;
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return false;
     }
-}
\ No newline at end of file
+
+    private static Department mapDepartment(ResultSet rs) throws SQLException {
+        Department dept = new Department();
+        dept.setId(rs.getInt("id"));
+        dept.setDepartmentCode(rs.getString("department_code"));
+        dept.setDepartmentName(rs.getString("department_name"));
+        dept.setDescription(rs.getString("description"));
+        dept.setHeadOfDepartment(rs.getString("head_of_department"));
+        return dept;
+    }
+}
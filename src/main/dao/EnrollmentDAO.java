@@ -1,15 +1,38 @@
 package dao;
 
+import config.AppConfig;
 import config.DBConnection;
 import model.Enrollment;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntConsumer;
+import model.Page;
 
 public class EnrollmentDAO {
 
+    // Told the student id after that student's enrollments or grades change; 0 = many students
+    private static final List<IntConsumer> GRADE_LISTENERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Register a callback for committed enrollment or grade changes, e.g. to drop cached transcripts
+     */
+    public static void addGradeListener(IntConsumer listener) {
+        GRADE_LISTENERS.add(listener);
+    }
+
+    static void fireGradesChanged(int studentId) {
+        for (IntConsumer listener : GRADE_LISTENERS) {
+            listener.accept(studentId);
+        }
+    }
+
     public List<Enrollment> getAllEnrollments() {
         List<Enrollment> enrollments = new ArrayList<>();
         String sql = "SELECT e.*, s.name as student_name, c.course_name FROM enrollments e " +
@@ -21,16 +44,7 @@ public class EnrollmentDAO {
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                Enrollment enrollment = new Enrollment();
-                enrollment.setId(rs.getInt("id"));
-                enrollment.setStudentId(rs.getInt("student_id"));
-                enrollment.setStudentName(rs.getString("student_name"));
-                enrollment.setCourseId(rs.getInt("course_id"));
-                enrollment.setCourseName(rs.getString("course_name"));
-                enrollment.setEnrollmentDate(rs.getDate("enrollment_date").toLocalDate());
-                enrollment.setStatus(rs.getString("status"));
-                enrollment.setGrade(rs.getDouble("grade"));
-                enrollments.add(enrollment);
+                enrollments.add(mapEnrollment(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -38,6 +52,124 @@ public class EnrollmentDAO {
         return enrollments;
     }
 
+    /**
+     * Keyset page of enrollments ordered by id, starting after afterId (0 for the first page)
+     */
+    public Page<Enrollment> getEnrollmentsPage(int afterId, int limit) {
+        List<Enrollment> enrollments = new ArrayList<>();
+        String sql = "SELECT e.*, s.name as student_name, c.course_name FROM enrollments e " +
+                     "JOIN students s ON e.student_id = s.id " +
+                     "JOIN courses c ON e.course_id = c.id " +
+                     "WHERE e.id > ? ORDER BY e.id LIMIT ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit + 1);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                enrollments.add(mapEnrollment(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromRows(enrollments, limit, Enrollment::getId);
+    }
+
+    public int getEnrollmentCount() {
+        String sql = "SELECT COUNT(*) FROM enrollments";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Cursor for getEnrollmentsPage that starts at the given offset: the id of the row before it,
+     * 0 for offset 0, or -1 past the end. Only reads the primary key index.
+     */
+    public int getEnrollmentCursorAt(int offset) {
+        if (offset <= 0) {
+            return 0;
+        }
+        String sql = "SELECT id FROM enrollments ORDER BY id OFFSET ? LIMIT 1";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, offset - 1);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return -1;
+    }
+
+    private static Enrollment mapEnrollment(ResultSet rs) throws SQLException {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setId(rs.getInt("id"));
+        enrollment.setStudentId(rs.getInt("student_id"));
+        enrollment.setStudentName(rs.getString("student_name"));
+        enrollment.setCourseId(rs.getInt("course_id"));
+        enrollment.setCourseName(rs.getString("course_name"));
+        enrollment.setEnrollmentDate(rs.getDate("enrollment_date").toLocalDate());
+        enrollment.setStatus(rs.getString("status"));
+        enrollment.setGrade(rs.getDouble("grade"));
+        return enrollment;
+    }
+
+    /**
+     * Every recorded grade of courses not dropped, grouped by student id. One streamed query for analytics scans.
+     */
+    public Map<Integer, double[]> getGradesByStudent() {
+        Map<Integer, double[]> grades = new HashMap<>();
+        String sql = "SELECT student_id, grade FROM enrollments WHERE grade IS NOT NULL AND status IS DISTINCT FROM 'DROPPED' ORDER BY student_id";
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false); // lets the driver stream with the fetch size
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setFetchSize(AppConfig.getExportFetchSize());
+                ResultSet rs = stmt.executeQuery();
+
+                int current = -1;
+                double[] buffer = new double[8];
+                int count = 0;
+                while (rs.next()) {
+                    int studentId = rs.getInt("student_id");
+                    if (studentId != current) {
+                        if (count > 0) {
+                            grades.put(current, Arrays.copyOf(buffer, count));
+                        }
+                        current = studentId;
+                        count = 0;
+                    }
+                    if (count == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, count * 2);
+                    }
+                    buffer[count++] = rs.getDouble("grade");
+                }
+                if (count > 0) {
+                    grades.put(current, Arrays.copyOf(buffer, count));
+                }
+                conn.commit();
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return grades;
+    }
+
     public List<Enrollment> getEnrollmentsByStudent(int studentId) {
         List<Enrollment> enrollments = new ArrayList<>();
         String sql = "SELECT e.*, c.course_name FROM enrollments e " +
@@ -77,7 +209,11 @@ public class EnrollmentDAO {
             stmt.setDate(3, Date.valueOf(enrollment.getEnrollmentDate()));
             stmt.setString(4, enrollment.getStatus());
 
-            return stmt.executeUpdate() > 0;
+            boolean added = stmt.executeUpdate() > 0;
+            if (added) {
+                fireGradesChanged(enrollment.getStudentId());
+            }
+            return added;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -85,7 +221,7 @@ public class EnrollmentDAO {
     }
 
     public boolean updateEnrollment(Enrollment enrollment) {
-        String sql = "UPDATE enrollments SET status = ?, grade = ? WHERE id = ?";
+        String sql = "UPDATE enrollments SET status = ?, grade = ? WHERE id = ? RETURNING student_id";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -94,13 +230,103 @@ public class EnrollmentDAO {
             stmt.setDouble(2, enrollment.getGrade());
             stmt.setInt(3, enrollment.getId());
 
-            return stmt.executeUpdate() > 0;
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                fireGradesChanged(rs.getInt(1));
+                return true;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    public boolean deleteEnrollment(int id) {
+        String sql = "DELETE FROM enrollments WHERE id = ? RETURNING student_id";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, id);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                fireGradesChanged(rs.getInt(1));
+                return true;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return false;
     }
 
+    /**
+     * Set the grades of many students in one course in a single transaction.
+     * A null grade clears the student's grade. Updates are sent in JDBC
+     * batches of db.batch.size. Returns the number of enrollments updated,
+     * or -1 if the transaction was rolled back.
+     */
+    public int updateGradesForCourse(int courseId, Map<Integer, Double> gradesByStudent) {
+        if (gradesByStudent.isEmpty()) {
+            return 0;
+        }
+
+        String sql = "UPDATE enrollments SET grade = ? WHERE course_id = ? AND student_id = ?";
+        int chunkSize = Math.max(1, AppConfig.getBatchSize());
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int updated = 0;
+                int pending = 0;
+
+                for (Map.Entry<Integer, Double> entry : gradesByStudent.entrySet()) {
+                    if (entry.getValue() == null) {
+                        stmt.setNull(1, Types.NUMERIC);
+                    } else {
+                        stmt.setDouble(1, entry.getValue());
+                    }
+                    stmt.setInt(2, courseId);
+                    stmt.setInt(3, entry.getKey());
+                    stmt.addBatch();
+
+                    if (++pending == chunkSize) {
+                        updated += sumUpdateCounts(stmt.executeBatch());
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    updated += sumUpdateCounts(stmt.executeBatch());
+                }
+
+                conn.commit();
+                for (Integer studentId : gradesByStudent.keySet()) {
+                    fireGradesChanged(studentId);
+                }
+                return updated;
+            } catch (SQLException e) {
+                conn.rollback();
+                e.printStackTrace();
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return -1;
+    }
+
+    private static int sumUpdateCounts(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                total += count;
+            } else if (count == Statement.SUCCESS_NO_INFO) {
+                total++;
+            }
+        }
+        return total;
+    }
+
     public List<Enrollment> getEnrollmentsByCourse(int courseId) {
         List<Enrollment> enrollments = new ArrayList<>();
         String sql = "SELECT e.*, s.first_name || ' ' || s.last_name as student_name FROM enrollments e " +
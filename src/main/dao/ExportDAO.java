@@ -0,0 +1,104 @@
+package dao;
+
+import config.AppConfig;
+import config.DBConnection;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.*;
+import utils.ExportFormat;
+
+/**
+ * Streams query results straight to a file. Rows are fetched from a server-side
+ * cursor in blocks of db.export.fetch.size and written as they arrive, so memory
+ * use does not grow with the number of rows.
+ */
+public class ExportDAO {
+
+    private static final int WRITE_BUFFER = 64 * 1024;
+
+    public long exportFees(ExportFormat format, Path file) {
+        return export("SELECT f.id, f.student_id, s.name AS student_name, f.fee_type, f.amount, f.paid_amount, " +
+                      "f.due_date, f.payment_date, f.status FROM fees f LEFT JOIN students s ON f.student_id = s.id " +
+                      "ORDER BY f.id", format, file);
+    }
+
+    public long exportEnrollments(ExportFormat format, Path file) {
+        return export("SELECT e.id, e.student_id, s.name AS student_name, e.course_id, c.course_name, " +
+                      "e.enrollment_date, e.status, e.grade FROM enrollments e " +
+                      "LEFT JOIN students s ON e.student_id = s.id LEFT JOIN courses c ON e.course_id = c.id " +
+                      "ORDER BY e.id", format, file);
+    }
+
+    public long exportAttendance(ExportFormat format, Path file) {
+        return export("SELECT a.id, a.student_id, s.name AS student_name, a.attendance_date, a.present, a.remarks " +
+                      "FROM attendance a LEFT JOIN students s ON a.student_id = s.id " +
+                      "ORDER BY a.attendance_date, a.student_id", format, file);
+    }
+
+    /**
+     * Users without their password hashes
+     */
+    public long exportUsers(ExportFormat format, Path file) {
+        return export("SELECT id, username, role, name, email, matricule, level FROM users ORDER BY id", format, file);
+    }
+
+    /**
+     * Write every row of sql to file; returns the number of rows written, or -1 on failure
+     */
+    private long export(String sql, ExportFormat format, Path file) {
+        try (Connection con = DBConnection.getConnection()) {
+            // PostgreSQL only uses a cursor for the fetch size inside a transaction
+            con.setAutoCommit(false);
+            try (PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                 FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                         StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), -1),
+                         WRITE_BUFFER)) {
+
+                ps.setFetchSize(AppConfig.getExportFetchSize());
+                long rows = 0;
+                try (ResultSet rs = ps.executeQuery()) {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    String[] columns = new String[meta.getColumnCount()];
+                    for (int i = 0; i < columns.length; i++) {
+                        columns[i] = meta.getColumnLabel(i + 1);
+                    }
+                    format.writeHeader(out, columns);
+
+                    Object[] values = new Object[columns.length];
+                    while (rs.next()) {
+                        for (int i = 0; i < values.length; i++) {
+                            values[i] = exportValue(rs.getObject(i + 1));
+                        }
+                        format.writeRow(out, columns, values);
+                        rows++;
+                    }
+                }
+                con.commit();
+                return rows;
+            } catch (SQLException | IOException e) {
+                con.rollback();
+                e.printStackTrace();
+            } finally {
+                con.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return -1;
+    }
+
+    // Dates, times and enum values are exported as their text form
+    private static Object exportValue(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        return value.toString();
+    }
+}
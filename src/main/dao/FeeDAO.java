@@ -5,6 +5,7 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import model.Fee;
+import model.Page;
 
 public class FeeDAO {
 
@@ -17,19 +18,7 @@ public class FeeDAO {
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                Fee fee = new Fee();
-                fee.setId(rs.getInt("id"));
-                fee.setStudentId(rs.getInt("student_id"));
-                fee.setStudentName(rs.getString("student_name"));
-                fee.setFeeType(rs.getString("fee_type"));
-                fee.setAmount(rs.getDouble("amount"));
-                fee.setPaidAmount(rs.getDouble("paid_amount"));
-                fee.setDueDate(rs.getDate("due_date").toLocalDate());
-                if (rs.getDate("payment_date") != null) {
-                    fee.setPaymentDate(rs.getDate("payment_date").toLocalDate());
-                }
-                fee.setStatus(rs.getString("status"));
-                fees.add(fee);
+                fees.add(mapFeeWithStudent(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -37,6 +26,86 @@ public class FeeDAO {
         return fees;
     }
 
+    /**
+     * Keyset page of fees ordered by id, starting after afterId (0 for the first page)
+     */
+    public Page<Fee> getFeesPage(int afterId, int limit) {
+        List<Fee> fees = new ArrayList<>();
+        String sql = "SELECT f.*, s.name as student_name FROM fees f JOIN students s ON f.student_id = s.id " +
+                     "WHERE f.id > ? ORDER BY f.id LIMIT ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit + 1);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                fees.add(mapFeeWithStudent(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromRows(fees, limit, Fee::getId);
+    }
+
+    /**
+     * Number of rows getFeesPage can return. Fees without a student are left out, as
+     * the page query's join drops them; student_id references students, so this matches it.
+     */
+    public int getFeeCount() {
+        String sql = "SELECT COUNT(*) FROM fees WHERE student_id IS NOT NULL";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Cursor for getFeesPage that starts at the given offset: the id of the row before it,
+     * 0 for offset 0, or -1 past the end. Skips the same student-less fees as getFeeCount.
+     */
+    public int getFeeCursorAt(int offset) {
+        if (offset <= 0) {
+            return 0;
+        }
+        String sql = "SELECT id FROM fees WHERE student_id IS NOT NULL ORDER BY id OFFSET ? LIMIT 1";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, offset - 1);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return -1;
+    }
+
+    private static Fee mapFeeWithStudent(ResultSet rs) throws SQLException {
+        Fee fee = new Fee();
+        fee.setId(rs.getInt("id"));
+        fee.setStudentId(rs.getInt("student_id"));
+        fee.setStudentName(rs.getString("student_name"));
+        fee.setFeeType(rs.getString("fee_type"));
+        fee.setAmount(rs.getDouble("amount"));
+        fee.setPaidAmount(rs.getDouble("paid_amount"));
+        fee.setDueDate(rs.getDate("due_date").toLocalDate());
+        if (rs.getDate("payment_date") != null) {
+            fee.setPaymentDate(rs.getDate("payment_date").toLocalDate());
+        }
+        fee.setStatus(rs.getString("status"));
+        return fee;
+    }
+
     public List<Fee> getFeesByStudent(int studentId) {
         List<Fee> fees = new ArrayList<>();
         String sql = "SELECT * FROM fees WHERE student_id = ?";
@@ -0,0 +1,144 @@
+package dao;
+
+import config.DBConnection;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.List;
+import model.ImportResult;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import utils.ExportFormat;
+
+/**
+ * Bulk loads validated rows: they are streamed with COPY into a temporary staging
+ * table, rows that clash with existing data are reported, and the rest are inserted
+ * with one set-based statement. Each import runs in a single transaction.
+ * The first value of every row is its line number in the source file.
+ */
+public class ImportDAO {
+
+    private static final int COPY_BUFFER = 64 * 1024;
+
+    /**
+     * Rows: line, username, password hash, role, name, email, matricule, level
+     */
+    public void importUsers(List<Object[]> rows, ImportResult result) {
+        run(result, rows,
+            "CREATE TEMP TABLE import_users (line_no INT, username TEXT, password TEXT, role TEXT, name TEXT, " +
+            "email TEXT, matricule TEXT, level TEXT) ON COMMIT DROP",
+            "COPY import_users FROM STDIN WITH (FORMAT csv)",
+            "SELECT i.line_no, CASE " +
+            "WHEN EXISTS (SELECT 1 FROM users u WHERE u.username = i.username) THEN 'username already exists' " +
+            "WHEN EXISTS (SELECT 1 FROM users u WHERE u.email = i.email) THEN 'email already exists' " +
+            "ELSE 'matricule already exists' END " +
+            "FROM import_users i WHERE EXISTS (SELECT 1 FROM users u " +
+            "WHERE u.username = i.username OR u.email = i.email OR u.matricule = i.matricule)",
+            "DELETE FROM import_users i WHERE EXISTS (SELECT 1 FROM users u " +
+            "WHERE u.username = i.username OR u.email = i.email OR u.matricule = i.matricule)",
+            "INSERT INTO users (username, password, role, name, email, matricule, level) " +
+            "SELECT username, password, role, name, email, matricule, level FROM import_users ORDER BY line_no");
+    }
+
+    /**
+     * Rows: line, name, matricule, class name, date of birth, email
+     */
+    public void importStudents(List<Object[]> rows, ImportResult result) {
+        run(result, rows,
+            "CREATE TEMP TABLE import_students (line_no INT, name TEXT, matricule TEXT, class_name TEXT, dob DATE, " +
+            "email TEXT) ON COMMIT DROP",
+            "COPY import_students FROM STDIN WITH (FORMAT csv)",
+            "SELECT i.line_no, CASE " +
+            "WHEN EXISTS (SELECT 1 FROM students s WHERE s.matricule = i.matricule) THEN 'matricule already exists' " +
+            "ELSE 'email already exists' END " +
+            "FROM import_students i WHERE EXISTS (SELECT 1 FROM students s " +
+            "WHERE s.matricule = i.matricule OR s.email = i.email)",
+            "DELETE FROM import_students i WHERE EXISTS (SELECT 1 FROM students s " +
+            "WHERE s.matricule = i.matricule OR s.email = i.email)",
+            "INSERT INTO students (name, matricule, class_name, dob, email) " +
+            "SELECT name, matricule, class_name, dob, email FROM import_students ORDER BY line_no");
+    }
+
+    /**
+     * Rows: line, student matricule, course code, enrollment date (may be null), status (may be null)
+     */
+    public void importEnrollments(List<Object[]> rows, ImportResult result) {
+        // Staging takes its date and status types from enrollments, so an enum status column works too
+        run(result, rows,
+            "CREATE TEMP TABLE import_enrollments ON COMMIT DROP AS " +
+            "SELECT 0 AS line_no, ''::text AS matricule, ''::text AS course_code, enrollment_date, status " +
+            "FROM enrollments WITH NO DATA",
+            "COPY import_enrollments FROM STDIN WITH (FORMAT csv)",
+            "SELECT i.line_no, CASE " +
+            "WHEN s.id IS NULL THEN 'no student with matricule ' || i.matricule " +
+            "WHEN c.id IS NULL THEN 'no course with code ' || i.course_code " +
+            "ELSE 'student is already enrolled in ' || i.course_code END " +
+            "FROM import_enrollments i LEFT JOIN students s ON s.matricule = i.matricule " +
+            "LEFT JOIN courses c ON c.course_code = i.course_code " +
+            "WHERE s.id IS NULL OR c.id IS NULL " +
+            "OR EXISTS (SELECT 1 FROM enrollments e WHERE e.student_id = s.id AND e.course_id = c.id)",
+            "DELETE FROM import_enrollments i WHERE NOT EXISTS (SELECT 1 FROM students s " +
+            "JOIN courses c ON c.course_code = i.course_code WHERE s.matricule = i.matricule " +
+            "AND NOT EXISTS (SELECT 1 FROM enrollments e WHERE e.student_id = s.id AND e.course_id = c.id))",
+            "INSERT INTO enrollments (student_id, course_id, enrollment_date, status) " +
+            "SELECT s.id, c.id, COALESCE(i.enrollment_date, CURRENT_DATE), COALESCE(i.status, 'ACTIVE') " +
+            "FROM import_enrollments i JOIN students s ON s.matricule = i.matricule " +
+            "JOIN courses c ON c.course_code = i.course_code ORDER BY i.line_no");
+        if (result.getImported() > 0) {
+            EnrollmentDAO.fireGradesChanged(0);
+        }
+    }
+
+    private void run(ImportResult result, List<Object[]> rows, String createSql, String copySql,
+                     String conflictSql, String discardSql, String insertSql) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try (Connection con = DBConnection.getConnection()) {
+            con.setAutoCommit(false);
+            try {
+                try (Statement st = con.createStatement()) {
+                    st.execute(createSql);
+                }
+                copy(con, copySql, rows);
+
+                try (Statement st = con.createStatement();
+                     ResultSet rs = st.executeQuery(conflictSql)) {
+                    while (rs.next()) {
+                        result.addError(rs.getInt(1), rs.getString(2));
+                    }
+                }
+                try (Statement st = con.createStatement()) {
+                    st.executeUpdate(discardSql);
+                    result.setImported(st.executeUpdate(insertSql));
+                }
+                con.commit();
+            } catch (SQLException | IOException e) {
+                con.rollback();
+                result.setImported(0);
+                result.addError(0, "Import failed, nothing was saved: " + e.getMessage());
+                e.printStackTrace();
+            } finally {
+                con.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            result.addError(0, "Import failed, nothing was saved: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // Streams the rows to the server as CSV; nothing is buffered beyond the copy buffer
+    private static void copy(Connection con, String copySql, List<Object[]> rows) throws SQLException, IOException {
+        PGConnection pg = con.unwrap(PGConnection.class);
+        String[] columns = new String[rows.get(0).length];
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(pg, copySql, COPY_BUFFER), StandardCharsets.UTF_8), COPY_BUFFER)) {
+            for (Object[] row : rows) {
+                ExportFormat.CSV.writeRow(out, columns, row);
+            }
+        }
+    }
+}
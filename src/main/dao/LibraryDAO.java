@@ -2,6 +2,7 @@ package dao;
 
 import config.DBConnection;
 import model.Library;
+import model.Page;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -18,16 +19,7 @@ public class LibraryDAO {
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                Library book = new Library();
-                book.setId(rs.getInt("id"));
-                book.setBookTitle(rs.getString("book_title"));
-                book.setAuthor(rs.getString("author"));
-                book.setIsbn(rs.getString("isbn"));
-                book.setCategory(rs.getString("category"));
-                book.setTotalCopies(rs.getInt("total_copies"));
-                book.setAvailableCopies(rs.getInt("available_copies"));
-                book.setLocation(rs.getString("location"));
-                books.add(book);
+                books.add(mapBook(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -35,6 +27,42 @@ public class LibraryDAO {
         return books;
     }
 
+    /**
+     * Keyset page of books ordered by id, starting after afterId (0 for the first page)
+     */
+    public Page<Library> getBooksPage(int afterId, int limit) {
+        List<Library> books = new ArrayList<>();
+        String sql = "SELECT * FROM library WHERE id > ? ORDER BY id LIMIT ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit + 1);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                books.add(mapBook(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromRows(books, limit, Library::getId);
+    }
+
+    private static Library mapBook(ResultSet rs) throws SQLException {
+        Library book = new Library();
+        book.setId(rs.getInt("id"));
+        book.setBookTitle(rs.getString("book_title"));
+        book.setAuthor(rs.getString("author"));
+        book.setIsbn(rs.getString("isbn"));
+        book.setCategory(rs.getString("category"));
+        book.setTotalCopies(rs.getInt("total_copies"));
+        book.setAvailableCopies(rs.getInt("available_copies"));
+        book.setLocation(rs.getString("location"));
+        return book;
+    }
+
     public boolean addBook(Library book) {
         String sql = "INSERT INTO library (book_title, author, isbn, category, total_copies, available_copies, location) VALUES (?, ?, ?, ?, ?, ?, ?)";
 
@@ -4,6 +4,7 @@ import config.DBConnection;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import model.Page;
 import model.Report;
 
 public class ReportDAO {
@@ -12,6 +13,27 @@ public class ReportDAO {
         List<Report> reports = new ArrayList<>();
         String sql = "SELECT * FROM reports ORDER BY generated_date DESC";
 
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                reports.add(mapReport(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return reports;
+    }
+
+    /**
+     * Report list without the data column, newest first
+     */
+    public List<Report> getAllReportSummaries() {
+        List<Report> reports = new ArrayList<>();
+        String sql = "SELECT id, report_type, title, description, generated_date, generated_by FROM reports " +
+                     "ORDER BY generated_date DESC, id DESC";
+
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
@@ -24,7 +46,6 @@ public class ReportDAO {
                 report.setDescription(rs.getString("description"));
                 report.setGeneratedDate(rs.getDate("generated_date").toLocalDate());
                 report.setGeneratedBy(rs.getString("generated_by"));
-                report.setData(rs.getString("data"));
                 reports.add(report);
             }
         } catch (SQLException e) {
@@ -33,6 +54,80 @@ public class ReportDAO {
         return reports;
     }
 
+    public Report getReportById(int id) {
+        String sql = "SELECT * FROM reports WHERE id = ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, id);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                return mapReport(rs);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Most recently generated report of a type, or null if there is none
+     */
+    public Report getLatestReport(String reportType) {
+        String sql = "SELECT * FROM reports WHERE report_type = ? ORDER BY id DESC LIMIT 1";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, reportType);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                return mapReport(rs);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Keyset page of reports, newest first, starting after afterId (0 for the first page)
+     */
+    public Page<Report> getReportsPage(int afterId, int limit) {
+        List<Report> reports = new ArrayList<>();
+        String sql = "SELECT * FROM reports WHERE id < ? ORDER BY id DESC LIMIT ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, afterId > 0 ? afterId : Integer.MAX_VALUE);
+            stmt.setInt(2, limit + 1);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                reports.add(mapReport(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromRows(reports, limit, Report::getId);
+    }
+
+    private static Report mapReport(ResultSet rs) throws SQLException {
+        Report report = new Report();
+        report.setId(rs.getInt("id"));
+        report.setReportType(rs.getString("report_type"));
+        report.setTitle(rs.getString("title"));
+        report.setDescription(rs.getString("description"));
+        report.setGeneratedDate(rs.getDate("generated_date").toLocalDate());
+        report.setGeneratedBy(rs.getString("generated_by"));
+        report.setData(rs.getString("data"));
+        return report;
+    }
+
     public boolean addReport(Report report) {
         String sql = "INSERT INTO reports (report_type, title, description, generated_date, generated_by, data) VALUES (?, ?, ?, ?, ?, ?)";
 
@@ -53,6 +148,36 @@ public class ReportDAO {
         return false;
     }
 
+    /**
+     * Insert a report whose data is built by PostgreSQL in the same statement: the rows of
+     * query (columns "line" and "sort_key") are aggregated into the data column below the
+     * header, so the source rows never leave the server. Returns the new id, or 0 on failure.
+     */
+    public int addGeneratedReport(Report report, String header, String query) {
+        String sql = "INSERT INTO reports (report_type, title, description, generated_date, generated_by, data) " +
+                     "SELECT ?, ?, ?, ?, ?, ? || COALESCE(string_agg(r.line, E'\\n' ORDER BY r.sort_key), '') " +
+                     "FROM (" + query + ") r RETURNING id";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, report.getReportType());
+            stmt.setString(2, report.getTitle());
+            stmt.setString(3, report.getDescription());
+            stmt.setDate(4, Date.valueOf(report.getGeneratedDate()));
+            stmt.setString(5, report.getGeneratedBy());
+            stmt.setString(6, header + "\n");
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
     public boolean deleteReport(int id) {
         String sql = "DELETE FROM reports WHERE id = ?";
 
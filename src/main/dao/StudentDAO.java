@@ -35,14 +35,7 @@ public class StudentDAO {
             ps.setString(1, email);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
-                Student s = new Student();
-                s.setId(rs.getInt("id"));
-                s.setName(rs.getString("name"));
-                s.setMatricule(rs.getString("matricule"));
-                s.setClassName(rs.getString("class_name"));
-                s.setDateOfBirth(rs.getDate("dob").toLocalDate());
-                s.setEmail(rs.getString("email"));
-                return s;
+                return mapStudent(rs);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -50,6 +43,39 @@ public class StudentDAO {
         return null;
     }
 
+    public List<Student> getAllStudents() {
+        List<Student> students = new ArrayList<>();
+        String sql = "SELECT * FROM students ORDER BY name";
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                students.add(mapStudent(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return students;
+    }
+
+    /**
+     * Distinct class names in use, for class pickers
+     */
+    public List<String> getClassNames() {
+        List<String> names = new ArrayList<>();
+        String sql = "SELECT DISTINCT class_name FROM students WHERE class_name IS NOT NULL ORDER BY class_name";
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return names;
+    }
+
     public boolean updateStudent(Student student) {
 
         String sql = "UPDATE students SET name=?, matricule=?, class_name=?, dob=? WHERE id=?";
@@ -87,7 +113,24 @@ public class StudentDAO {
         return false;
     }
 
-    // ✅ BUSINESS LOGIC SUPPORT METHOD
+    // ✅ BUSINESS LOGIC SUPPORT METHODS
+    public boolean existsByMatricule(String matricule) {
+
+        String sql = "SELECT 1 FROM students WHERE matricule = ?";
+
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+
+            ps.setString(1, matricule);
+            ResultSet rs = ps.executeQuery();
+            return rs.next();
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
     public boolean existsByMatriculeAndNotId(String matricule, int id) {
 
     String sql = "SELECT 1 FROM students WHERE matricule = ? AND id <> ?";
@@ -107,4 +150,17 @@ public class StudentDAO {
     return false;
 }
 
+    private static Student mapStudent(ResultSet rs) throws SQLException {
+        Student s = new Student();
+        s.setId(rs.getInt("id"));
+        s.setName(rs.getString("name"));
+        s.setMatricule(rs.getString("matricule"));
+        s.setClassName(rs.getString("class_name"));
+        Date dob = rs.getDate("dob");
+        if (dob != null) {
+            s.setDateOfBirth(dob.toLocalDate());
+        }
+        s.setEmail(rs.getString("email"));
+        return s;
+    }
 }
@@ -4,6 +4,7 @@ import config.DBConnection;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import model.Page;
 import model.Timetable;
 
 public class TimetableDAO {
@@ -17,16 +18,7 @@ public class TimetableDAO {
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                Timetable timetable = new Timetable();
-                timetable.setId(rs.getInt("id"));
-                timetable.setCourseId(rs.getInt("course_id"));
-                timetable.setCourseName(rs.getString("course_name"));
-                timetable.setDayOfWeek(rs.getString("day_of_week"));
-                timetable.setStartTime(rs.getString("start_time"));
-                timetable.setEndTime(rs.getString("end_time"));
-                timetable.setRoom(rs.getString("room"));
-                timetable.setInstructor(rs.getString("instructor"));
-                timetables.add(timetable);
+                timetables.add(mapTimetable(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -34,6 +26,30 @@ public class TimetableDAO {
         return timetables;
     }
 
+    /**
+     * Keyset page of timetable slots ordered by id, starting after afterId (0 for the first page)
+     */
+    public Page<Timetable> getTimetablesPage(int afterId, int limit) {
+        List<Timetable> timetables = new ArrayList<>();
+        String sql = "SELECT t.*, c.course_name FROM timetables t JOIN courses c ON t.course_id = c.id " +
+                     "WHERE t.id > ? ORDER BY t.id LIMIT ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit + 1);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                timetables.add(mapTimetable(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromRows(timetables, limit, Timetable::getId);
+    }
+
     public boolean addTimetable(Timetable timetable) {
         String sql = "INSERT INTO timetables (course_id, day_of_week, start_time, end_time, room, instructor) VALUES (?, ?, ?, ?, ?, ?)";
 
@@ -85,19 +101,54 @@ public class TimetableDAO {
             ResultSet rs = stmt.executeQuery();
 
             while (rs.next()) {
-                Timetable timetable = new Timetable();
-                timetable.setId(rs.getInt("id"));
-                timetable.setCourseId(rs.getInt("course_id"));
-                timetable.setCourseName(rs.getString("course_name"));
-                timetable.setDayOfWeek(rs.getString("day_of_week"));
-                timetable.setStartTime(rs.getString("start_time"));
-                timetable.setEndTime(rs.getString("end_time"));
-                timetable.setRoom(rs.getString("room"));
-                timetable.setInstructor(rs.getString("instructor"));
-                timetables.add(timetable);
+                timetables.add(mapTimetable(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return timetables;
+    }
+
+    /**
+     * Timetable slots of the courses a student is enrolled in (dropped courses excluded),
+     * ordered Monday to Sunday and then by start time
+     */
+    public List<Timetable> getTimetablesForStudent(int studentId) {
+        List<Timetable> timetables = new ArrayList<>();
+        String sql = "SELECT t.*, c.course_name FROM enrollments e " +
+                     "JOIN timetables t ON t.course_id = e.course_id " +
+                     "JOIN courses c ON c.id = t.course_id " +
+                     "WHERE e.student_id = ? AND e.status <> 'DROPPED' " +
+                     "ORDER BY CASE lower(t.day_of_week) " +
+                     "WHEN 'monday' THEN 1 WHEN 'tuesday' THEN 2 WHEN 'wednesday' THEN 3 " +
+                     "WHEN 'thursday' THEN 4 WHEN 'friday' THEN 5 WHEN 'saturday' THEN 6 " +
+                     "WHEN 'sunday' THEN 7 ELSE 8 END, t.start_time";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, studentId);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                timetables.add(mapTimetable(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return timetables;
-    }
\ No newline at end of file
+    }
+
+    private static Timetable mapTimetable(ResultSet rs) throws SQLException {
+        Timetable timetable = new Timetable();
+        timetable.setId(rs.getInt("id"));
+        timetable.setCourseId(rs.getInt("course_id"));
+        timetable.setCourseName(rs.getString("course_name"));
+        timetable.setDayOfWeek(rs.getString("day_of_week"));
+        timetable.setStartTime(rs.getString("start_time"));
+        timetable.setEndTime(rs.getString("end_time"));
+        timetable.setRoom(rs.getString("room"));
+        timetable.setInstructor(rs.getString("instructor"));
+        return timetable;
+    }
+}
@@ -0,0 +1,145 @@
+package dao;
+
+import config.DBConnection;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import model.Transcript;
+
+/**
+ * Reads enrollments joined with their courses for transcripts. Totals, GPAs and
+ * ranks are worked out by TranscriptService.
+ */
+public class TranscriptDAO {
+
+    private static final String TRANSCRIPT_SQL =
+            "SELECT s.id, s.name, s.class_name, e.enrollment_date, e.status, e.grade, " +
+            "c.course_code, c.course_name, c.credits FROM students s " +
+            "LEFT JOIN enrollments e ON e.student_id = s.id " +
+            "LEFT JOIN courses c ON c.id = e.course_id " +
+            "WHERE s.id = ANY (?) ORDER BY s.id, e.enrollment_date, c.course_code";
+
+    private static final String CLASS_GRADES_SQL =
+            "SELECT e.student_id, e.enrollment_date, e.status, e.grade, c.credits FROM enrollments e " +
+            "JOIN students s ON s.id = e.student_id JOIN courses c ON c.id = e.course_id " +
+            "WHERE s.class_name = ? AND e.grade IS NOT NULL";
+
+    /**
+     * A student's name, class and course lines in one query, or null if there is no such student
+     */
+    public Transcript getTranscript(int studentId) {
+        List<Transcript> transcripts = getTranscripts(Collections.singletonList(studentId));
+        return transcripts.isEmpty() ? null : transcripts.get(0);
+    }
+
+    /**
+     * Transcripts of many students in one query, ordered by student id. Ids with no
+     * student are left out; an empty list is returned if the query fails.
+     */
+    public List<Transcript> getTranscripts(List<Integer> studentIds) {
+        List<Transcript> transcripts = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(TRANSCRIPT_SQL)) {
+
+            stmt.setArray(1, conn.createArrayOf("integer", studentIds.toArray()));
+            ResultSet rs = stmt.executeQuery();
+
+            Transcript transcript = null;
+            while (rs.next()) {
+                int studentId = rs.getInt("id");
+                if (transcript == null || transcript.getStudentId() != studentId) {
+                    transcript = new Transcript();
+                    transcript.setStudentId(studentId);
+                    transcript.setStudentName(rs.getString("name"));
+                    transcript.setClassName(rs.getString("class_name"));
+                    transcripts.add(transcript);
+                }
+                if (rs.getString("course_code") != null) {
+                    Transcript.Line line = mapLine(rs);
+                    line.setCourseCode(rs.getString("course_code"));
+                    line.setCourseName(rs.getString("course_name"));
+                    transcript.getLines().add(line);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            transcripts.clear();
+        }
+        return transcripts;
+    }
+
+    /**
+     * Ids of every student, grouped by class so a batch run reuses each class's standings
+     */
+    public List<Integer> getAllStudentIds() {
+        return getStudentIds("SELECT id FROM students ORDER BY class_name, id", null);
+    }
+
+    public List<Integer> getStudentIdsByClass(String className) {
+        return getStudentIds("SELECT id FROM students WHERE class_name = ? ORDER BY id", className);
+    }
+
+    /**
+     * Students enrolled in at least one course of the department, grouped by class
+     */
+    public List<Integer> getStudentIdsByDepartment(int departmentId) {
+        return getStudentIds("SELECT s.id FROM students s WHERE EXISTS (SELECT 1 FROM enrollments e " +
+                "JOIN courses c ON c.id = e.course_id WHERE e.student_id = s.id AND c.department_id = ?) " +
+                "ORDER BY s.class_name, s.id", departmentId);
+    }
+
+    /**
+     * Graded lines of every student in a class, keyed by student id. Only grades,
+     * credits and terms are filled in; enough to compute each classmate's GPA.
+     */
+    public Map<Integer, List<Transcript.Line>> getClassGrades(String className) {
+        Map<Integer, List<Transcript.Line>> grades = new HashMap<>();
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(CLASS_GRADES_SQL)) {
+
+            stmt.setString(1, className);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                grades.computeIfAbsent(rs.getInt("student_id"), id -> new ArrayList<>()).add(mapLine(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return grades;
+    }
+
+    private List<Integer> getStudentIds(String sql, Object param) {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            if (param != null) {
+                stmt.setObject(1, param);
+            }
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return ids;
+    }
+
+    private static Transcript.Line mapLine(ResultSet rs) throws SQLException {
+        Transcript.Line line = new Transcript.Line();
+        Date enrolled = rs.getDate("enrollment_date");
+        if (enrolled != null) {
+            line.setTermStart(AttendanceBitmapDAO.termStartOf(enrolled.toLocalDate()));
+        }
+        line.setStatus(rs.getString("status"));
+        line.setCredits(rs.getInt("credits"));
+        double grade = rs.getDouble("grade");
+        line.setGrade(rs.wasNull() ? null : grade);
+        return line;
+    }
+}
@@ -1,13 +1,34 @@
 package dao;
 
+import config.AppConfig;
 import config.DBConnection;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import model.Page;
 import model.User;
+import utils.BloomFilter;
 
 public class UserDAO {
 
+    // Every username in the table, so logins for unknown names never reach the database.
+    // Rebuilt when older than security.login.username.filter.refresh so users created
+    // from other workstations are picked up; deleted names linger until the next rebuild.
+    // Logins read the published filter without locking while a rebuild scans the table.
+    private static volatile BloomFilter knownUsernames;
+    private static volatile long knownUsernamesBuiltAt;
+    private static volatile boolean rebuildingUsernames;
+
+    // One scan at a time; BloomFilter adds must not run concurrently with each other
+    private static final ReentrantLock REBUILD_LOCK = new ReentrantLock();
+    private static final Object FILTER_WRITE_LOCK = new Object();
+
+    // Users added during a scan, which its snapshot may have missed
+    private static final Queue<String> ADDED_DURING_REBUILD = new ConcurrentLinkedQueue<>();
+
     public boolean existsByUsername(String username) {
 
     String sql = "SELECT 1 FROM users WHERE username = ?";
@@ -45,6 +66,154 @@ public class UserDAO {
 
         return false;
     }
+    /**
+     * One round trip telling whether the username or the email is already taken
+     */
+    public boolean existsByUsernameOrEmail(String username, String email) {
+        String sql = "SELECT 1 FROM users WHERE username = ? OR email = ? LIMIT 1";
+
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+
+            ps.setString(1, username);
+            ps.setString(2, email);
+            ResultSet rs = ps.executeQuery();
+            return rs.next();
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        // Treat a failed check as taken rather than risk a duplicate
+        return true;
+    }
+
+    /**
+     * What login needs in one round trip: the password hash and role to check, plus the
+     * profile columns the session keeps
+     */
+    public User findCredentialsByUsername(String username) {
+        String sql = "SELECT id, username, password, role, name, email, matricule, level FROM users WHERE username = ?";
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+
+            ps.setString(1, username);
+            ResultSet rs = ps.executeQuery();
+
+            if (rs.next()) {
+                User user = new User();
+                user.setId(rs.getInt("id"));
+                user.setUsername(rs.getString("username"));
+                user.setPassword(rs.getString("password"));
+                user.setRole(rs.getString("role"));
+                user.setName(rs.getString("name"));
+                user.setEmail(rs.getString("email"));
+                user.setMatricule(rs.getString("matricule"));
+                user.setLevel(rs.getString("level"));
+                return user;
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * False only if no user with this username existed when the filter was last built
+     * or was added since. Always true when the filter is disabled or cannot be built.
+     */
+    public boolean mightExist(String username) {
+        long refreshMillis = AppConfig.getUsernameFilterRefresh() * 1000L;
+        if (refreshMillis <= 0) {
+            return true;
+        }
+        BloomFilter filter = knownUsernames;
+        if (filter == null || System.currentTimeMillis() - knownUsernamesBuiltAt >= refreshMillis) {
+            // One login rebuilds; the others carry on with the previous filter meanwhile
+            rebuildKnownUsernames(false);
+            filter = knownUsernames;
+        }
+        return filter == null || filter.mightContain(username);
+    }
+
+    /**
+     * Build the known-username filter now instead of on the first login, waiting for
+     * any rebuild already in progress
+     */
+    public static void rebuildUsernameFilter() {
+        if (AppConfig.getUsernameFilterRefresh() > 0) {
+            rebuildKnownUsernames(true);
+        }
+    }
+
+    private static void rebuildKnownUsernames(boolean wait) {
+        if (wait) {
+            REBUILD_LOCK.lock();
+        } else if (!REBUILD_LOCK.tryLock()) {
+            return;
+        }
+        try {
+            ADDED_DURING_REBUILD.clear();
+            rebuildingUsernames = true;
+            BloomFilter filter = scanUsernames();
+            knownUsernames = filter;
+            knownUsernamesBuiltAt = System.currentTimeMillis();
+            if (filter != null) {
+                synchronized (FILTER_WRITE_LOCK) {
+                    for (String username; (username = ADDED_DURING_REBUILD.poll()) != null; ) {
+                        filter.add(username);
+                    }
+                }
+            }
+            rebuildingUsernames = false;
+        } finally {
+            REBUILD_LOCK.unlock();
+        }
+    }
+
+    private static BloomFilter scanUsernames() {
+        try (Connection con = DBConnection.getConnection()) {
+            con.setAutoCommit(false); // lets the driver stream with the fetch size
+            try (Statement st = con.createStatement()) {
+                int count = 0;
+                ResultSet countRs = st.executeQuery("SELECT COUNT(*) FROM users");
+                if (countRs.next()) {
+                    count = countRs.getInt(1);
+                }
+
+                // Room for new sign-ups before the next rebuild
+                BloomFilter filter = new BloomFilter(count * 2 + 1000, 0.01);
+                st.setFetchSize(AppConfig.getExportFetchSize());
+                ResultSet rs = st.executeQuery("SELECT username FROM users");
+                while (rs.next()) {
+                    filter.add(rs.getString(1));
+                }
+                con.commit();
+                return filter;
+            } finally {
+                con.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    private static void rememberUsername(String username) {
+        if (username == null) {
+            return;
+        }
+        if (rebuildingUsernames) {
+            ADDED_DURING_REBUILD.add(username);
+        }
+        BloomFilter filter = knownUsernames;
+        if (filter != null) {
+            synchronized (FILTER_WRITE_LOCK) {
+                filter.add(username);
+            }
+        }
+    }
+
 public User findByUsername(String username) {
         String sql = "SELECT * FROM users WHERE username = ?";
         try (Connection con = DBConnection.getConnection();
@@ -85,6 +254,7 @@ public User findByUsername(String username) {
             ps.setString(6, u.getMatricule());
             ps.setString(7, u.getLevel());
             ps.executeUpdate();
+            rememberUsername(u.getUsername());
             return true;
         } catch (SQLException e) {
             e.printStackTrace();
@@ -101,16 +271,7 @@ public User findByUsername(String username) {
              ResultSet rs = st.executeQuery(sql)) {
 
             while (rs.next()) {
-                User u = new User();
-                u.setId(rs.getInt("id"));
-                u.setUsername(rs.getString("username"));
-                u.setPassword(rs.getString("password"));
-                u.setRole(rs.getString("role"));
-                u.setName(rs.getString("name"));
-                u.setEmail(rs.getString("email"));
-                u.setMatricule(rs.getString("matricule"));
-                u.setLevel(rs.getString("level"));
-                users.add(u);
+                users.add(mapUser(rs));
             }
 
         } catch (SQLException e) {
@@ -119,6 +280,79 @@ public User findByUsername(String username) {
         return users;
     }
 
+    /**
+     * Keyset page of users ordered by id, starting after afterId (0 for the first page)
+     */
+    public Page<User> getUsersPage(int afterId, int limit) {
+        List<User> users = new ArrayList<>();
+        String sql = "SELECT * FROM users WHERE id > ? ORDER BY id LIMIT ?";
+
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+
+            ps.setInt(1, afterId);
+            ps.setInt(2, limit + 1);
+            ResultSet rs = ps.executeQuery();
+
+            while (rs.next()) {
+                users.add(mapUser(rs));
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromRows(users, limit, User::getId);
+    }
+
+    public int getUserCount() {
+        String sql = "SELECT COUNT(*) FROM users";
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ResultSet rs = ps.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Cursor for getUsersPage that starts at the given offset: the id of the row before it,
+     * 0 for offset 0, or -1 past the end. Only reads the primary key index.
+     */
+    public int getUserCursorAt(int offset) {
+        if (offset <= 0) {
+            return 0;
+        }
+        String sql = "SELECT id FROM users ORDER BY id OFFSET ? LIMIT 1";
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setInt(1, offset - 1);
+            ResultSet rs = ps.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return -1;
+    }
+
+    private static User mapUser(ResultSet rs) throws SQLException {
+        User u = new User();
+        u.setId(rs.getInt("id"));
+        u.setUsername(rs.getString("username"));
+        u.setPassword(rs.getString("password"));
+        u.setRole(rs.getString("role"));
+        u.setName(rs.getString("name"));
+        u.setEmail(rs.getString("email"));
+        u.setMatricule(rs.getString("matricule"));
+        u.setLevel(rs.getString("level"));
+        return u;
+    }
+
     public int getUserCountByRole(String role) {
         String sql = "SELECT COUNT(*) FROM users WHERE role = ?";
         try (Connection con = DBConnection.getConnection();
@@ -135,8 +369,8 @@ public User findByUsername(String username) {
         return 0;
     }
 
-    public boolean addUser(User u) {
-        String sql = "INSERT INTO users (username, password, role, name, email, matricule, level) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    public boolean updateUser(User u) {
+        String sql = "UPDATE users SET username=?, password=?, role=?, name=?, email=?, matricule=?, level=? WHERE id=?";
         try (Connection con = DBConnection.getConnection();
              PreparedStatement ps = con.prepareStatement(sql)) {
 
@@ -147,7 +381,9 @@ public User findByUsername(String username) {
             ps.setString(5, u.getEmail());
             ps.setString(6, u.getMatricule());
             ps.setString(7, u.getLevel());
+            ps.setInt(8, u.getId());
             ps.executeUpdate();
+            rememberUsername(u.getUsername());
             return true;
         } catch (SQLException e) {
             e.printStackTrace();
@@ -155,21 +391,17 @@ public User findByUsername(String username) {
         }
     }
 
-    public boolean updateUser(User u) {
-        String sql = "UPDATE users SET username=?, password=?, role=?, name=?, email=?, matricule=?, level=? WHERE id=?";
+    /**
+     * Replace only the stored password hash, e.g. when it is upgraded on login
+     */
+    public boolean updatePassword(int id, String passwordHash) {
+        String sql = "UPDATE users SET password=? WHERE id=?";
         try (Connection con = DBConnection.getConnection();
              PreparedStatement ps = con.prepareStatement(sql)) {
 
-            ps.setString(1, u.getUsername());
-            ps.setString(2, u.getPassword());
-            ps.setString(3, u.getRole());
-            ps.setString(4, u.getName());
-            ps.setString(5, u.getEmail());
-            ps.setString(6, u.getMatricule());
-            ps.setString(7, u.getLevel());
-            ps.setInt(8, u.getId());
-            ps.executeUpdate();
-            return true;
+            ps.setString(1, passwordHash);
+            ps.setInt(2, id);
+            return ps.executeUpdate() > 0;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
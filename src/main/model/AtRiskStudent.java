@@ -0,0 +1,51 @@
+package model;
+
+/**
+ * A student flagged by the at-risk scan, with the figures behind the flag.
+ * Higher scores are more urgent.
+ */
+public class AtRiskStudent {
+    private int studentId;
+    private String name;
+    private String className;
+    private double attendanceRate; // 0-1, -1 = too few days recorded to judge
+    private int recordedDays;
+    private int absenceStreak;
+    private int failingCourses;
+    private double averageGrade; // -1 = no grades yet
+    private double score;
+    private String reasons;
+
+    public AtRiskStudent() {}
+
+    // Getters and Setters
+    public int getStudentId() { return studentId; }
+    public void setStudentId(int studentId) { this.studentId = studentId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getClassName() { return className; }
+    public void setClassName(String className) { this.className = className; }
+
+    public double getAttendanceRate() { return attendanceRate; }
+    public void setAttendanceRate(double attendanceRate) { this.attendanceRate = attendanceRate; }
+
+    public int getRecordedDays() { return recordedDays; }
+    public void setRecordedDays(int recordedDays) { this.recordedDays = recordedDays; }
+
+    public int getAbsenceStreak() { return absenceStreak; }
+    public void setAbsenceStreak(int absenceStreak) { this.absenceStreak = absenceStreak; }
+
+    public int getFailingCourses() { return failingCourses; }
+    public void setFailingCourses(int failingCourses) { this.failingCourses = failingCourses; }
+
+    public double getAverageGrade() { return averageGrade; }
+    public void setAverageGrade(double averageGrade) { this.averageGrade = averageGrade; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+
+    public String getReasons() { return reasons; }
+    public void setReasons(String reasons) { this.reasons = reasons; }
+}
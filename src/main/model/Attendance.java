@@ -6,6 +6,7 @@ public class Attendance {
 
     private int id;
     private int studentId;
+    private int sessionId;
     private String studentName;
     private LocalDate date;
     private String status;
@@ -37,6 +38,17 @@ public class Attendance {
         this.studentId = studentId;
     }
 
+    /**
+     * Class session the mark belongs to, or 0 for a daily mark without a course
+     */
+    public int getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(int sessionId) {
+        this.sessionId = sessionId;
+    }
+
     public String getStudentName() {
         return studentName;
     }
@@ -0,0 +1,45 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * One meeting of a course: the course, the date and the slot number within that day
+ */
+public class ClassSession {
+    private int id;
+    private int courseId;
+    private LocalDate date;
+    private int slot = 1;
+    private int present;
+    private int absent;
+
+    public ClassSession() {}
+
+    public ClassSession(int id, int courseId, LocalDate date, int slot) {
+        this.id = id;
+        this.courseId = courseId;
+        this.date = date;
+        this.slot = slot;
+    }
+
+    // Getters and Setters
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+
+    public int getCourseId() { return courseId; }
+    public void setCourseId(int courseId) { this.courseId = courseId; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public int getSlot() { return slot; }
+    public void setSlot(int slot) { this.slot = slot; }
+
+    /** Students marked present, filled by session summary queries */
+    public int getPresent() { return present; }
+    public void setPresent(int present) { this.present = present; }
+
+    /** Students marked absent, filled by session summary queries */
+    public int getAbsent() { return absent; }
+    public void setAbsent(int absent) { this.absent = absent; }
+}
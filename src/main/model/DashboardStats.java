@@ -0,0 +1,50 @@
+package model;
+
+/**
+ * Counters shown on the admin dashboard, loaded by a single aggregate query
+ */
+public class DashboardStats {
+    private int totalUsers;
+    private int adminUsers;
+    private int teacherUsers;
+    private int studentUsers;
+    private int totalStudents;
+    private int totalTeachers;
+    private int activeEnrollments;
+    private int pendingFees;
+    private int activeAnnouncements;
+    private double attendanceRate = -1; // this school year, -1 = nothing recorded
+
+    public DashboardStats() {}
+
+    // Getters and Setters
+    public int getTotalUsers() { return totalUsers; }
+    public void setTotalUsers(int totalUsers) { this.totalUsers = totalUsers; }
+
+    public int getAdminUsers() { return adminUsers; }
+    public void setAdminUsers(int adminUsers) { this.adminUsers = adminUsers; }
+
+    public int getTeacherUsers() { return teacherUsers; }
+    public void setTeacherUsers(int teacherUsers) { this.teacherUsers = teacherUsers; }
+
+    public int getStudentUsers() { return studentUsers; }
+    public void setStudentUsers(int studentUsers) { this.studentUsers = studentUsers; }
+
+    public int getTotalStudents() { return totalStudents; }
+    public void setTotalStudents(int totalStudents) { this.totalStudents = totalStudents; }
+
+    public int getTotalTeachers() { return totalTeachers; }
+    public void setTotalTeachers(int totalTeachers) { this.totalTeachers = totalTeachers; }
+
+    public int getActiveEnrollments() { return activeEnrollments; }
+    public void setActiveEnrollments(int activeEnrollments) { this.activeEnrollments = activeEnrollments; }
+
+    public int getPendingFees() { return pendingFees; }
+    public void setPendingFees(int pendingFees) { this.pendingFees = pendingFees; }
+
+    public int getActiveAnnouncements() { return activeAnnouncements; }
+    public void setActiveAnnouncements(int activeAnnouncements) { this.activeAnnouncements = activeAnnouncements; }
+
+    public double getAttendanceRate() { return attendanceRate; }
+    public void setAttendanceRate(double attendanceRate) { this.attendanceRate = attendanceRate; }
+}
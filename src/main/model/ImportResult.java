@@ -0,0 +1,85 @@
+package model;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk CSV import: how many rows were read and stored, and why each
+ * rejected row was turned away (by the line number it had in the file)
+ */
+public class ImportResult {
+    private int rowsRead;
+    private int imported;
+    private final List<RowError> errors = new ArrayList<>();
+    private File errorReport;
+
+    public static class RowError implements Comparable<RowError> {
+        private final int line;
+        private final String message;
+
+        public RowError(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public int compareTo(RowError other) {
+            return Integer.compare(line, other.line);
+        }
+
+        @Override
+        public String toString() {
+            return line > 0 ? "Line " + line + ": " + message : message;
+        }
+    }
+
+    public int getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(int rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    /**
+     * CSV listing the rejected rows, or null if none were rejected
+     */
+    public File getErrorReport() {
+        return errorReport;
+    }
+
+    public void setErrorReport(File errorReport) {
+        this.errorReport = errorReport;
+    }
+
+    public synchronized void addError(int line, String message) {
+        errors.add(new RowError(line, message));
+    }
+
+    /**
+     * Rejected rows in file order
+     */
+    public synchronized List<RowError> getErrors() {
+        List<RowError> sorted = new ArrayList<>(errors);
+        Collections.sort(sorted);
+        return sorted;
+    }
+}
@@ -0,0 +1,40 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * One page of a keyset-paginated list.
+ * Pass getNextCursor() as the afterId of the next request to continue from
+ * the last row of this page; it is 0 when there are no more rows.
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final int nextCursor;
+
+    public Page(List<T> items, int nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Build a page from a query that fetched up to limit + 1 rows.
+     * The extra row only signals that another page exists and is dropped.
+     */
+    public static <T> Page<T> fromRows(List<T> rows, int limit, ToIntFunction<T> idOf) {
+        if (rows.size() <= limit) {
+            return new Page<>(rows, 0);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new Page<>(items, idOf.applyAsInt(items.get(limit - 1)));
+    }
+
+    public static <T> Page<T> empty() {
+        return new Page<>(Collections.emptyList(), 0);
+    }
+
+    public List<T> getItems() { return items; }
+    public int getNextCursor() { return nextCursor; }
+    public boolean hasMore() { return nextCursor > 0; }
+}
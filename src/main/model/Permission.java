@@ -0,0 +1,44 @@
+package model;
+
+/**
+ * Permissions granted by a role, matching the checkboxes in UserPermissionsFrame.
+ * A set of permissions is stored as an int bit mask so checks are a single AND.
+ */
+public enum Permission {
+    READ,
+    WRITE,
+    ADMIN,
+    SUPER_ADMIN;
+
+    private final int mask = 1 << ordinal();
+
+    public int mask() {
+        return mask;
+    }
+
+    public boolean in(int permissions) {
+        return (permissions & mask) != 0;
+    }
+
+    /**
+     * Permission bits for a role name (case and surrounding spaces are ignored)
+     */
+    public static int forRole(String role) {
+        if (role == null) {
+            return 0;
+        }
+        switch (role.trim().toUpperCase()) {
+            case "SUPERADMIN":
+                return READ.mask | WRITE.mask | ADMIN.mask | SUPER_ADMIN.mask;
+            case "ADMIN":
+                return READ.mask | WRITE.mask | ADMIN.mask;
+            case "TEACHER":
+                return READ.mask | WRITE.mask;
+            case "STUDENT":
+            case "USER":
+                return READ.mask;
+            default:
+                return 0;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package model;
+
+/**
+ * The logged-in user for the lifetime of a login. The principal and its permission
+ * bits are fixed when the session starts and no password hash is kept; the session
+ * expires after app.session.timeout minutes without activity.
+ */
+public final class Session {
+    private final int userId;
+    private final String username;
+    private final String name;
+    private final String email;
+    private final String matricule;
+    private final String level;
+    private final String role; // upper case, trimmed
+    private final int permissions;
+    private final long timeoutMillis;
+    private volatile long lastActivity;
+
+    public Session(User user, long timeoutMillis) {
+        this.userId = user.getId();
+        this.username = user.getUsername();
+        this.name = user.getName();
+        this.email = user.getEmail();
+        this.matricule = user.getMatricule();
+        this.level = user.getLevel();
+        this.role = user.getRole() != null ? user.getRole().trim().toUpperCase() : "";
+        this.permissions = Permission.forRole(user.getRole());
+        this.timeoutMillis = timeoutMillis;
+        this.lastActivity = System.currentTimeMillis();
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public int getPermissions() {
+        return permissions;
+    }
+
+    public boolean has(Permission permission) {
+        return permission.in(permissions);
+    }
+
+    public boolean isAdmin() {
+        return Permission.ADMIN.in(permissions);
+    }
+
+    /**
+     * Role name comparison; pass the upper-case role, e.g. "STUDENT"
+     */
+    public boolean hasRole(String upperCaseRole) {
+        return role.equals(upperCaseRole);
+    }
+
+    /**
+     * A timeout of 0 or less never expires
+     */
+    public boolean isExpired() {
+        return timeoutMillis > 0 && System.currentTimeMillis() - lastActivity > timeoutMillis;
+    }
+
+    /**
+     * Record activity so the idle timeout starts again
+     */
+    public void touch() {
+        lastActivity = System.currentTimeMillis();
+    }
+
+    /**
+     * Profile for the windows that take a User; the password is never included
+     */
+    public User toUser() {
+        return new User(userId, username, null, role, name, email, matricule, level);
+    }
+}
@@ -9,6 +9,7 @@ public class Student {
     private String matricule;
     private String className;
     private LocalDate dateOfBirth;
+    private String email;
 
     public Student() {}
 
@@ -60,4 +61,17 @@ public class Student {
     public void setDateOfBirth(LocalDate dateOfBirth) {
         this.dateOfBirth = dateOfBirth;
     }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    @Override
+    public String toString() {
+        return matricule != null ? name + " (" + matricule + ")" : name;
+    }
 }
@@ -0,0 +1,134 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A student's courses with credit-weighted GPA per school year and overall.
+ * GPAs are on a 4-point scale and -1 when nothing has been graded yet.
+ */
+public class Transcript {
+
+    /**
+     * One enrollment on the transcript
+     */
+    public static class Line {
+        private LocalDate termStart; // first day of the school year the enrollment belongs to
+        private String courseCode;
+        private String courseName;
+        private int credits;
+        private String status;
+        private Double grade; // null = not graded yet
+        private double points; // grade points on the 4-point scale
+
+        public Line() {}
+
+        public LocalDate getTermStart() { return termStart; }
+        public void setTermStart(LocalDate termStart) { this.termStart = termStart; }
+
+        public String getCourseCode() { return courseCode; }
+        public void setCourseCode(String courseCode) { this.courseCode = courseCode; }
+
+        public String getCourseName() { return courseName; }
+        public void setCourseName(String courseName) { this.courseName = courseName; }
+
+        public int getCredits() { return credits; }
+        public void setCredits(int credits) { this.credits = credits; }
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+
+        public Double getGrade() { return grade; }
+        public void setGrade(Double grade) { this.grade = grade; }
+
+        public double getPoints() { return points; }
+        public void setPoints(double points) { this.points = points; }
+    }
+
+    /**
+     * Totals for one school year
+     */
+    public static class Term {
+        private LocalDate start;
+        private int attemptedCredits;
+        private int earnedCredits;
+        private double gpa;
+
+        public Term() {}
+
+        public LocalDate getStart() { return start; }
+        public void setStart(LocalDate start) { this.start = start; }
+
+        public int getAttemptedCredits() { return attemptedCredits; }
+        public void setAttemptedCredits(int attemptedCredits) { this.attemptedCredits = attemptedCredits; }
+
+        public int getEarnedCredits() { return earnedCredits; }
+        public void setEarnedCredits(int earnedCredits) { this.earnedCredits = earnedCredits; }
+
+        public double getGpa() { return gpa; }
+        public void setGpa(double gpa) { this.gpa = gpa; }
+    }
+
+    private int studentId;
+    private String studentName;
+    private String className;
+    private List<Line> lines = new ArrayList<>();
+    private List<Term> terms = new ArrayList<>();
+    private int attemptedCredits; // credits of graded courses
+    private int earnedCredits; // credits of passed courses
+    private double gpa;
+    private int classRank; // 0 = not ranked
+    private int classSize; // classmates with a GPA
+
+    public Transcript() {}
+
+    /**
+     * Shallow copy sharing the lines and terms, so a cached transcript can be handed out with its own rank
+     */
+    public Transcript copy() {
+        Transcript copy = new Transcript();
+        copy.studentId = studentId;
+        copy.studentName = studentName;
+        copy.className = className;
+        copy.lines = lines;
+        copy.terms = terms;
+        copy.attemptedCredits = attemptedCredits;
+        copy.earnedCredits = earnedCredits;
+        copy.gpa = gpa;
+        copy.classRank = classRank;
+        copy.classSize = classSize;
+        return copy;
+    }
+
+    // Getters and Setters
+    public int getStudentId() { return studentId; }
+    public void setStudentId(int studentId) { this.studentId = studentId; }
+
+    public String getStudentName() { return studentName; }
+    public void setStudentName(String studentName) { this.studentName = studentName; }
+
+    public String getClassName() { return className; }
+    public void setClassName(String className) { this.className = className; }
+
+    public List<Line> getLines() { return lines; }
+    public void setLines(List<Line> lines) { this.lines = lines; }
+
+    public List<Term> getTerms() { return terms; }
+    public void setTerms(List<Term> terms) { this.terms = terms; }
+
+    public int getAttemptedCredits() { return attemptedCredits; }
+    public void setAttemptedCredits(int attemptedCredits) { this.attemptedCredits = attemptedCredits; }
+
+    public int getEarnedCredits() { return earnedCredits; }
+    public void setEarnedCredits(int earnedCredits) { this.earnedCredits = earnedCredits; }
+
+    public double getGpa() { return gpa; }
+    public void setGpa(double gpa) { this.gpa = gpa; }
+
+    public int getClassRank() { return classRank; }
+    public void setClassRank(int classRank) { this.classRank = classRank; }
+
+    public int getClassSize() { return classSize; }
+    public void setClassSize(int classSize) { this.classSize = classSize; }
+}
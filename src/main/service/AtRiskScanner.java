@@ -0,0 +1,245 @@
+package service;
+
+import config.AppConfig;
+import dao.AttendanceBitmapDAO;
+import dao.EnrollmentDAO;
+import dao.ReportDAO;
+import dao.StudentDAO;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import model.AtRiskStudent;
+import model.Report;
+import model.Student;
+import utils.AttendanceBitmap;
+
+/**
+ * Flags students with low attendance, long absence runs or failing grades. The
+ * inputs are loaded once (this year's attendance bitmaps and every grade), then the
+ * students are assessed on a fork/join pool, one task per class, with large classes
+ * split further. The result is ranked by score, most urgent first.
+ */
+public class AtRiskScanner {
+
+    public static final String REPORT_TYPE = "At-Risk Students";
+    public static final String REPORT_HEADER =
+            "Rank\tStudent ID\tStudent\tClass\tAttendance %\tDays Recorded\tAbsence Streak\tFailing Courses\tAverage Grade\tScore\tReasons";
+
+    // Students assessed by one task before it stops splitting
+    private static final int LEAF_SIZE = 256;
+
+    private final double minAttendance;
+    private final double passGrade;
+    private final int absenceStreakLimit;
+    private final int minRecordedDays;
+    private final int parallelism;
+
+    private final StudentDAO studentDAO = new StudentDAO();
+    private final EnrollmentDAO enrollmentDAO = new EnrollmentDAO();
+    private final AttendanceBitmapDAO attendanceBitmapDAO = new AttendanceBitmapDAO();
+    private final ReportDAO reportDAO = new ReportDAO();
+
+    public AtRiskScanner() {
+        this(AppConfig.getAtRiskAttendanceMin() / 100.0, AppConfig.getAtRiskPassGrade(),
+                AppConfig.getAtRiskAbsenceStreak(), AppConfig.getAtRiskMinDays(), AppConfig.getAnalyticsThreads());
+    }
+
+    public AtRiskScanner(double minAttendance, double passGrade, int absenceStreakLimit, int minRecordedDays,
+                         int parallelism) {
+        this.minAttendance = minAttendance;
+        this.passGrade = passGrade;
+        this.absenceStreakLimit = absenceStreakLimit;
+        this.minRecordedDays = minRecordedDays;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Scan the whole student body as of today
+     */
+    public List<AtRiskStudent> scan() {
+        LocalDate today = LocalDate.now();
+        List<Student> students = studentDAO.getAllStudents();
+        Map<Integer, AttendanceBitmap> attendance = attendanceBitmapDAO.getTerm(AttendanceBitmapDAO.termStartOf(today));
+        Map<Integer, double[]> grades = enrollmentDAO.getGradesByStudent();
+        return rank(students, attendance, grades, today);
+    }
+
+    /**
+     * Assess every student in parallel and return the flagged ones, highest score first
+     */
+    public List<AtRiskStudent> rank(List<Student> students, Map<Integer, AttendanceBitmap> attendance,
+                                    Map<Integer, double[]> grades, LocalDate asOf) {
+        List<List<Student>> partitions = partition(students);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<AtRiskStudent> flagged = pool.invoke(new ScanTask(partitions, 0, partitions.size(), attendance, grades, asOf));
+            flagged.sort(Comparator.comparingDouble(AtRiskStudent::getScore).reversed()
+                    .thenComparing(s -> s.getName() == null ? "" : s.getName()));
+            return flagged;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * The flags for one student, or null if nothing is wrong
+     */
+    public AtRiskStudent assess(Student student, AttendanceBitmap attendance, double[] grades, LocalDate asOf) {
+        double score = 0;
+        List<String> reasons = new ArrayList<>();
+
+        int recorded = attendance != null ? attendance.countRecorded() : 0;
+        double rate = recorded >= minRecordedDays ? attendance.getRate() : -1;
+        if (rate >= 0 && rate < minAttendance) {
+            score += (minAttendance - rate) * 100;
+            reasons.add(String.format("attendance %.0f%%", rate * 100));
+        }
+
+        int streak = attendance != null ? attendance.currentAbsenceStreak(asOf) : 0;
+        if (absenceStreakLimit > 0 && streak >= absenceStreakLimit) {
+            score += 2.0 * streak;
+            reasons.add("absent " + streak + " days in a row");
+        }
+
+        int failing = 0;
+        double average = -1;
+        if (grades != null && grades.length > 0) {
+            double sum = 0;
+            for (double grade : grades) {
+                sum += grade;
+                if (grade < passGrade) {
+                    failing++;
+                }
+            }
+            average = sum / grades.length;
+        }
+        if (failing > 0) {
+            score += 10.0 * failing;
+            reasons.add(failing + (failing == 1 ? " failing course" : " failing courses"));
+        }
+        if (average >= 0 && average < passGrade) {
+            score += passGrade - average;
+            reasons.add(String.format("average grade %.1f", average));
+        }
+
+        if (reasons.isEmpty()) {
+            return null;
+        }
+        AtRiskStudent flagged = new AtRiskStudent();
+        flagged.setStudentId(student.getId());
+        flagged.setName(student.getName());
+        flagged.setClassName(student.getClassName());
+        flagged.setAttendanceRate(rate);
+        flagged.setRecordedDays(recorded);
+        flagged.setAbsenceStreak(streak);
+        flagged.setFailingCourses(failing);
+        flagged.setAverageGrade(average);
+        flagged.setScore(Math.round(score * 10) / 10.0);
+        flagged.setReasons(String.join("; ", reasons));
+        return flagged;
+    }
+
+    /**
+     * Store a ranked list as a report so advisors can reopen it later
+     */
+    public boolean saveReport(List<AtRiskStudent> ranked, String generatedBy) {
+        Report report = new Report();
+        report.setReportType(REPORT_TYPE);
+        report.setTitle("At-Risk Students " + LocalDate.now());
+        report.setDescription(ranked.size() + " students flagged (attendance below " + Math.round(minAttendance * 100)
+                + "%, grades below " + Math.round(passGrade) + ", or " + absenceStreakLimit + "+ days absent in a row)");
+        report.setGeneratedDate(LocalDate.now());
+        report.setGeneratedBy(generatedBy);
+        report.setData(toReportData(ranked));
+        return reportDAO.addReport(report);
+    }
+
+    /**
+     * Header line plus one tab-separated line per student, in rank order
+     */
+    public static String toReportData(List<AtRiskStudent> ranked) {
+        StringBuilder sb = new StringBuilder(REPORT_HEADER);
+        int rank = 0;
+        for (AtRiskStudent s : ranked) {
+            sb.append('\n').append(++rank)
+              .append('\t').append(s.getStudentId())
+              .append('\t').append(clean(s.getName()))
+              .append('\t').append(clean(s.getClassName()))
+              .append('\t').append(s.getAttendanceRate() < 0 ? "" : String.format("%.1f", s.getAttendanceRate() * 100))
+              .append('\t').append(s.getRecordedDays())
+              .append('\t').append(s.getAbsenceStreak())
+              .append('\t').append(s.getFailingCourses())
+              .append('\t').append(s.getAverageGrade() < 0 ? "" : String.format("%.1f", s.getAverageGrade()))
+              .append('\t').append(s.getScore())
+              .append('\t').append(clean(s.getReasons()));
+        }
+        return sb.toString();
+    }
+
+    private static String clean(String value) {
+        return value == null ? "" : value.replace('\t', ' ').replace('\n', ' ');
+    }
+
+    // One partition per class, large classes cut into LEAF_SIZE pieces
+    private static List<List<Student>> partition(List<Student> students) {
+        Map<String, List<Student>> byClass = new LinkedHashMap<>();
+        for (Student student : students) {
+            String key = student.getClassName() == null ? "" : student.getClassName();
+            byClass.computeIfAbsent(key, k -> new ArrayList<>()).add(student);
+        }
+        List<List<Student>> partitions = new ArrayList<>();
+        for (List<Student> group : byClass.values()) {
+            for (int from = 0; from < group.size(); from += LEAF_SIZE) {
+                partitions.add(group.subList(from, Math.min(group.size(), from + LEAF_SIZE)));
+            }
+        }
+        return partitions;
+    }
+
+    private final class ScanTask extends RecursiveTask<List<AtRiskStudent>> {
+        private final List<List<Student>> partitions;
+        private final int from;
+        private final int to;
+        private final Map<Integer, AttendanceBitmap> attendance;
+        private final Map<Integer, double[]> grades;
+        private final LocalDate asOf;
+
+        ScanTask(List<List<Student>> partitions, int from, int to, Map<Integer, AttendanceBitmap> attendance,
+                 Map<Integer, double[]> grades, LocalDate asOf) {
+            this.partitions = partitions;
+            this.from = from;
+            this.to = to;
+            this.attendance = attendance;
+            this.grades = grades;
+            this.asOf = asOf;
+        }
+
+        @Override
+        protected List<AtRiskStudent> compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                ScanTask left = new ScanTask(partitions, from, mid, attendance, grades, asOf);
+                left.fork();
+                List<AtRiskStudent> right = new ScanTask(partitions, mid, to, attendance, grades, asOf).compute();
+                List<AtRiskStudent> merged = left.join();
+                merged.addAll(right);
+                return merged;
+            }
+            List<AtRiskStudent> flagged = new ArrayList<>();
+            if (from < to) {
+                for (Student student : partitions.get(from)) {
+                    AtRiskStudent result = assess(student, attendance.get(student.getId()), grades.get(student.getId()), asOf);
+                    if (result != null) {
+                        flagged.add(result);
+                    }
+                }
+            }
+            return flagged;
+        }
+    }
+}
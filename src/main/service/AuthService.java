@@ -1,20 +1,75 @@
 package service;
 
+import config.AppConfig;
 import dao.UserDAO;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import model.Permission;
+import model.Session;
 import model.User;
-import utils.PasswordUtil;
 
 public class AuthService {
 
     private final UserDAO userDAO = new UserDAO();
+    private final PasswordHashingService hashing = PasswordHashingService.getInstance();
+    private final LoginThrottle throttle = LoginThrottle.getInstance();
+
+    // Identifies this workstation for per-terminal throttling
+    private static final String TERMINAL = resolveTerminal();
+
+    // Set by login, cleared by logout or once it has been idle too long
+    private static volatile Session currentSession;
 
     // ✅ CHECK IF USER IS ADMIN
     public boolean isAdmin(User user) {
-        if (user == null || user.getRole() == null) {
+        return hasPermission(user, Permission.ADMIN);
+    }
+
+    /**
+     * Uses the precomputed bits of the current session when it belongs to this user,
+     * otherwise derives them from the user's role
+     */
+    public boolean hasPermission(User user, Permission permission) {
+        if (user == null) {
             return false;
         }
-        String role = user.getRole().trim().toLowerCase();
-        return role.equals("admin") || role.equals("superadmin");
+        Session session = getCurrentSession();
+        if (session != null && session.getUserId() == user.getId()) {
+            return session.has(permission);
+        }
+        return permission.in(Permission.forRole(user.getRole()));
+    }
+
+    /**
+     * The active session, refreshed on each call, or null if nobody is logged in
+     * or the session has timed out
+     */
+    public static Session getCurrentSession() {
+        Session session = currentSession;
+        if (session == null) {
+            return null;
+        }
+        if (session.isExpired()) {
+            currentSession = null;
+            return null;
+        }
+        session.touch();
+        return session;
+    }
+
+    /**
+     * The current session if it belongs to user, otherwise a new one for user
+     */
+    public Session sessionFor(User user) {
+        Session session = getCurrentSession();
+        if (session != null && session.getUserId() == user.getId()) {
+            return session;
+        }
+        return new Session(user, AppConfig.getSessionTimeout() * 60_000L);
+    }
+
+    public static void logout() {
+        currentSession = null;
     }
 
     // ✅ REGISTER (STUDENT / TEACHER ONLY)
@@ -37,11 +92,7 @@ public class AuthService {
             return false;
         }
 
-        if (userDAO.existsByUsername(username)) {
-            return false;
-        }
-
-        if (userDAO.existsByEmail(email)) {
+        if (userDAO.existsByUsernameOrEmail(username, email)) {
             return false;
         }
 
@@ -51,7 +102,7 @@ public class AuthService {
             level = null;
         }
 
-        String hashedPassword = PasswordUtil.hash(password);
+        String hashedPassword = PasswordHashingService.await(hashing.hash(password));
 
         User user = new User();
         user.setUsername(username);
@@ -66,6 +117,7 @@ public class AuthService {
     }
 
     // ✅ LOGIN
+    // Throws LoginThrottle.ThrottledException while the username or this terminal is locked out
     public User login(String username, String password) {
 
         if (username == null || username.isEmpty()
@@ -73,18 +125,60 @@ public class AuthService {
             return null;
         }
 
-        User user = userDAO.findByUsername(username);
+        // Checked before any lookup or hashing so brute-force loops cost nothing
+        String userKey = LoginThrottle.userKey(username);
+        String terminalKey = LoginThrottle.terminalKey(TERMINAL);
+        throttle.check(userKey, terminalKey);
 
+        User user = authenticate(username, password);
         if (user == null) {
+            throttle.recordFailure(userKey, terminalKey);
             return null;
         }
+        throttle.reset(userKey);
 
-        boolean valid = PasswordUtil.verify(
+        // The windows get the session's profile copy, without the password hash
+        Session session = new Session(user, AppConfig.getSessionTimeout() * 60_000L);
+        currentSession = session;
+        return session.toUser();
+    }
+
+    private User authenticate(String username, String password) {
+
+        // Unknown usernames are rejected without a database round trip
+        if (!userDAO.mightExist(username)) {
+            return null;
+        }
+
+        User user = userDAO.findCredentialsByUsername(username);
+
+        if (user == null) {
+            return null;
+        }
+
+        boolean valid = PasswordHashingService.await(hashing.verify(
                 password,
                 user.getPassword()
-        );
+        ));
 
-        return valid ? user : null;
+        if (!valid) {
+            return null;
+        }
+
+        if (hashing.needsRehash(user.getPassword())) {
+            upgradePassword(user, password);
+        }
+        return user;
+    }
+
+    // Re-hash with the current work factor; a failure here must not block the login
+    private void upgradePassword(User user, String password) {
+        try {
+            String upgraded = PasswordHashingService.await(hashing.hash(password));
+            userDAO.updatePassword(user.getId(), upgraded);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
     }
 
     // ✅ RESET PASSWORD
@@ -98,8 +192,16 @@ public class AuthService {
             return false;
         }
 
-        String hashedPassword = PasswordUtil.hash(newPassword);
+        String hashedPassword = PasswordHashingService.await(hashing.hash(newPassword));
         user.setPassword(hashedPassword);
         return userDAO.updateUser(user);
     }
+
+    private static String resolveTerminal() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "local";
+        }
+    }
 }
@@ -0,0 +1,305 @@
+package service;
+
+import dao.ImportDAO;
+import dao.UserDAO;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import model.ImportResult;
+import utils.CsvReader;
+import utils.ExportFormat;
+import utils.PasswordUtil;
+import utils.Validator;
+
+/**
+ * Imports users, students or enrollments from a CSV file with a header row.
+ * Rows are validated in parallel, rows that fail are reported by line number,
+ * and the valid rest is loaded by ImportDAO in one transaction.
+ */
+public class BulkImportService {
+
+    public enum Kind {
+        USERS("Users", "username", "password", "role", "name", "email", "matricule", "level"),
+        STUDENTS("Students", "name", "matricule", "class_name", "dob", "email"),
+        ENROLLMENTS("Enrollments", "matricule", "course_code", "enrollment_date", "status");
+
+        private final String label;
+        private final String[] columns;
+
+        Kind(String label, String... columns) {
+            this.label = label;
+            this.columns = columns;
+        }
+
+        /** Expected header columns, in the order rows are passed to ImportDAO */
+        public String[] getColumns() {
+            return columns.clone();
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    // Bulk imports may not create administrators
+    private static final Set<String> IMPORT_ROLES = new HashSet<>(Arrays.asList("USER", "STUDENT", "TEACHER"));
+    private static final Set<String> ENROLLMENT_STATUSES = new HashSet<>(Arrays.asList("ACTIVE", "COMPLETED", "DROPPED"));
+
+    private final ImportDAO importDAO = new ImportDAO();
+
+    /**
+     * Import a file and write a "&lt;file&gt;.errors.csv" report next to it when rows were rejected
+     */
+    public ImportResult importFile(Kind kind, File file) throws IOException {
+        ImportResult result = new ImportResult();
+        List<Row> rows = read(kind, file, result);
+        result.setRowsRead(rows.size());
+
+        // Validation is independent per row, so it runs on all cores
+        List<Row> valid = rows.parallelStream()
+                .filter(row -> {
+                    String error = validate(kind, row.values);
+                    if (error != null) {
+                        result.addError(row.line, error);
+                    }
+                    return error == null;
+                })
+                .collect(Collectors.toList());
+        valid = dropDuplicates(kind, valid, result);
+
+        if (kind == Kind.USERS) {
+            hashPasswords(valid);
+        }
+
+        List<Object[]> staged = new ArrayList<>(valid.size());
+        for (Row row : valid) {
+            staged.add(stage(row));
+        }
+        switch (kind) {
+            case USERS:
+                importDAO.importUsers(staged, result);
+                UserDAO.rebuildUsernameFilter();
+                break;
+            case STUDENTS:
+                importDAO.importStudents(staged, result);
+                break;
+            case ENROLLMENTS:
+                importDAO.importEnrollments(staged, result);
+                break;
+        }
+        if (result.getImported() > 0) {
+            DashboardStatsService.invalidate();
+        }
+
+        if (!result.getErrors().isEmpty()) {
+            File report = new File(file.getPath() + ".errors.csv");
+            if (writeErrorReport(report, result)) {
+                result.setErrorReport(report);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reason the row cannot be imported, or null if it is valid
+     */
+    static String validate(Kind kind, String[] v) {
+        switch (kind) {
+            case USERS:
+                if (Validator.isNullOrEmpty(v[0])) return "username is required";
+                if (!Validator.isValidPassword(v[1])) return "password must be at least 6 characters";
+                if (!IMPORT_ROLES.contains(v[2])) return "role must be one of " + IMPORT_ROLES;
+                if (v[4] != null && !Validator.isValidEmail(v[4])) return "invalid email " + v[4];
+                return null;
+            case STUDENTS:
+                if (Validator.isNullOrEmpty(v[0])) return "name is required";
+                if (Validator.isNullOrEmpty(v[1])) return "matricule is required";
+                if (v[3] != null && !isDate(v[3])) return "dob must be a date (yyyy-mm-dd)";
+                if (v[4] != null && !Validator.isValidEmail(v[4])) return "invalid email " + v[4];
+                return null;
+            case ENROLLMENTS:
+                if (Validator.isNullOrEmpty(v[0])) return "matricule is required";
+                if (Validator.isNullOrEmpty(v[1])) return "course_code is required";
+                if (v[2] != null && !isDate(v[2])) return "enrollment_date must be a date (yyyy-mm-dd)";
+                if (v[3] != null && !ENROLLMENT_STATUSES.contains(v[3])) return "status must be one of " + ENROLLMENT_STATUSES;
+                return null;
+            default:
+                return "unknown import kind";
+        }
+    }
+
+    private static boolean isDate(String value) {
+        if (!Validator.isValidDate(value)) {
+            return false;
+        }
+        try {
+            LocalDate.parse(value);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static List<Row> read(Kind kind, File file, ImportResult result) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+             CsvReader csv = new CsvReader(in)) {
+            String[] header = csv.readRecord();
+            if (header == null) {
+                return rows;
+            }
+            int[] positions = mapColumns(kind, header);
+
+            String[] record;
+            while ((record = csv.readRecord()) != null) {
+                String[] values = new String[positions.length];
+                for (int i = 0; i < positions.length; i++) {
+                    int p = positions[i];
+                    String value = p >= 0 && p < record.length ? record[p].trim() : "";
+                    values[i] = value.isEmpty() ? null : value;
+                }
+                normalize(kind, values);
+                rows.add(new Row(csv.getRecordLine(), values));
+            }
+        }
+        return rows;
+    }
+
+    // Position of each expected column in the file's header, -1 for optional columns that are absent
+    private static int[] mapColumns(Kind kind, String[] header) throws IOException {
+        Map<String, Integer> byName = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            byName.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+        }
+        String[] columns = kind.columns;
+        int[] positions = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            Integer p = byName.get(columns[i]);
+            if (p == null && isRequired(kind, i)) {
+                throw new IOException("Missing column \"" + columns[i] + "\". Expected header: "
+                        + String.join(",", columns));
+            }
+            positions[i] = p == null ? -1 : p;
+        }
+        return positions;
+    }
+
+    private static boolean isRequired(Kind kind, int column) {
+        switch (kind) {
+            case USERS:
+                return column <= 2;
+            case STUDENTS:
+            case ENROLLMENTS:
+                return column <= 1;
+            default:
+                return false;
+        }
+    }
+
+    private static void normalize(Kind kind, String[] values) {
+        if (kind == Kind.USERS && values[2] != null) {
+            values[2] = values[2].toUpperCase(Locale.ROOT);
+        } else if (kind == Kind.ENROLLMENTS && values[3] != null) {
+            values[3] = values[3].toUpperCase(Locale.ROOT);
+        }
+    }
+
+    // The database only reports clashes with existing rows, so clashes inside the file are caught here
+    private static List<Row> dropDuplicates(Kind kind, List<Row> rows, ImportResult result) {
+        Map<String, Integer> seen = new HashMap<>();
+        List<Row> unique = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            String clash = null;
+            for (String key : uniqueKeys(kind, row.values)) {
+                Integer first = seen.putIfAbsent(key, row.line);
+                if (first != null && clash == null) {
+                    clash = key.substring(0, key.indexOf(':')) + " repeats line " + first;
+                }
+            }
+            if (clash != null) {
+                result.addError(row.line, clash);
+            } else {
+                unique.add(row);
+            }
+        }
+        return unique;
+    }
+
+    private static List<String> uniqueKeys(Kind kind, String[] v) {
+        List<String> keys = new ArrayList<>(3);
+        switch (kind) {
+            case USERS:
+                keys.add("username:" + v[0]);
+                if (v[4] != null) keys.add("email:" + v[4].toLowerCase(Locale.ROOT));
+                if (v[5] != null) keys.add("matricule:" + v[5]);
+                break;
+            case STUDENTS:
+                keys.add("matricule:" + v[1]);
+                if (v[4] != null) keys.add("email:" + v[4].toLowerCase(Locale.ROOT));
+                break;
+            case ENROLLMENTS:
+                keys.add("enrollment:" + v[0] + "/" + v[1]);
+                break;
+        }
+        return keys;
+    }
+
+    /**
+     * Initial passwords get the minimum work factor so an intake of thousands loads in
+     * seconds; login upgrades each hash to the current work factor on first use.
+     */
+    private static void hashPasswords(List<Row> rows) {
+        List<String> passwords = rows.stream().map(row -> row.values[1]).collect(Collectors.toList());
+        List<String> hashes = PasswordHashingService.await(
+                PasswordHashingService.getInstance().hashAll(passwords, PasswordUtil.MIN_ITERATIONS));
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).values[1] = hashes.get(i);
+        }
+    }
+
+    private static Object[] stage(Row row) {
+        Object[] staged = new Object[row.values.length + 1];
+        staged[0] = row.line;
+        System.arraycopy(row.values, 0, staged, 1, row.values.length);
+        return staged;
+    }
+
+    private static boolean writeErrorReport(File report, ImportResult result) {
+        String[] columns = { "line", "error" };
+        try (BufferedWriter out = Files.newBufferedWriter(report.toPath(), StandardCharsets.UTF_8)) {
+            ExportFormat.CSV.writeHeader(out, columns);
+            for (ImportResult.RowError error : result.getErrors()) {
+                ExportFormat.CSV.writeRow(out, columns, new Object[] { error.getLine(), error.getMessage() });
+            }
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private static final class Row {
+        final int line;
+        final String[] values;
+
+        Row(int line, String[] values) {
+            this.line = line;
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package service;
+
+import config.AppConfig;
+import dao.AttendanceBitmapDAO;
+import dao.DashboardStatsDAO;
+import java.time.LocalDate;
+import model.DashboardStats;
+
+public class DashboardStatsService {
+
+    private final DashboardStatsDAO statsDAO = new DashboardStatsDAO();
+    private final AttendanceBitmapDAO attendanceBitmapDAO = new AttendanceBitmapDAO();
+
+    // Shared by every dashboard window
+    private static volatile DashboardStats cachedStats;
+    private static volatile long cachedAt;
+
+    /**
+     * Get dashboard counters, reusing the last result for app.dashboard.stats.ttl seconds
+     */
+    public DashboardStats getStats() {
+        long ttlMillis = AppConfig.getDashboardStatsTtl() * 1000L;
+        DashboardStats stats = cachedStats;
+        if (stats != null && ttlMillis > 0 && System.currentTimeMillis() - cachedAt < ttlMillis) {
+            return stats;
+        }
+
+        stats = statsDAO.getStats();
+        LocalDate today = LocalDate.now();
+        stats.setAttendanceRate(attendanceBitmapDAO.getInstitutionRate(AttendanceBitmapDAO.termStartOf(today), today));
+        cachedStats = stats;
+        cachedAt = System.currentTimeMillis();
+        return stats;
+    }
+
+    /**
+     * Force the next getStats() call to hit the database
+     */
+    public static void invalidate() {
+        cachedStats = null;
+    }
+}
@@ -0,0 +1,191 @@
+package service;
+
+import config.AppConfig;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts failed logins per username and per terminal over a sliding window, so a
+ * brute-force loop is stopped before it reaches the (deliberately slow) password check.
+ * Once a key has used up its attempts it is locked out, and each further failure
+ * doubles the lockout up to a maximum.
+ */
+public class LoginThrottle {
+
+    /**
+     * Thrown instead of checking the password while a username or terminal is locked out
+     */
+    public static class ThrottledException extends RuntimeException {
+        private final long retryAfterMillis;
+
+        public ThrottledException(long retryAfterMillis) {
+            super("Too many failed login attempts. Try again in " + ((retryAfterMillis + 999) / 1000) + " seconds.");
+            this.retryAfterMillis = retryAfterMillis;
+        }
+
+        public long getRetryAfterMillis() {
+            return retryAfterMillis;
+        }
+    }
+
+    private static final int BUCKETS = 10;
+
+    private static final LoginThrottle INSTANCE = new LoginThrottle(
+            AppConfig.getMaxLoginAttempts(),
+            AppConfig.getLoginWindowSeconds() * 1000L,
+            AppConfig.getLoginLockoutSeconds() * 1000L,
+            AppConfig.getLoginLockoutMaxSeconds() * 1000L,
+            AppConfig.getLoginThrottleMaxEntries(),
+            System::currentTimeMillis);
+
+    private final int maxAttempts;
+    private final long windowMillis;
+    private final long bucketMillis;
+    private final long lockoutMillis;
+    private final long maxLockoutMillis;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public LoginThrottle(int maxAttempts, long windowMillis, long lockoutMillis, long maxLockoutMillis,
+                         int maxEntries, LongSupplier clock) {
+        this.maxAttempts = maxAttempts;
+        this.windowMillis = Math.max(BUCKETS, windowMillis);
+        this.bucketMillis = this.windowMillis / BUCKETS;
+        this.lockoutMillis = lockoutMillis;
+        this.maxLockoutMillis = Math.max(lockoutMillis, maxLockoutMillis);
+        this.maxEntries = Math.max(1, maxEntries);
+        this.clock = clock;
+    }
+
+    public static LoginThrottle getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Milliseconds until any of the keys may try again, or 0 if none is locked out
+     */
+    public long getRetryAfterMillis(String... keys) {
+        if (maxAttempts <= 0) {
+            return 0;
+        }
+        long now = clock.getAsLong();
+        long wait = 0;
+        for (String key : keys) {
+            Window window = windows.get(key);
+            if (window != null) {
+                wait = Math.max(wait, window.retryAfter(now, limitFor(key)));
+            }
+        }
+        return wait;
+    }
+
+    /**
+     * Throw ThrottledException if any of the keys is locked out
+     */
+    public void check(String... keys) {
+        long wait = getRetryAfterMillis(keys);
+        if (wait > 0) {
+            throw new ThrottledException(wait);
+        }
+    }
+
+    public void recordFailure(String... keys) {
+        if (maxAttempts <= 0) {
+            return;
+        }
+        long now = clock.getAsLong();
+        for (String key : keys) {
+            windows.computeIfAbsent(key, k -> new Window()).record(now);
+        }
+        if (windows.size() > maxEntries) {
+            evict(now);
+        }
+    }
+
+    /**
+     * Forget failures for a key, e.g. the username after a successful login
+     */
+    public void reset(String key) {
+        windows.remove(key);
+    }
+
+    public static String userKey(String username) {
+        return "user:" + username;
+    }
+
+    public static String terminalKey(String terminal) {
+        return "terminal:" + terminal;
+    }
+
+    public int size() {
+        return windows.size();
+    }
+
+    // A terminal is shared by many users, so it gets more room before locking
+    private int limitFor(String key) {
+        return key.startsWith("terminal:") ? maxAttempts * 5 : maxAttempts;
+    }
+
+    private void evict(long now) {
+        // Drop idle keys first, then arbitrary ones until back under the bound
+        windows.entrySet().removeIf(e -> now - e.getValue().lastFailureAt >= windowMillis + maxLockoutMillis);
+        Iterator<Map.Entry<String, Window>> it = windows.entrySet().iterator();
+        while (windows.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    /**
+     * Failure counts in BUCKETS time slices; a slice is reused once its period has passed
+     */
+    private final class Window {
+        private final AtomicLongArray periods = new AtomicLongArray(BUCKETS);
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private volatile long lastFailureAt;
+
+        void record(long now) {
+            long period = now / bucketMillis;
+            int slot = (int) (period % BUCKETS);
+            while (true) {
+                long current = periods.get(slot);
+                if (current == period) {
+                    counts.incrementAndGet(slot);
+                    break;
+                }
+                // First failure in a new period claims the slot and restarts its count
+                if (periods.compareAndSet(slot, current, period)) {
+                    counts.set(slot, 1);
+                    break;
+                }
+            }
+            lastFailureAt = now;
+        }
+
+        long failures(long now) {
+            long oldest = now / bucketMillis - BUCKETS + 1;
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                if (periods.get(i) >= oldest) {
+                    total += counts.get(i);
+                }
+            }
+            return total;
+        }
+
+        long retryAfter(long now, int limit) {
+            long excess = failures(now) - limit;
+            if (excess < 0) {
+                return 0;
+            }
+            long lockout = lockoutMillis << Math.min(excess, 20);
+            lockout = Math.min(maxLockoutMillis, lockout);
+            return Math.max(0, lastFailureAt + lockout - now);
+        }
+    }
+}
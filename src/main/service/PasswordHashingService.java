@@ -0,0 +1,181 @@
+package service;
+
+import config.AppConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import utils.PasswordUtil;
+
+/**
+ * Runs PasswordUtil hashing and verification on a small dedicated pool so a burst of
+ * logins cannot occupy every core. Requests beyond the queue limit are rejected
+ * straight away instead of piling up behind each other.
+ */
+public class PasswordHashingService {
+
+    private static final PasswordHashingService INSTANCE = new PasswordHashingService(
+            AppConfig.getPasswordHashThreads(), AppConfig.getPasswordHashQueueSize());
+
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong completed = new AtomicLong(); // hashes and verifications, not tasks
+    private final AtomicLong tasks = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong hashNanos = new AtomicLong();
+    private final AtomicLong queueWaitNanos = new AtomicLong();
+    private final long startedAt = System.nanoTime();
+
+    public PasswordHashingService(int threads, int queueSize) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), r -> {
+                    Thread t = new Thread(r, "password-hash-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static PasswordHashingService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Apply security.password.iterations and, when security.password.target.ms is set,
+     * benchmark this machine in the background and raise the work factor to meet it.
+     */
+    public void calibrate() {
+        PasswordUtil.setIterations(AppConfig.getPasswordIterations());
+        long targetMillis = AppConfig.getPasswordTargetMillis();
+        if (targetMillis <= 0) {
+            return;
+        }
+        CompletableFuture.supplyAsync(() -> PasswordUtil.calibrate(targetMillis), executor)
+                .whenComplete((calibrated, error) -> {
+                    if (error != null) {
+                        error.printStackTrace();
+                        return;
+                    }
+                    PasswordUtil.setIterations(Math.max(AppConfig.getPasswordIterations(), calibrated));
+                    System.out.println("Password hashing uses " + PasswordUtil.getIterations() + " PBKDF2 iterations");
+                });
+    }
+
+    /**
+     * Whether a stored hash should be replaced after the next successful login
+     */
+    public boolean needsRehash(String stored) {
+        return PasswordUtil.needsRehash(stored);
+    }
+
+    /**
+     * Hash a new password with the current work factor
+     */
+    public CompletableFuture<String> hash(String password) {
+        return submit(() -> PasswordUtil.hash(password));
+    }
+
+    /**
+     * Hash many passwords for a bulk import. The list is split into one task per pool
+     * thread, so a large import uses the whole pool without overflowing its queue.
+     */
+    public CompletableFuture<List<String>> hashAll(List<String> passwords, int iterations) {
+        int chunks = Math.max(1, Math.min(passwords.size(), executor.getMaximumPoolSize()));
+        int chunkSize = Math.max(1, (passwords.size() + chunks - 1) / chunks);
+        List<CompletableFuture<List<String>>> parts = new ArrayList<>();
+        for (int from = 0; from < passwords.size(); from += chunkSize) {
+            List<String> chunk = passwords.subList(from, Math.min(passwords.size(), from + chunkSize));
+            parts.add(submit(() -> {
+                List<String> hashes = new ArrayList<>(chunk.size());
+                for (String password : chunk) {
+                    hashes.add(PasswordUtil.hash(password, iterations));
+                }
+                return hashes;
+            }, chunk.size()));
+        }
+        return CompletableFuture.allOf(parts.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<String> hashes = new ArrayList<>(passwords.size());
+            for (CompletableFuture<List<String>> part : parts) {
+                hashes.addAll(part.join());
+            }
+            return hashes;
+        });
+    }
+
+    /**
+     * Check a password against a stored hash
+     */
+    public CompletableFuture<Boolean> verify(String password, String stored) {
+        return submit(() -> PasswordUtil.verify(password, stored));
+    }
+
+    /**
+     * Wait for a result from a background thread, unwrapping the failure cause.
+     * Must not be called on the Event Dispatch Thread.
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Throughput and queueing summary for logs and diagnostics
+     */
+    public String getStats() {
+        long done = completed.get();
+        double elapsedSec = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        double perSec = elapsedSec > 0 ? done / elapsedSec : 0;
+        double avgHashMs = done == 0 ? 0 : hashNanos.get() / 1_000_000.0 / done;
+        long ran = tasks.get();
+        double avgWaitMs = ran == 0 ? 0 : queueWaitNanos.get() / 1_000_000.0 / ran;
+        return String.format("completed=%d rejected=%d queued=%d hashesPerSec=%.1f avgHashMs=%.1f avgQueueWaitMs=%.1f",
+                done, rejected.get(), executor.getQueue().size(), perSec, avgHashMs, avgWaitMs);
+    }
+
+    private <T> CompletableFuture<T> submit(Callable<T> work) {
+        return submit(work, 1);
+    }
+
+    /**
+     * Run work on the pool; hashes is how many passwords it hashes or verifies, for the stats
+     */
+    private <T> CompletableFuture<T> submit(Callable<T> work, int hashes) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                long started = System.nanoTime();
+                queueWaitNanos.addAndGet(started - queuedAt);
+                try {
+                    future.complete(work.call());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    hashNanos.addAndGet(System.nanoTime() - started);
+                    completed.addAndGet(hashes);
+                    tasks.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            future.completeExceptionally(
+                    new RejectedExecutionException("Too many sign-in requests at once, please try again in a moment", e));
+        }
+        return future;
+    }
+}
@@ -0,0 +1,30 @@
+package service;
+
+/**
+ * One kind of report the ReportService can produce. The aggregation runs entirely in
+ * PostgreSQL: getQuery() returns one row per report line, and the service joins those
+ * lines into the stored report without loading the underlying rows into the client.
+ */
+public interface ReportGenerator {
+
+    /**
+     * Name shown in the report type list and stored in reports.report_type
+     */
+    String getReportType();
+
+    /**
+     * Admin dashboard section this report belongs to, e.g. ENROLLMENT or FINANCIAL
+     */
+    String getCategory();
+
+    /**
+     * Column names, tab-separated
+     */
+    String getHeader();
+
+    /**
+     * SQL selecting a text column "line" (tab-separated values matching getHeader())
+     * and a column "sort_key" that orders the lines
+     */
+    String getQuery();
+}
@@ -0,0 +1,146 @@
+package service;
+
+import dao.ReportDAO;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import model.Report;
+
+/**
+ * Generates reports from the registered ReportGenerators. Report data is stored as a
+ * header line followed by one tab-separated line per row.
+ */
+public class ReportService {
+
+    private static final Map<String, ReportGenerator> GENERATORS = new LinkedHashMap<>();
+
+    static {
+        register(new SqlReport("Enrollment by Department", "ENROLLMENT",
+                "Department\tEnrollments\tActive\tCompleted\tDropped\tStudents",
+                "SELECT COALESCE(d.department_name, 'Unassigned') AS sort_key, " +
+                "concat_ws(E'\\t', COALESCE(d.department_name, 'Unassigned'), COUNT(*), " +
+                "COUNT(*) FILTER (WHERE e.status = 'ACTIVE'), COUNT(*) FILTER (WHERE e.status = 'COMPLETED'), " +
+                "COUNT(*) FILTER (WHERE e.status = 'DROPPED'), COUNT(DISTINCT e.student_id)) AS line " +
+                "FROM enrollments e JOIN courses c ON c.id = e.course_id " +
+                "LEFT JOIN departments d ON d.id = c.department_id " +
+                "GROUP BY d.department_name"));
+
+        register(new SqlReport("Fee Collection", "FINANCIAL",
+                "Fee Type\tFees\tBilled\tCollected\tOutstanding\tCollected %\tPaid\tOverdue",
+                "SELECT fee_type AS sort_key, " +
+                "concat_ws(E'\\t', fee_type, COUNT(*), SUM(amount), SUM(paid_amount), SUM(amount - paid_amount), " +
+                "ROUND(100.0 * SUM(paid_amount) / SUM(amount), 1), COUNT(*) FILTER (WHERE status = 'PAID'), " +
+                "COUNT(*) FILTER (WHERE status <> 'PAID' AND due_date < CURRENT_DATE)) AS line " +
+                "FROM fees GROUP BY fee_type"));
+
+        register(new SqlReport("Attendance Rates", "ATTENDANCE",
+                "Month\tRecords\tPresent\tAbsent\tAttendance %\tStudents",
+                "SELECT date_trunc('month', attendance_date) AS sort_key, " +
+                "concat_ws(E'\\t', to_char(date_trunc('month', attendance_date), 'YYYY-MM'), COUNT(*), " +
+                "COUNT(*) FILTER (WHERE present), COUNT(*) FILTER (WHERE NOT present), " +
+                "ROUND(100.0 * COUNT(*) FILTER (WHERE present) / COUNT(*), 1), COUNT(DISTINCT student_id)) AS line " +
+                "FROM attendance GROUP BY date_trunc('month', attendance_date)"));
+
+        register(new SqlReport("Grade Distribution", "STUDENT",
+                "Course Code\tCourse\tGraded\tAverage\t90-100\t80-89\t70-79\t60-69\tBelow 60",
+                "SELECT c.course_code AS sort_key, " +
+                "concat_ws(E'\\t', c.course_code, c.course_name, COUNT(*), ROUND(AVG(e.grade), 1), " +
+                "COUNT(*) FILTER (WHERE e.grade >= 90), COUNT(*) FILTER (WHERE e.grade >= 80 AND e.grade < 90), " +
+                "COUNT(*) FILTER (WHERE e.grade >= 70 AND e.grade < 80), COUNT(*) FILTER (WHERE e.grade >= 60 AND e.grade < 70), " +
+                "COUNT(*) FILTER (WHERE e.grade < 60)) AS line " +
+                "FROM enrollments e JOIN courses c ON c.id = e.course_id " +
+                "WHERE e.grade IS NOT NULL GROUP BY c.id, c.course_code, c.course_name"));
+
+        register(new SqlReport("Teaching Load", "TEACHER",
+                "Instructor\tCourses\tWeekly Sessions\tWeekly Hours",
+                "SELECT COALESCE(t.instructor, 'Unassigned') AS sort_key, " +
+                "concat_ws(E'\\t', COALESCE(t.instructor, 'Unassigned'), COUNT(DISTINCT t.course_id), COUNT(*), " +
+                "ROUND(SUM(EXTRACT(EPOCH FROM (t.end_time - t.start_time))) / 3600.0, 1)) AS line " +
+                "FROM timetables t GROUP BY t.instructor"));
+    }
+
+    private final ReportDAO reportDAO = new ReportDAO();
+
+    /**
+     * Add a report type; a generator with the same report type replaces the old one
+     */
+    public static synchronized void register(ReportGenerator generator) {
+        GENERATORS.put(generator.getReportType(), generator);
+    }
+
+    public static synchronized List<String> getReportTypes() {
+        return new ArrayList<>(GENERATORS.keySet());
+    }
+
+    /**
+     * First report type in a dashboard category, or null if there is none
+     */
+    public static synchronized String getReportTypeForCategory(String category) {
+        for (ReportGenerator generator : GENERATORS.values()) {
+            if (generator.getCategory().equalsIgnoreCase(category)) {
+                return generator.getReportType();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Run the report in the database and store it; returns the new report's id, or 0 on failure
+     */
+    public int generate(String reportType, String title, String description, String generatedBy) {
+        ReportGenerator generator;
+        synchronized (ReportService.class) {
+            generator = GENERATORS.get(reportType);
+        }
+        if (generator == null) {
+            throw new IllegalArgumentException("Unknown report type: " + reportType);
+        }
+
+        Report report = new Report();
+        report.setReportType(generator.getReportType());
+        report.setTitle(title);
+        report.setDescription(description);
+        report.setGeneratedDate(LocalDate.now());
+        report.setGeneratedBy(generatedBy);
+        return reportDAO.addGeneratedReport(report, generator.getHeader(), generator.getQuery());
+    }
+
+    /**
+     * Generator defined by a fixed aggregate query
+     */
+    private static final class SqlReport implements ReportGenerator {
+        private final String reportType;
+        private final String category;
+        private final String header;
+        private final String query;
+
+        SqlReport(String reportType, String category, String header, String query) {
+            this.reportType = reportType;
+            this.category = category;
+            this.header = header;
+            this.query = query;
+        }
+
+        @Override
+        public String getReportType() {
+            return reportType;
+        }
+
+        @Override
+        public String getCategory() {
+            return category;
+        }
+
+        @Override
+        public String getHeader() {
+            return header;
+        }
+
+        @Override
+        public String getQuery() {
+            return query;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package service;
+
+import dao.AnnouncementDAO;
+import dao.AttendanceBitmapDAO;
+import dao.AttendanceDAO;
+import dao.EnrollmentDAO;
+import dao.FeeDAO;
+import dao.StudentDAO;
+import dao.TimetableDAO;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import model.Announcement;
+import model.Attendance;
+import model.Enrollment;
+import model.Fee;
+import model.Student;
+import model.Timetable;
+import model.Transcript;
+import model.User;
+import utils.AttendanceBitmap;
+
+/**
+ * Loads everything the student portal shows for one logged-in student.
+ * Each query is started once, concurrently with the others, and its result is
+ * shared by every tab that needs it (e.g. enrollments feed My Courses, Grades
+ * and the transcript).
+ */
+public class StudentPortalService {
+
+    private final User user;
+    private final Executor executor;
+
+    private final StudentDAO studentDAO = new StudentDAO();
+    private final EnrollmentDAO enrollmentDAO = new EnrollmentDAO();
+    private final AttendanceDAO attendanceDAO = new AttendanceDAO();
+    private final AttendanceBitmapDAO attendanceBitmapDAO = new AttendanceBitmapDAO();
+    private final FeeDAO feeDAO = new FeeDAO();
+    private final AnnouncementDAO announcementDAO = new AnnouncementDAO();
+    private final TimetableDAO timetableDAO = new TimetableDAO();
+    private final TranscriptService transcriptService = new TranscriptService();
+
+    // Started lazily, then reused for the rest of the session
+    private CompletableFuture<Integer> studentId;
+    private CompletableFuture<List<Enrollment>> enrollments;
+    private CompletableFuture<List<Attendance>> attendance;
+    private CompletableFuture<AttendanceBitmap> attendanceBitmap;
+    private CompletableFuture<Transcript> transcript;
+    private CompletableFuture<List<Fee>> fees;
+    private CompletableFuture<List<Announcement>> announcements;
+    private CompletableFuture<List<Timetable>> timetables;
+
+    public StudentPortalService(User user, Executor executor) {
+        this.user = user;
+        this.executor = executor;
+    }
+
+    /**
+     * Start every portal query at once so they run in parallel
+     */
+    public void preload() {
+        getEnrollments();
+        getAttendance();
+        getFees();
+        getAnnouncements();
+        getTimetables();
+    }
+
+    /**
+     * Student record id of the logged-in user, or 0 if the user has no student record
+     */
+    public synchronized CompletableFuture<Integer> getStudentId() {
+        if (studentId == null) {
+            studentId = CompletableFuture.supplyAsync(() -> {
+                Student student = user.getEmail() != null ? studentDAO.getStudentByEmail(user.getEmail()) : null;
+                return student != null ? student.getId() : 0;
+            }, executor);
+        }
+        return studentId;
+    }
+
+    public synchronized CompletableFuture<List<Enrollment>> getEnrollments() {
+        if (enrollments == null) {
+            enrollments = forStudent(enrollmentDAO::getEnrollmentsByStudent);
+        }
+        return enrollments;
+    }
+
+    public synchronized CompletableFuture<List<Attendance>> getAttendance() {
+        if (attendance == null) {
+            attendance = forStudent(attendanceDAO::getAttendanceByStudent);
+        }
+        return attendance;
+    }
+
+    /**
+     * This school year's attendance as a bitmap, for rates and streaks
+     */
+    public synchronized CompletableFuture<AttendanceBitmap> getAttendanceBitmap() {
+        if (attendanceBitmap == null) {
+            LocalDate termStart = AttendanceBitmapDAO.termStartOf(LocalDate.now());
+            attendanceBitmap = getStudentId().thenApplyAsync(id -> id > 0
+                    ? attendanceBitmapDAO.getBitmap(id, termStart)
+                    : new AttendanceBitmap(termStart), executor);
+        }
+        return attendanceBitmap;
+    }
+
+    /**
+     * Courses with GPAs and class rank, or null if the user has no student record
+     */
+    public synchronized CompletableFuture<Transcript> getTranscript() {
+        if (transcript == null) {
+            transcript = getStudentId().thenApplyAsync(
+                    id -> id > 0 ? transcriptService.getTranscript(id) : null, executor);
+        }
+        return transcript;
+    }
+
+    public synchronized CompletableFuture<List<Fee>> getFees() {
+        if (fees == null) {
+            fees = forStudent(feeDAO::getFeesByStudent);
+        }
+        return fees;
+    }
+
+    public synchronized CompletableFuture<List<Announcement>> getAnnouncements() {
+        if (announcements == null) {
+            announcements = load(() -> announcementDAO.getAnnouncementsForAudience("STUDENT"));
+        }
+        return announcements;
+    }
+
+    public synchronized CompletableFuture<List<Timetable>> getTimetables() {
+        if (timetables == null) {
+            timetables = forStudent(timetableDAO::getTimetablesForStudent);
+        }
+        return timetables;
+    }
+
+    /**
+     * Drop the cached results so the next call reloads from the database
+     */
+    public synchronized void refresh() {
+        enrollments = null;
+        attendance = null;
+        attendanceBitmap = null;
+        transcript = null;
+        fees = null;
+        announcements = null;
+        timetables = null;
+    }
+
+    private <T> CompletableFuture<List<T>> load(Supplier<List<T>> query) {
+        return CompletableFuture.supplyAsync(query, executor);
+    }
+
+    private <T> CompletableFuture<List<T>> forStudent(IntFunction<List<T>> query) {
+        return getStudentId().thenApplyAsync(
+                id -> id > 0 ? query.apply(id) : Collections.<T>emptyList(), executor);
+    }
+}
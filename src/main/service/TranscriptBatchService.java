@@ -0,0 +1,376 @@
+package service;
+
+import config.AppConfig;
+import dao.TranscriptDAO;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+import model.Transcript;
+
+/**
+ * Writes transcripts for a class, a department or every student, either as one text
+ * file per student in a folder or as entries of a single zip. A small worker pool
+ * loads students a chunk at a time with one query per chunk, so only the chunks in
+ * flight are ever in memory.
+ *
+ * Runs can be resumed. Folder files are written under a temporary name and renamed
+ * once complete; zip entries that were fully written before an interruption are
+ * copied into the new archive. Only the missing students are generated again.
+ */
+public class TranscriptBatchService {
+
+    public enum Scope { CLASS, DEPARTMENT, INSTITUTION }
+
+    /**
+     * Told how many students are finished (written, skipped or failed) out of the total
+     */
+    public interface Listener {
+        void progress(int done, int total);
+
+        default boolean isCancelled() {
+            return false;
+        }
+    }
+
+    /**
+     * Counts for one run; failed students can be picked up by resuming
+     */
+    public static class Result {
+        private final int total;
+        private int skipped;
+        private final AtomicInteger written = new AtomicInteger();
+        private final List<Integer> failed = Collections.synchronizedList(new ArrayList<>());
+        private boolean cancelled;
+        private long elapsedMillis;
+
+        Result(int total) {
+            this.total = total;
+        }
+
+        public int getTotal() { return total; }
+
+        public int getSkipped() { return skipped; }
+
+        public int getWritten() { return written.get(); }
+
+        public List<Integer> getFailed() {
+            synchronized (failed) {
+                List<Integer> ids = new ArrayList<>(failed);
+                Collections.sort(ids);
+                return ids;
+            }
+        }
+
+        public boolean isCancelled() { return cancelled; }
+
+        public long getElapsedMillis() { return elapsedMillis; }
+    }
+
+    private static final Pattern ENTRY_NAME = Pattern.compile("transcript-(\\d+)\\.txt");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int threads;
+    private final int chunkSize;
+    private final Function<List<Integer>, List<Transcript>> loader;
+    private final TranscriptDAO transcriptDAO = new TranscriptDAO();
+
+    public TranscriptBatchService() {
+        this(AppConfig.getTranscriptBatchThreads(), AppConfig.getTranscriptBatchSize(),
+                new TranscriptService()::getTranscripts);
+    }
+
+    /**
+     * loader returns the summarized transcripts of a chunk of student ids
+     */
+    public TranscriptBatchService(int threads, int chunkSize, Function<List<Integer>, List<Transcript>> loader) {
+        this.threads = Math.max(1, threads);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.loader = loader;
+    }
+
+    /**
+     * Students in scope. filter is the class name for CLASS and the department id for DEPARTMENT.
+     */
+    public List<Integer> selectStudents(Scope scope, String filter) {
+        switch (scope) {
+            case CLASS:
+                return transcriptDAO.getStudentIdsByClass(filter);
+            case DEPARTMENT:
+                return transcriptDAO.getStudentIdsByDepartment(Integer.parseInt(filter));
+            default:
+                return transcriptDAO.getAllStudentIds();
+        }
+    }
+
+    public Result generate(Scope scope, String filter, Path output, boolean resume, Listener listener)
+            throws IOException, InterruptedException {
+        return generate(selectStudents(scope, filter), output, resume, listener);
+    }
+
+    /**
+     * Write the students' transcripts to output: one zip if its name ends in .zip,
+     * otherwise a folder. With resume, students already in the output are skipped.
+     */
+    public Result generate(List<Integer> studentIds, Path output, boolean resume, Listener listener)
+            throws IOException, InterruptedException {
+        long started = System.currentTimeMillis();
+        Result result = new Result(studentIds.size());
+
+        try (Sink sink = output.getFileName().toString().toLowerCase().endsWith(".zip")
+                ? new ZipSink(output) : new DirectorySink(output)) {
+            Set<Integer> done = sink.open(resume);
+            List<Integer> pending = new ArrayList<>();
+            for (Integer id : studentIds) {
+                if (done.contains(id)) {
+                    result.skipped++;
+                } else {
+                    pending.add(id);
+                }
+            }
+            AtomicInteger finished = new AtomicInteger(result.skipped);
+            listener.progress(finished.get(), result.total);
+
+            List<Callable<Void>> chunks = new ArrayList<>();
+            for (int from = 0; from < pending.size(); from += chunkSize) {
+                List<Integer> chunk = pending.subList(from, Math.min(pending.size(), from + chunkSize));
+                chunks.add(() -> {
+                    writeChunk(chunk, sink, result, listener, finished);
+                    return null;
+                });
+            }
+
+            ExecutorService pool = createPool();
+            try {
+                for (Future<Void> chunk : pool.invokeAll(chunks)) {
+                    try {
+                        chunk.get();
+                    } catch (ExecutionException e) {
+                        e.getCause().printStackTrace();
+                    }
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        result.cancelled = listener.isCancelled();
+        result.elapsedMillis = System.currentTimeMillis() - started;
+        return result;
+    }
+
+    private void writeChunk(List<Integer> chunk, Sink sink, Result result, Listener listener, AtomicInteger finished) {
+        if (listener.isCancelled()) {
+            return;
+        }
+        Map<Integer, Transcript> loaded = new HashMap<>();
+        try {
+            for (Transcript transcript : loader.apply(chunk)) {
+                loaded.put(transcript.getStudentId(), transcript);
+            }
+        } catch (RuntimeException e) {
+            e.printStackTrace(); // the whole chunk is reported as failed below
+        }
+
+        for (Integer id : chunk) {
+            if (listener.isCancelled()) {
+                return;
+            }
+            Transcript transcript = loaded.get(id);
+            if (transcript == null) {
+                result.failed.add(id);
+            } else {
+                try {
+                    sink.write(transcript);
+                    result.written.incrementAndGet();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    result.failed.add(id);
+                }
+            }
+            listener.progress(finished.incrementAndGet(), result.total);
+        }
+    }
+
+    private ExecutorService createPool() {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "transcript-batch-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    static String entryName(int studentId) {
+        return "transcript-" + studentId + ".txt";
+    }
+
+    // Ids of transcripts already in the output, or -1 for names that are not ours
+    private static int studentIdOf(String name) {
+        Matcher m = ENTRY_NAME.matcher(name);
+        return m.matches() ? Integer.parseInt(m.group(1)) : -1;
+    }
+
+    /**
+     * Where finished transcripts go. write() is called from several workers at once.
+     */
+    private interface Sink extends Closeable {
+        /**
+         * Prepare the output and return the students already written when resuming
+         */
+        Set<Integer> open(boolean resume) throws IOException;
+
+        void write(Transcript transcript) throws IOException;
+    }
+
+    /**
+     * One file per student, streamed straight to disk
+     */
+    private static final class DirectorySink implements Sink {
+        private final Path dir;
+
+        DirectorySink(Path dir) {
+            this.dir = dir;
+        }
+
+        @Override
+        public Set<Integer> open(boolean resume) throws IOException {
+            Files.createDirectories(dir);
+            Set<Integer> done = new HashSet<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(".tmp") && studentIdOf(name.substring(0, name.length() - 4)) >= 0) {
+                        Files.deleteIfExists(file); // left half-written by an interrupted run
+                    } else if (resume && studentIdOf(name) >= 0) {
+                        done.add(studentIdOf(name));
+                    }
+                }
+            }
+            return done;
+        }
+
+        @Override
+        public void write(Transcript transcript) throws IOException {
+            Path target = dir.resolve(entryName(transcript.getStudentId()));
+            Path partial = dir.resolve(target.getFileName() + ".tmp");
+            try (Writer out = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+                TranscriptService.write(transcript, out);
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * One archive. Workers render a transcript on their own thread, then append it
+     * as an entry while holding the archive's lock.
+     */
+    private static final class ZipSink implements Sink {
+        private final Path file;
+        private ZipOutputStream zip;
+
+        ZipSink(Path file) {
+            this.file = file;
+        }
+
+        @Override
+        public Set<Integer> open(boolean resume) throws IOException {
+            Path previous = file.resolveSibling(file.getFileName() + ".partial");
+            if (resume && Files.exists(file)) {
+                Files.move(file, previous, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            zip = new ZipOutputStream(new BufferedOutputStream(Channels.newOutputStream(FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)),
+                    BUFFER_SIZE));
+
+            Set<Integer> done = new HashSet<>();
+            if (resume && Files.exists(previous)) {
+                salvage(previous, done);
+            }
+            Files.deleteIfExists(previous);
+            return done;
+        }
+
+        // An interrupted archive has no central directory, so it is read as a stream of
+        // entries; copying stops at the first one that was cut off
+        private void salvage(Path previous, Set<Integer> done) throws IOException {
+            try (ZipInputStream in = new ZipInputStream(new BufferedInputStream(
+                    Channels.newInputStream(FileChannel.open(previous)), BUFFER_SIZE))) {
+                while (true) {
+                    String name;
+                    byte[] data;
+                    try {
+                        ZipEntry entry = in.getNextEntry();
+                        if (entry == null) {
+                            break;
+                        }
+                        name = entry.getName();
+                        data = in.readAllBytes(); // whole entry first, so a truncated one is never copied
+                    } catch (IOException e) {
+                        break;
+                    }
+                    int studentId = studentIdOf(name);
+                    if (studentId >= 0 && done.add(studentId)) {
+                        zip.putNextEntry(new ZipEntry(name));
+                        zip.write(data);
+                        zip.closeEntry();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void write(Transcript transcript) throws IOException {
+            StringBuilder text = new StringBuilder(2048);
+            TranscriptService.write(transcript, text);
+            byte[] data = text.toString().getBytes(StandardCharsets.UTF_8);
+            synchronized (this) {
+                zip.putNextEntry(new ZipEntry(entryName(transcript.getStudentId())));
+                zip.write(data);
+                zip.closeEntry();
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (zip != null) {
+                zip.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package service;
+
+import config.AppConfig;
+import dao.EnrollmentDAO;
+import dao.TranscriptDAO;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import model.Transcript;
+import utils.ReferenceCache;
+
+/**
+ * Credit-weighted GPA, per-year GPA and class rank for student transcripts.
+ * Computed transcripts and each class's GPA standings are cached, and EnrollmentDAO
+ * reports grade changes so the affected entries are dropped straight away rather
+ * than at the end of their time-to-live.
+ *
+ * Grades (0-100) map to points as 90+ = 4, 80+ = 3, 70+ = 2, 60+ = 1, below = 0.
+ * Dropped and ungraded enrollments are listed but do not count towards a GPA.
+ */
+public class TranscriptService {
+
+    private static final ReferenceCache<Integer, Transcript> TRANSCRIPTS = new ReferenceCache<>("transcripts",
+            AppConfig.getTranscriptCacheMaxEntries(), AppConfig.getTranscriptCacheTtl() * 1000L);
+
+    // GPAs of everyone ranked in a class, highest first
+    private static final ReferenceCache<String, double[]> STANDINGS = new ReferenceCache<>("class-standings",
+            AppConfig.getReferenceCacheMaxEntries(), AppConfig.getTranscriptCacheTtl() * 1000L);
+
+    static {
+        EnrollmentDAO.addGradeListener(TranscriptService::gradesChanged);
+    }
+
+    private final TranscriptDAO transcriptDAO = new TranscriptDAO();
+
+    /**
+     * Transcript with GPAs and class rank, or null if there is no such student.
+     * The lines and terms are shared with the cache and must not be modified.
+     */
+    public Transcript getTranscript(int studentId) {
+        Transcript cached = TRANSCRIPTS.get(studentId, this::load);
+        if (cached == null) {
+            return null;
+        }
+        // Rank is looked up per request, since a classmate's grade change moves it
+        Transcript transcript = cached.copy();
+        addRank(transcript);
+        return transcript;
+    }
+
+    /**
+     * Transcripts of many students from one query, ordered by student id. They bypass
+     * the per-student cache so a batch run does not push out the portal's entries.
+     */
+    public List<Transcript> getTranscripts(List<Integer> studentIds) {
+        List<Transcript> transcripts = transcriptDAO.getTranscripts(studentIds);
+        for (Transcript transcript : transcripts) {
+            summarize(transcript);
+            addRank(transcript);
+        }
+        return transcripts;
+    }
+
+    /**
+     * Drop cached results after a grade change; 0 drops every student's
+     */
+    public static void gradesChanged(int studentId) {
+        if (studentId > 0) {
+            TRANSCRIPTS.invalidate(studentId);
+        } else {
+            TRANSCRIPTS.invalidateAll();
+        }
+        // One changed GPA can move everyone in the class, and the class is not known here
+        STANDINGS.invalidateAll();
+    }
+
+    public static String getCacheStats() {
+        return TRANSCRIPTS.getStats() + "; " + STANDINGS.getStats();
+    }
+
+    private Transcript load(int studentId) {
+        Transcript transcript = transcriptDAO.getTranscript(studentId);
+        if (transcript != null) {
+            summarize(transcript);
+        }
+        return transcript;
+    }
+
+    private void addRank(Transcript transcript) {
+        if (transcript.getClassName() != null && transcript.getGpa() >= 0) {
+            double[] standings = STANDINGS.get(transcript.getClassName(), this::loadStandings);
+            int rank = rankOf(transcript.getGpa(), standings);
+            transcript.setClassRank(rank);
+            transcript.setClassSize(Math.max(rank, standings.length));
+        }
+    }
+
+    private double[] loadStandings(String className) {
+        Map<Integer, List<Transcript.Line>> grades = transcriptDAO.getClassGrades(className);
+        double[] gpas = new double[grades.size()];
+        int count = 0;
+        for (List<Transcript.Line> lines : grades.values()) {
+            double gpa = gpa(lines);
+            if (gpa >= 0) {
+                gpas[count++] = gpa;
+            }
+        }
+        double[] standings = Arrays.copyOf(gpas, count);
+        Arrays.sort(standings);
+        for (int i = 0, j = count - 1; i < j; i++, j--) {
+            double t = standings[i];
+            standings[i] = standings[j];
+            standings[j] = t;
+        }
+        return standings;
+    }
+
+    /**
+     * Fill in grade points, per-year totals and the cumulative GPA from the transcript's lines
+     */
+    public static void summarize(Transcript transcript) {
+        Map<LocalDate, List<Transcript.Line>> byTerm = new TreeMap<>();
+        for (Transcript.Line line : transcript.getLines()) {
+            line.setPoints(line.getGrade() != null ? gradePoints(line.getGrade()) : 0);
+            if (line.getTermStart() != null) {
+                byTerm.computeIfAbsent(line.getTermStart(), start -> new ArrayList<>()).add(line);
+            }
+        }
+
+        List<Transcript.Term> terms = new ArrayList<>();
+        for (Map.Entry<LocalDate, List<Transcript.Line>> entry : byTerm.entrySet()) {
+            Transcript.Term term = new Transcript.Term();
+            term.setStart(entry.getKey());
+            term.setAttemptedCredits(attemptedCredits(entry.getValue()));
+            term.setEarnedCredits(earnedCredits(entry.getValue()));
+            term.setGpa(gpa(entry.getValue()));
+            terms.add(term);
+        }
+        transcript.setTerms(terms);
+        transcript.setAttemptedCredits(attemptedCredits(transcript.getLines()));
+        transcript.setEarnedCredits(earnedCredits(transcript.getLines()));
+        transcript.setGpa(gpa(transcript.getLines()));
+    }
+
+    /**
+     * Credit-weighted grade points, rounded to 2 decimals, or -1 if nothing counts yet
+     */
+    public static double gpa(List<Transcript.Line> lines) {
+        double points = 0;
+        int credits = 0;
+        for (Transcript.Line line : lines) {
+            if (counts(line)) {
+                points += gradePoints(line.getGrade()) * line.getCredits();
+                credits += line.getCredits();
+            }
+        }
+        return credits > 0 ? Math.round(points / credits * 100) / 100.0 : -1;
+    }
+
+    public static double gradePoints(double grade) {
+        if (grade >= 90) return 4.0;
+        if (grade >= 80) return 3.0;
+        if (grade >= 70) return 2.0;
+        if (grade >= 60) return 1.0;
+        return 0.0;
+    }
+
+    public static String letterGrade(double grade) {
+        if (grade >= 90) return "A";
+        if (grade >= 80) return "B";
+        if (grade >= 70) return "C";
+        if (grade >= 60) return "D";
+        return "F";
+    }
+
+    /**
+     * 1 + the number of classmates with a higher GPA, so equal GPAs share a rank
+     */
+    public static int rankOf(double gpa, double[] standingsDescending) {
+        int rank = 1;
+        for (double other : standingsDescending) {
+            if (other <= gpa) {
+                break;
+            }
+            rank++;
+        }
+        return rank;
+    }
+
+    /**
+     * "2024/2025" for a school year starting in 2024, or "2024" when it follows the calendar year
+     */
+    public static String termLabel(LocalDate termStart) {
+        int endYear = termStart.plusYears(1).minusDays(1).getYear();
+        return endYear == termStart.getYear() ? String.valueOf(endYear) : termStart.getYear() + "/" + endYear;
+    }
+
+    /**
+     * Plain-text transcript: courses grouped by school year, each year's GPA, then the totals
+     */
+    public static void write(Transcript transcript, Appendable out) throws IOException {
+        out.append("Transcript for ").append(transcript.getStudentName()).append("\n");
+        if (transcript.getClassName() != null) {
+            out.append("Class: ").append(transcript.getClassName()).append("\n");
+        }
+
+        Map<LocalDate, Transcript.Term> terms = new HashMap<>();
+        for (Transcript.Term term : transcript.getTerms()) {
+            terms.put(term.getStart(), term);
+        }
+
+        LocalDate current = null;
+        boolean first = true;
+        for (Transcript.Line line : transcript.getLines()) {
+            if (first || !Objects.equals(current, line.getTermStart())) {
+                writeTermTotals(terms.get(current), out);
+                current = line.getTermStart();
+                first = false;
+                out.append("\n").append(current != null ? termLabel(current) : "Undated").append("\n");
+                out.append(String.format("  %-10s %-34s %7s %6s %6s%n", "Code", "Course", "Credits", "Grade", "Points"));
+            }
+            String grade = line.getGrade() == null ? "-"
+                    : String.format("%.1f %s", line.getGrade(), letterGrade(line.getGrade()));
+            String points = counts(line) ? String.format("%.1f", line.getPoints())
+                    : "DROPPED".equalsIgnoreCase(line.getStatus()) ? "dropped" : "-";
+            out.append(String.format("  %-10s %-34s %7d %6s %6s%n",
+                    line.getCourseCode(), line.getCourseName(), line.getCredits(), grade, points));
+        }
+        writeTermTotals(terms.get(current), out);
+
+        if (transcript.getLines().isEmpty()) {
+            out.append("\nNo courses taken yet.\n");
+            return;
+        }
+        out.append("\n");
+        if (transcript.getGpa() >= 0) {
+            out.append(String.format("Cumulative GPA: %.2f over %d credits (%d earned)%n",
+                    transcript.getGpa(), transcript.getAttemptedCredits(), transcript.getEarnedCredits()));
+        } else {
+            out.append("Cumulative GPA: not graded yet\n");
+        }
+        if (transcript.getClassRank() > 0) {
+            out.append("Class rank: ").append(String.valueOf(transcript.getClassRank()))
+               .append(" of ").append(String.valueOf(transcript.getClassSize())).append("\n");
+        }
+    }
+
+    private static void writeTermTotals(Transcript.Term term, Appendable out) throws IOException {
+        if (term != null && term.getGpa() >= 0) {
+            out.append(String.format("  Year GPA: %.2f (%d of %d credits earned)%n",
+                    term.getGpa(), term.getEarnedCredits(), term.getAttemptedCredits()));
+        }
+    }
+
+    private static boolean counts(Transcript.Line line) {
+        return line.getGrade() != null && line.getCredits() > 0 && !"DROPPED".equalsIgnoreCase(line.getStatus());
+    }
+
+    private static int attemptedCredits(List<Transcript.Line> lines) {
+        int credits = 0;
+        for (Transcript.Line line : lines) {
+            if (counts(line)) {
+                credits += line.getCredits();
+            }
+        }
+        return credits;
+    }
+
+    private static int earnedCredits(List<Transcript.Line> lines) {
+        int credits = 0;
+        for (Transcript.Line line : lines) {
+            if (counts(line) && gradePoints(line.getGrade()) > 0) {
+                credits += line.getCredits();
+            }
+        }
+        return credits;
+    }
+}
@@ -4,17 +4,13 @@ import java.awt.*;
 import javax.swing.*;
 import model.User;
 import service.AuthService;
-import dao.UserDAO;
-import dao.StudentDAO;
-import dao.TeacherDAO;
+import service.DashboardStatsService;
 
 public class AdminDashboardFrame extends JFrame {
 
     private User currentUser;
     private AuthService authService = new AuthService();
-    private UserDAO userDAO = new UserDAO();
-    private StudentDAO studentDAO = new StudentDAO();
-    private TeacherDAO teacherDAO = new TeacherDAO();
+    private DashboardStatsService statsService = new DashboardStatsService();
 
     public AdminDashboardFrame(User user) {
         this.currentUser = user;
@@ -78,7 +74,7 @@ public class AdminDashboardFrame extends JFrame {
         JButton manageStudentsBtn = createStyledButton("Student Records", "Manage student information");
         JButton manageTeachersBtn = createStyledButton("Teacher Records", "Manage faculty information");
         JButton assignCoursesBtn = createStyledButton("Assign Courses", "Assign courses to teachers/students");
-        JButton bulkImportBtn = createStyledButton("Bulk Import", "Import users from CSV");
+        JButton bulkImportBtn = createStyledButton("Bulk Import", "Import users, students or enrollments from CSV");
         JButton userPermissionsBtn = createStyledButton("User Permissions", "Manage roles and access");
 
         actionPanel.add(manageUsersBtn);
@@ -89,19 +85,29 @@ public class AdminDashboardFrame extends JFrame {
         actionPanel.add(userPermissionsBtn);
 
         // Statistics panel
-        JPanel statsPanel = new JPanel(new GridLayout(1, 4, 10, 10));
+        JPanel statsPanel = new JPanel(new GridLayout(2, 4, 10, 10));
         statsPanel.setBorder(BorderFactory.createTitledBorder("System Statistics"));
 
-        // Real statistics from database
-        int totalUsers = userDAO.getAllUsers().size();
-        int activeStudents = studentDAO.getAllStudents().size();
-        int facultyMembers = teacherDAO.getAllTeachers().size();
-        int adminUsers = userDAO.getUserCountByRole("ADMIN");
-
-        statsPanel.add(createStatPanel("Total Users", String.valueOf(totalUsers)));
-        statsPanel.add(createStatPanel("Active Students", String.valueOf(activeStudents)));
-        statsPanel.add(createStatPanel("Faculty Members", String.valueOf(facultyMembers)));
-        statsPanel.add(createStatPanel("Admin Users", String.valueOf(adminUsers)));
+        JLabel totalUsersLabel = addStatPanel(statsPanel, "Total Users");
+        JLabel studentsLabel = addStatPanel(statsPanel, "Active Students");
+        JLabel teachersLabel = addStatPanel(statsPanel, "Faculty Members");
+        JLabel adminsLabel = addStatPanel(statsPanel, "Admin Users");
+        JLabel enrollmentsLabel = addStatPanel(statsPanel, "Active Enrollments");
+        JLabel pendingFeesLabel = addStatPanel(statsPanel, "Pending Fees");
+        JLabel announcementsLabel = addStatPanel(statsPanel, "Announcements");
+        JLabel attendanceLabel = addStatPanel(statsPanel, "Attendance (Year)");
+
+        // Real statistics from database (one aggregate query), filled in once loaded
+        UiTask.run(this, statsService::getStats, stats -> {
+            totalUsersLabel.setText(String.valueOf(stats.getTotalUsers()));
+            studentsLabel.setText(String.valueOf(stats.getTotalStudents()));
+            teachersLabel.setText(String.valueOf(stats.getTotalTeachers()));
+            adminsLabel.setText(String.valueOf(stats.getAdminUsers()));
+            enrollmentsLabel.setText(String.valueOf(stats.getActiveEnrollments()));
+            pendingFeesLabel.setText(String.valueOf(stats.getPendingFees()));
+            announcementsLabel.setText(String.valueOf(stats.getActiveAnnouncements()));
+            attendanceLabel.setText(stats.getAttendanceRate() < 0 ? "n/a" : String.format("%.1f%%", stats.getAttendanceRate() * 100));
+        });
 
         panel.add(actionPanel, BorderLayout.CENTER);
         panel.add(statsPanel, BorderLayout.SOUTH);
@@ -111,7 +117,7 @@ public class AdminDashboardFrame extends JFrame {
         manageStudentsBtn.addActionListener(e -> new StudentFrame(currentUser));
         manageTeachersBtn.addActionListener(e -> new TeacherFrame(currentUser));
         assignCoursesBtn.addActionListener(e -> new CourseAssignmentFrame(currentUser));
-        bulkImportBtn.addActionListener(e -> JOptionPane.showMessageDialog(this, "Bulk import feature coming soon"));
+        bulkImportBtn.addActionListener(e -> ImportAction.run(this, kind -> DashboardStatsService.invalidate()));
         userPermissionsBtn.addActionListener(e -> new UserPermissionsFrame(currentUser));
 
         return panel;
@@ -155,7 +161,7 @@ public class AdminDashboardFrame extends JFrame {
         curriculumBtn.addActionListener(e -> JOptionPane.showMessageDialog(this, "Curriculum planning feature coming soon"));
         assessmentsBtn.addActionListener(e -> JOptionPane.showMessageDialog(this, "Assessment setup feature coming soon"));
         attendanceBtn.addActionListener(e -> new AttendanceFrame());
-        transcriptsBtn.addActionListener(e -> JOptionPane.showMessageDialog(this, "Transcript generation feature coming soon"));
+        transcriptsBtn.addActionListener(e -> new TranscriptBatchFrame(currentUser));
 
         return panel;
     }
@@ -207,7 +213,7 @@ public class AdminDashboardFrame extends JFrame {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
-        JPanel actionPanel = new JPanel(new GridLayout(2, 4, 10, 10));
+        JPanel actionPanel = new JPanel(new GridLayout(3, 3, 10, 10));
         actionPanel.setBorder(BorderFactory.createTitledBorder("Reports & Analytics"));
 
         JButton studentReportsBtn = createStyledButton("Student Reports", "Academic performance reports");
@@ -218,6 +224,7 @@ public class AdminDashboardFrame extends JFrame {
         JButton customReportsBtn = createStyledButton("Custom Reports", "Build custom queries");
         JButton exportBtn = createStyledButton("Export Data", "Export to various formats");
         JButton dashboardBtn = createStyledButton("Analytics Dashboard", "Visual analytics");
+        JButton atRiskBtn = createStyledButton("At-Risk Students", "Low attendance and failing grades");
 
         actionPanel.add(studentReportsBtn);
         actionPanel.add(teacherReportsBtn);
@@ -227,6 +234,7 @@ public class AdminDashboardFrame extends JFrame {
         actionPanel.add(customReportsBtn);
         actionPanel.add(exportBtn);
         actionPanel.add(dashboardBtn);
+        actionPanel.add(atRiskBtn);
 
         panel.add(actionPanel, BorderLayout.CENTER);
 
@@ -239,6 +247,7 @@ public class AdminDashboardFrame extends JFrame {
         customReportsBtn.addActionListener(e -> JOptionPane.showMessageDialog(this, "Custom reports feature coming soon"));
         exportBtn.addActionListener(e -> JOptionPane.showMessageDialog(this, "Data export feature coming soon"));
         dashboardBtn.addActionListener(e -> JOptionPane.showMessageDialog(this, "Analytics dashboard feature coming soon"));
+        atRiskBtn.addActionListener(e -> new AtRiskFrame(currentUser));
 
         return panel;
     }
@@ -251,15 +260,16 @@ public class AdminDashboardFrame extends JFrame {
         return button;
     }
 
-    private JPanel createStatPanel(String title, String value) {
+    private JLabel addStatPanel(JPanel statsPanel, String title) {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createTitledBorder(title));
 
-        JLabel valueLabel = new JLabel(value, JLabel.CENTER);
+        JLabel valueLabel = new JLabel("...", JLabel.CENTER);
         valueLabel.setFont(new Font("Arial", Font.BOLD, 24));
         valueLabel.setForeground(Color.BLUE);
 
         panel.add(valueLabel, BorderLayout.CENTER);
-        return panel;
+        statsPanel.add(panel);
+        return valueLabel;
     }
 }
\ No newline at end of file
@@ -101,19 +101,20 @@ public class AnnouncementFrame extends JFrame {
     }
 
     private void loadAnnouncements() {
-        tableModel.setRowCount(0);
-        List<Announcement> announcements = announcementDAO.getAllAnnouncements();
-        for (Announcement announcement : announcements) {
-            tableModel.addRow(new Object[]{
-                announcement.getId(),
-                announcement.getTitle(),
-                announcement.getContent().length() > 50 ? announcement.getContent().substring(0, 50) + "..." : announcement.getContent(),
-                announcement.getAuthor(),
-                announcement.getPublishDate(),
-                announcement.getTargetAudience(),
-                announcement.isActive() ? "Yes" : "No"
-            });
-        }
+        UiTask.run(this, announcementDAO::getAllAnnouncements, announcements -> {
+            tableModel.setRowCount(0);
+            for (Announcement announcement : announcements) {
+                tableModel.addRow(new Object[]{
+                    announcement.getId(),
+                    announcement.getTitle(),
+                    announcement.getContent().length() > 50 ? announcement.getContent().substring(0, 50) + "..." : announcement.getContent(),
+                    announcement.getAuthor(),
+                    announcement.getPublishDate(),
+                    announcement.getTargetAudience(),
+                    announcement.isActive() ? "Yes" : "No"
+                });
+            }
+        });
     }
 
     private void addAnnouncement() {
@@ -127,13 +128,15 @@ public class AnnouncementFrame extends JFrame {
             announcement.setTargetAudience((String) audienceCombo.getSelectedItem());
             announcement.setActive(true);
 
-            if (announcementDAO.addAnnouncement(announcement)) {
-                JOptionPane.showMessageDialog(this, "Announcement added successfully!");
-                loadAnnouncements();
-                clearForm();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to add announcement.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            UiTask.run(this, () -> announcementDAO.addAnnouncement(announcement), added -> {
+                if (added) {
+                    JOptionPane.showMessageDialog(this, "Announcement added successfully!");
+                    loadAnnouncements();
+                    clearForm();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to add announcement.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
@@ -147,12 +150,14 @@ public class AnnouncementFrame extends JFrame {
             int announcementId = (Integer) tableModel.getValueAt(selectedRow, 0);
             int option = JOptionPane.showConfirmDialog(this, "Are you sure you want to delete this announcement?", "Confirm Delete", JOptionPane.YES_NO_OPTION);
             if (option == JOptionPane.YES_OPTION) {
-                if (announcementDAO.deleteAnnouncement(announcementId)) {
-                    JOptionPane.showMessageDialog(this, "Announcement deleted successfully!");
-                    loadAnnouncements();
-                } else {
-                    JOptionPane.showMessageDialog(this, "Failed to delete announcement.", "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                UiTask.run(this, () -> announcementDAO.deleteAnnouncement(announcementId), deleted -> {
+                    if (deleted) {
+                        JOptionPane.showMessageDialog(this, "Announcement deleted successfully!");
+                        loadAnnouncements();
+                    } else {
+                        JOptionPane.showMessageDialog(this, "Failed to delete announcement.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             }
         } else {
             JOptionPane.showMessageDialog(this, "Please select an announcement to delete.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -0,0 +1,101 @@
+package ui;
+
+import dao.ReportDAO;
+import model.AtRiskStudent;
+import model.User;
+import service.AtRiskScanner;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.List;
+
+/**
+ * Ranked list of at-risk students for advisors. Opens on the last saved scan;
+ * "Run Scan" rescans the whole student body and saves the result as a report.
+ */
+public class AtRiskFrame extends JFrame {
+    private User currentUser;
+    private ReportDAO reportDAO = new ReportDAO();
+    private AtRiskScanner scanner = new AtRiskScanner();
+    private DefaultTableModel tableModel;
+    private JLabel statusLabel;
+    private JButton scanBtn;
+
+    public AtRiskFrame(User user) {
+        this.currentUser = user;
+
+        setTitle("At-Risk Students");
+        setSize(1000, 600);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        setLocationRelativeTo(null);
+
+        tableModel = new DefaultTableModel(AtRiskScanner.REPORT_HEADER.split("\t"), 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JTable table = new JTable(tableModel);
+        table.setAutoCreateRowSorter(true);
+
+        statusLabel = new JLabel("Loading last scan...");
+        statusLabel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+
+        JPanel buttonPanel = new JPanel();
+        scanBtn = new JButton("Run Scan");
+        buttonPanel.add(scanBtn);
+
+        add(statusLabel, BorderLayout.NORTH);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+        add(buttonPanel, BorderLayout.SOUTH);
+
+        scanBtn.addActionListener(e -> runScan());
+        loadLastScan();
+
+        setVisible(true);
+    }
+
+    private void loadLastScan() {
+        UiTask.run(this, () -> reportDAO.getLatestReport(AtRiskScanner.REPORT_TYPE), report -> {
+            if (report == null) {
+                statusLabel.setText("No scan has been run yet. Press Run Scan.");
+                return;
+            }
+            showRows(report.getData());
+            statusLabel.setText(report.getTitle() + " by " + report.getGeneratedBy() + ": " + report.getDescription());
+        });
+    }
+
+    private void runScan() {
+        scanBtn.setEnabled(false);
+        statusLabel.setText("Scanning all students...");
+        long started = System.currentTimeMillis();
+        UiTask.run(this, () -> {
+            List<AtRiskStudent> ranked = scanner.scan();
+            scanner.saveReport(ranked, currentUser.getUsername());
+            return ranked;
+        }, ranked -> {
+            scanBtn.setEnabled(true);
+            showRows(AtRiskScanner.toReportData(ranked));
+            statusLabel.setText(ranked.size() + " students flagged in " + (System.currentTimeMillis() - started) + " ms");
+        }, ex -> {
+            scanBtn.setEnabled(true);
+            statusLabel.setText("Scan failed: " + ex.getMessage());
+        });
+    }
+
+    // Report data is a tab-separated header line followed by one line per student
+    private void showRows(String data) {
+        tableModel.setRowCount(0);
+        if (data == null) {
+            return;
+        }
+        String[] lines = data.split("\n");
+        for (int i = 1; i < lines.length; i++) {
+            if (!lines[i].isEmpty()) {
+                tableModel.addRow(lines[i].split("\t", -1));
+            }
+        }
+    }
+}
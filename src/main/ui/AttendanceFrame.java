@@ -1,5 +1,6 @@
 package ui;
 
+import dao.ExportDAO;
 import java.awt.*;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -8,6 +9,7 @@ public class AttendanceFrame extends JFrame {
 
     private JTable table;
     private DefaultTableModel model;
+    private ExportDAO exportDAO = new ExportDAO();
 
     public AttendanceFrame() {
         setTitle("Attendance Management");
@@ -26,6 +28,10 @@ public class AttendanceFrame extends JFrame {
         topPanel.add(statusBox);
 
         JButton markBtn = new JButton("Mark Attendance");
+        JButton exportBtn = new JButton("Export...");
+        JPanel buttonPanel = new JPanel(new FlowLayout());
+        buttonPanel.add(markBtn);
+        buttonPanel.add(exportBtn);
 
         // Table
         model = new DefaultTableModel(
@@ -36,7 +42,7 @@ public class AttendanceFrame extends JFrame {
 
         add(topPanel, BorderLayout.NORTH);
         add(scrollPane, BorderLayout.CENTER);
-        add(markBtn, BorderLayout.SOUTH);
+        add(buttonPanel, BorderLayout.SOUTH);
 
         markBtn.addActionListener(e -> {
             model.addRow(new Object[]{
@@ -48,6 +54,9 @@ public class AttendanceFrame extends JFrame {
             studentField.setText("");
         });
 
+        // Streams every attendance record to the file without loading them into the table
+        exportBtn.addActionListener(e -> ExportAction.run(this, "attendance", exportDAO::exportAttendance));
+
         setVisible(true);
     }
 }
@@ -111,35 +111,38 @@ public class CourseAssignmentFrame extends JFrame {
     }
 
     private void loadCourses(JComboBox<Course> combo) {
-        List<Course> courses = courseDAO.getAllCourses();
-        combo.removeAllItems();
-        for (Course course : courses) {
-            combo.addItem(course);
-        }
+        UiTask.run(this, courseDAO::getAllCourses, courses -> {
+            combo.removeAllItems();
+            for (Course course : courses) {
+                combo.addItem(course);
+            }
+        });
     }
 
     private void loadTeachers(JComboBox<Teacher> combo) {
-        List<Teacher> teachers = teacherDAO.getAllTeachers();
-        combo.removeAllItems();
-        for (Teacher teacher : teachers) {
-            combo.addItem(teacher);
-        }
+        UiTask.run(this, teacherDAO::getAllTeachers, teachers -> {
+            combo.removeAllItems();
+            for (Teacher teacher : teachers) {
+                combo.addItem(teacher);
+            }
+        });
     }
 
     private void loadAssignments() {
-        List<Timetable> timetables = timetableDAO.getAllTimetables();
-        tableModel.setRowCount(0);
-
-        for (Timetable t : timetables) {
-            tableModel.addRow(new Object[]{
-                t.getCourseId(), // This should be course code, but we have ID
-                t.getCourseName(),
-                t.getInstructor(),
-                t.getDayOfWeek(),
-                t.getStartTime() + " - " + t.getEndTime(),
-                t.getRoom()
-            });
-        }
+        UiTask.run(this, timetableDAO::getAllTimetables, timetables -> {
+            tableModel.setRowCount(0);
+
+            for (Timetable t : timetables) {
+                tableModel.addRow(new Object[]{
+                    t.getCourseId(), // This should be course code, but we have ID
+                    t.getCourseName(),
+                    t.getInstructor(),
+                    t.getDayOfWeek(),
+                    t.getStartTime() + " - " + t.getEndTime(),
+                    t.getRoom()
+                });
+            }
+        });
     }
 
     private void assignCourse(JComboBox<Course> courseCombo, JComboBox<Teacher> teacherCombo,
@@ -162,12 +165,14 @@ public class CourseAssignmentFrame extends JFrame {
         timetable.setRoom(room.getText());
         timetable.setInstructor(selectedTeacher.getFirstName() + " " + selectedTeacher.getLastName());
 
-        if (timetableDAO.addTimetable(timetable)) {
-            JOptionPane.showMessageDialog(this, "Course assigned successfully!");
-            loadAssignments();
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to assign course");
-        }
+        UiTask.run(this, () -> timetableDAO.addTimetable(timetable), added -> {
+            if (added) {
+                JOptionPane.showMessageDialog(this, "Course assigned successfully!");
+                loadAssignments();
+            } else {
+                JOptionPane.showMessageDialog(this, "Failed to assign course");
+            }
+        });
     }
 
     private void updateAssignment() {
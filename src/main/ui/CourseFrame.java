@@ -115,47 +115,50 @@ public class CourseFrame extends JFrame {
     }
 
     private void loadCourses() {
-        tableModel.setRowCount(0);
-        List<Course> courses = courseDAO.getAllCourses();
-        for (Course course : courses) {
-            tableModel.addRow(new Object[]{
-                course.getId(),
-                course.getCourseCode(),
-                course.getCourseName(),
-                course.getCredits(),
-                course.getDepartmentName(),
-                course.getDescription()
-            });
-        }
+        UiTask.run(this, courseDAO::getAllCourses, courses -> {
+            tableModel.setRowCount(0);
+            for (Course course : courses) {
+                tableModel.addRow(new Object[]{
+                    course.getId(),
+                    course.getCourseCode(),
+                    course.getCourseName(),
+                    course.getCredits(),
+                    course.getDepartmentName(),
+                    course.getDescription()
+                });
+            }
+        });
     }
 
     private void loadDepartments() {
-        List<Department> departments = departmentDAO.getAllDepartments();
-        for (Department dept : departments) {
-            departmentCombo.addItem(dept);
-        }
+        UiTask.run(this, departmentDAO::getAllDepartments, departments -> {
+            for (Department dept : departments) {
+                departmentCombo.addItem(dept);
+            }
+        });
     }
 
     private void loadSelectedCourse() {
         int selectedRow = courseTable.getSelectedRow();
         if (selectedRow >= 0) {
             int courseId = (Integer) tableModel.getValueAt(selectedRow, 0);
-            Course course = courseDAO.getCourseById(courseId);
-            if (course != null) {
-                codeField.setText(course.getCourseCode());
-                nameField.setText(course.getCourseName());
-                creditsField.setText(String.valueOf(course.getCredits()));
-                descriptionArea.setText(course.getDescription());
-
-                // Set department combo
-                for (int i = 0; i < departmentCombo.getItemCount(); i++) {
-                    Department dept = departmentCombo.getItemAt(i);
-                    if (dept.getId() == course.getDepartmentId()) {
-                        departmentCombo.setSelectedItem(dept);
-                        break;
+            UiTask.run(this, () -> courseDAO.getCourseById(courseId), course -> {
+                if (course != null) {
+                    codeField.setText(course.getCourseCode());
+                    nameField.setText(course.getCourseName());
+                    creditsField.setText(String.valueOf(course.getCredits()));
+                    descriptionArea.setText(course.getDescription());
+
+                    // Set department combo
+                    for (int i = 0; i < departmentCombo.getItemCount(); i++) {
+                        Department dept = departmentCombo.getItemAt(i);
+                        if (dept.getId() == course.getDepartmentId()) {
+                            departmentCombo.setSelectedItem(dept);
+                            break;
+                        }
                     }
                 }
-            }
+            });
         }
     }
 
@@ -169,13 +172,15 @@ public class CourseFrame extends JFrame {
             Department selectedDept = (Department) departmentCombo.getSelectedItem();
             course.setDepartmentId(selectedDept.getId());
 
-            if (courseDAO.addCourse(course)) {
-                JOptionPane.showMessageDialog(this, "Course added successfully!");
-                loadCourses();
-                clearForm();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to add course.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            UiTask.run(this, () -> courseDAO.addCourse(course), added -> {
+                if (added) {
+                    JOptionPane.showMessageDialog(this, "Course added successfully!");
+                    loadCourses();
+                    clearForm();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to add course.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
@@ -183,23 +188,26 @@ public class CourseFrame extends JFrame {
         int selectedRow = courseTable.getSelectedRow();
         if (selectedRow >= 0 && validateForm()) {
             int courseId = (Integer) tableModel.getValueAt(selectedRow, 0);
-            Course course = courseDAO.getCourseById(courseId);
-            if (course != null) {
-                course.setCourseCode(codeField.getText().trim());
-                course.setCourseName(nameField.getText().trim());
-                course.setCredits(Integer.parseInt(creditsField.getText().trim()));
-                course.setDescription(descriptionArea.getText().trim());
-                Department selectedDept = (Department) departmentCombo.getSelectedItem();
-                course.setDepartmentId(selectedDept.getId());
-
-                if (courseDAO.updateCourse(course)) {
-                    JOptionPane.showMessageDialog(this, "Course updated successfully!");
-                    loadCourses();
-                    clearForm();
-                } else {
-                    JOptionPane.showMessageDialog(this, "Failed to update course.", "Error", JOptionPane.ERROR_MESSAGE);
+            UiTask.run(this, () -> courseDAO.getCourseById(courseId), course -> {
+                if (course != null) {
+                    course.setCourseCode(codeField.getText().trim());
+                    course.setCourseName(nameField.getText().trim());
+                    course.setCredits(Integer.parseInt(creditsField.getText().trim()));
+                    course.setDescription(descriptionArea.getText().trim());
+                    Department selectedDept = (Department) departmentCombo.getSelectedItem();
+                    course.setDepartmentId(selectedDept.getId());
+
+                    UiTask.run(this, () -> courseDAO.updateCourse(course), updated -> {
+                        if (updated) {
+                            JOptionPane.showMessageDialog(this, "Course updated successfully!");
+                            loadCourses();
+                            clearForm();
+                        } else {
+                            JOptionPane.showMessageDialog(this, "Failed to update course.", "Error", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
                 }
-            }
+            });
         } else {
             JOptionPane.showMessageDialog(this, "Please select a course to update.", "Error", JOptionPane.ERROR_MESSAGE);
         }
@@ -211,13 +219,15 @@ public class CourseFrame extends JFrame {
             int courseId = (Integer) tableModel.getValueAt(selectedRow, 0);
             int option = JOptionPane.showConfirmDialog(this, "Are you sure you want to delete this course?", "Confirm Delete", JOptionPane.YES_NO_OPTION);
             if (option == JOptionPane.YES_OPTION) {
-                if (courseDAO.deleteCourse(courseId)) {
-                    JOptionPane.showMessageDialog(this, "Course deleted successfully!");
-                    loadCourses();
-                    clearForm();
-                } else {
-                    JOptionPane.showMessageDialog(this, "Failed to delete course.", "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                UiTask.run(this, () -> courseDAO.deleteCourse(courseId), deleted -> {
+                    if (deleted) {
+                        JOptionPane.showMessageDialog(this, "Course deleted successfully!");
+                        loadCourses();
+                        clearForm();
+                    } else {
+                        JOptionPane.showMessageDialog(this, "Failed to delete course.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             }
         } else {
             JOptionPane.showMessageDialog(this, "Please select a course to delete.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -2,6 +2,7 @@ package ui;
 
 import java.awt.*;
 import javax.swing.*;
+import model.Session;
 import model.User;
 import service.AuthService;
 
@@ -9,9 +10,11 @@ public class DashboardFrame extends JFrame {
 
     private User currentUser;
     private AuthService authService = new AuthService();
+    private Session session;
 
     public DashboardFrame(User user) {
         this.currentUser = user;
+        this.session = authService.sessionFor(user);
 
         setTitle("University Management System - Dashboard");
         setSize(900, 700);
@@ -68,7 +71,7 @@ public class DashboardFrame extends JFrame {
         JButton announcementBtn = createStyledButton("Announcements", "System announcements");
 
         // Add buttons based on role
-        if (authService.isAdmin(currentUser)) {
+        if (session.isAdmin()) {
             // Admin gets all buttons
             menuPanel.add(studentBtn);
             menuPanel.add(teacherBtn);
@@ -88,12 +91,12 @@ public class DashboardFrame extends JFrame {
             menuPanel.add(userMgmtBtn);
             menuPanel.add(adminDashboardBtn);
 
-            userMgmtBtn.addActionListener(e -> new UserManagementFrame(currentUser));
-            adminDashboardBtn.addActionListener(e -> new AdminDashboardFrame(currentUser));
-        } else if (currentUser.getRole() != null && currentUser.getRole().equalsIgnoreCase("Student")) {
+            userMgmtBtn.addActionListener(e -> guarded(() -> new UserManagementFrame(currentUser)));
+            adminDashboardBtn.addActionListener(e -> guarded(() -> new AdminDashboardFrame(currentUser)));
+        } else if (session.hasRole("STUDENT")) {
             // Students get only student panel
             menuPanel.add(studentBtn);
-        } else if (currentUser.getRole() != null && currentUser.getRole().equalsIgnoreCase("Teacher")) {
+        } else if (session.hasRole("TEACHER")) {
             // Teachers get only teacher panel
             menuPanel.add(teacherBtn);
         }
@@ -111,18 +114,18 @@ public class DashboardFrame extends JFrame {
         add(mainPanel);
 
         // Button actions
-        studentBtn.addActionListener(e -> openStudentManagement());
-        teacherBtn.addActionListener(e -> openTeacherManagement());
-        attendanceBtn.addActionListener(e -> new AttendanceFrame());
-        resultBtn.addActionListener(e -> new ResultFrame());
-        courseBtn.addActionListener(e -> new CourseFrame(currentUser));
-        enrollmentBtn.addActionListener(e -> new EnrollmentFrame(currentUser));
-        departmentBtn.addActionListener(e -> new DepartmentFrame(currentUser));
-        timetableBtn.addActionListener(e -> new TimetableFrame(currentUser));
-        libraryBtn.addActionListener(e -> new LibraryFrame(currentUser));
-        feeBtn.addActionListener(e -> new FeeFrame(currentUser));
-        reportBtn.addActionListener(e -> new ReportFrame(currentUser));
-        announcementBtn.addActionListener(e -> new AnnouncementFrame(currentUser));
+        studentBtn.addActionListener(e -> guarded(this::openStudentManagement));
+        teacherBtn.addActionListener(e -> guarded(this::openTeacherManagement));
+        attendanceBtn.addActionListener(e -> guarded(() -> new AttendanceFrame()));
+        resultBtn.addActionListener(e -> guarded(() -> new ResultFrame()));
+        courseBtn.addActionListener(e -> guarded(() -> new CourseFrame(currentUser)));
+        enrollmentBtn.addActionListener(e -> guarded(() -> new EnrollmentFrame(currentUser)));
+        departmentBtn.addActionListener(e -> guarded(() -> new DepartmentFrame(currentUser)));
+        timetableBtn.addActionListener(e -> guarded(() -> new TimetableFrame(currentUser)));
+        libraryBtn.addActionListener(e -> guarded(() -> new LibraryFrame(currentUser)));
+        feeBtn.addActionListener(e -> guarded(() -> new FeeFrame(currentUser)));
+        reportBtn.addActionListener(e -> guarded(() -> new ReportFrame(currentUser)));
+        announcementBtn.addActionListener(e -> guarded(() -> new AnnouncementFrame(currentUser)));
         logoutBtn.addActionListener(e -> logout());
 
         setVisible(true);
@@ -141,7 +144,7 @@ public class DashboardFrame extends JFrame {
     }
 
     private void openStudentManagement() {
-        if (authService.isAdmin(currentUser) || (currentUser.getRole() != null && currentUser.getRole().equalsIgnoreCase("Student"))) {
+        if (session.isAdmin() || session.hasRole("STUDENT")) {
             new StudentFrame(currentUser);
         } else {
             JOptionPane.showMessageDialog(this, "Access denied", "Error", JOptionPane.ERROR_MESSAGE);
@@ -149,16 +152,32 @@ public class DashboardFrame extends JFrame {
     }
 
     private void openTeacherManagement() {
-        if (authService.isAdmin(currentUser) || (currentUser.getRole() != null && currentUser.getRole().equalsIgnoreCase("Teacher"))) {
+        if (session.isAdmin() || session.hasRole("TEACHER")) {
             new TeacherFrame(currentUser);
         } else {
             JOptionPane.showMessageDialog(this, "Access denied", "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
+    /**
+     * Run a menu action, or send the user back to the login screen if the session timed out
+     */
+    private void guarded(Runnable action) {
+        if (session.isExpired()) {
+            JOptionPane.showMessageDialog(this, "Your session has expired. Please log in again.", "Session Expired", JOptionPane.WARNING_MESSAGE);
+            AuthService.logout();
+            dispose();
+            new LoginFrame();
+            return;
+        }
+        session.touch();
+        action.run();
+    }
+
     private void logout() {
         int option = JOptionPane.showConfirmDialog(this, "Are you sure you want to logout?", "Logout", JOptionPane.YES_NO_OPTION);
         if (option == JOptionPane.YES_OPTION) {
+            AuthService.logout();
             dispose();
             new LoginFrame();
         }
@@ -104,30 +104,32 @@ public class DepartmentFrame extends JFrame {
     }
 
     private void loadDepartments() {
-        tableModel.setRowCount(0);
-        List<Department> departments = departmentDAO.getAllDepartments();
-        for (Department dept : departments) {
-            tableModel.addRow(new Object[]{
-                dept.getId(),
-                dept.getDepartmentCode(),
-                dept.getDepartmentName(),
-                dept.getHeadOfDepartment(),
-                dept.getDescription()
-            });
-        }
+        UiTask.run(this, departmentDAO::getAllDepartments, departments -> {
+            tableModel.setRowCount(0);
+            for (Department dept : departments) {
+                tableModel.addRow(new Object[]{
+                    dept.getId(),
+                    dept.getDepartmentCode(),
+                    dept.getDepartmentName(),
+                    dept.getHeadOfDepartment(),
+                    dept.getDescription()
+                });
+            }
+        });
     }
 
     private void loadSelectedDepartment() {
         int selectedRow = departmentTable.getSelectedRow();
         if (selectedRow >= 0) {
             int deptId = (Integer) tableModel.getValueAt(selectedRow, 0);
-            Department dept = departmentDAO.getDepartmentById(deptId);
-            if (dept != null) {
-                codeField.setText(dept.getDepartmentCode());
-                nameField.setText(dept.getDepartmentName());
-                headField.setText(dept.getHeadOfDepartment());
-                descriptionArea.setText(dept.getDescription());
-            }
+            UiTask.run(this, () -> departmentDAO.getDepartmentById(deptId), dept -> {
+                if (dept != null) {
+                    codeField.setText(dept.getDepartmentCode());
+                    nameField.setText(dept.getDepartmentName());
+                    headField.setText(dept.getHeadOfDepartment());
+                    descriptionArea.setText(dept.getDescription());
+                }
+            });
         }
     }
 
@@ -139,13 +141,15 @@ public class DepartmentFrame extends JFrame {
             dept.setHeadOfDepartment(headField.getText().trim());
             dept.setDescription(descriptionArea.getText().trim());
 
-            if (departmentDAO.addDepartment(dept)) {
-                JOptionPane.showMessageDialog(this, "Department added successfully!");
-                loadDepartments();
-                clearForm();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to add department.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            UiTask.run(this, () -> departmentDAO.addDepartment(dept), added -> {
+                if (added) {
+                    JOptionPane.showMessageDialog(this, "Department added successfully!");
+                    loadDepartments();
+                    clearForm();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to add department.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
@@ -153,21 +157,24 @@ public class DepartmentFrame extends JFrame {
         int selectedRow = departmentTable.getSelectedRow();
         if (selectedRow >= 0 && validateForm()) {
             int deptId = (Integer) tableModel.getValueAt(selectedRow, 0);
-            Department dept = departmentDAO.getDepartmentById(deptId);
-            if (dept != null) {
-                dept.setDepartmentCode(codeField.getText().trim());
-                dept.setDepartmentName(nameField.getText().trim());
-                dept.setHeadOfDepartment(headField.getText().trim());
-                dept.setDescription(descriptionArea.getText().trim());
-
-                if (departmentDAO.updateDepartment(dept)) {
-                    JOptionPane.showMessageDialog(this, "Department updated successfully!");
-                    loadDepartments();
-                    clearForm();
-                } else {
-                    JOptionPane.showMessageDialog(this, "Failed to update department.", "Error", JOptionPane.ERROR_MESSAGE);
+            UiTask.run(this, () -> departmentDAO.getDepartmentById(deptId), dept -> {
+                if (dept != null) {
+                    dept.setDepartmentCode(codeField.getText().trim());
+                    dept.setDepartmentName(nameField.getText().trim());
+                    dept.setHeadOfDepartment(headField.getText().trim());
+                    dept.setDescription(descriptionArea.getText().trim());
+
+                    UiTask.run(this, () -> departmentDAO.updateDepartment(dept), updated -> {
+                        if (updated) {
+                            JOptionPane.showMessageDialog(this, "Department updated successfully!");
+                            loadDepartments();
+                            clearForm();
+                        } else {
+                            JOptionPane.showMessageDialog(this, "Failed to update department.", "Error", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
                 }
-            }
+            });
         } else {
             JOptionPane.showMessageDialog(this, "Please select a department to update.", "Error", JOptionPane.ERROR_MESSAGE);
         }
@@ -179,13 +186,15 @@ public class DepartmentFrame extends JFrame {
             int deptId = (Integer) tableModel.getValueAt(selectedRow, 0);
             int option = JOptionPane.showConfirmDialog(this, "Are you sure you want to delete this department?", "Confirm Delete", JOptionPane.YES_NO_OPTION);
             if (option == JOptionPane.YES_OPTION) {
-                if (departmentDAO.deleteDepartment(deptId)) {
-                    JOptionPane.showMessageDialog(this, "Department deleted successfully!");
-                    loadDepartments();
-                    clearForm();
-                } else {
-                    JOptionPane.showMessageDialog(this, "Failed to delete department.", "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                UiTask.run(this, () -> departmentDAO.deleteDepartment(deptId), deleted -> {
+                    if (deleted) {
+                        JOptionPane.showMessageDialog(this, "Department deleted successfully!");
+                        loadDepartments();
+                        clearForm();
+                    } else {
+                        JOptionPane.showMessageDialog(this, "Failed to delete department.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             }
         } else {
             JOptionPane.showMessageDialog(this, "Please select a department to delete.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -3,13 +3,14 @@ package ui;
 import dao.EnrollmentDAO;
 import dao.StudentDAO;
 import dao.CourseDAO;
+import dao.ExportDAO;
 import model.Enrollment;
+import model.Page;
 import model.Student;
 import model.Course;
 import model.User;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.time.LocalDate;
 import java.util.List;
@@ -19,8 +20,9 @@ public class EnrollmentFrame extends JFrame {
     private EnrollmentDAO enrollmentDAO = new EnrollmentDAO();
     private StudentDAO studentDAO = new StudentDAO();
     private CourseDAO courseDAO = new CourseDAO();
+    private ExportDAO exportDAO = new ExportDAO();
     private JTable enrollmentTable;
-    private DefaultTableModel tableModel;
+    private LazyTableModel<Enrollment> tableModel;
     private JComboBox<Student> studentCombo;
     private JComboBox<Course> courseCombo;
     private JComboBox<String> statusCombo;
@@ -75,23 +77,54 @@ public class EnrollmentFrame extends JFrame {
         JButton updateBtn = new JButton("Update Enrollment");
         JButton deleteBtn = new JButton("Delete Enrollment");
         JButton clearBtn = new JButton("Clear");
+        JButton exportBtn = new JButton("Export...");
 
         enrollBtn.addActionListener(e -> enrollStudent());
         updateBtn.addActionListener(e -> updateEnrollment());
         deleteBtn.addActionListener(e -> deleteEnrollment());
         clearBtn.addActionListener(e -> clearForm());
+        exportBtn.addActionListener(e -> ExportAction.run(this, "enrollments", exportDAO::exportEnrollments));
 
         buttonPanel.add(enrollBtn);
         buttonPanel.add(updateBtn);
         buttonPanel.add(deleteBtn);
         buttonPanel.add(clearBtn);
+        buttonPanel.add(exportBtn);
 
         // Table
         String[] columns = {"ID", "Student", "Course", "Enrollment Date", "Status", "Grade"};
-        tableModel = new DefaultTableModel(columns, 0) {
+        tableModel = new LazyTableModel<Enrollment>(columns, new LazyTableModel.RowSource<Enrollment>() {
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+            public int count() {
+                return enrollmentDAO.getEnrollmentCount();
+            }
+
+            @Override
+            public Page<Enrollment> page(int afterId, int limit) {
+                return enrollmentDAO.getEnrollmentsPage(afterId, limit);
+            }
+
+            @Override
+            public int cursorAt(int offset) {
+                return enrollmentDAO.getEnrollmentCursorAt(offset);
+            }
+        }) {
+            @Override
+            protected Object columnValue(Enrollment enrollment, int column) {
+                switch (column) {
+                    case 0: return enrollment.getId();
+                    case 1: return enrollment.getStudentName();
+                    case 2: return enrollment.getCourseName();
+                    case 3: return enrollment.getEnrollmentDate();
+                    case 4: return enrollment.getStatus();
+                    case 5: return enrollment.getGrade() > 0 ? enrollment.getGrade() : "";
+                    default: return "";
+                }
+            }
+
+            @Override
+            protected int idOf(Enrollment enrollment) {
+                return enrollment.getId();
             }
         };
         enrollmentTable = new JTable(tableModel);
@@ -108,32 +141,23 @@ public class EnrollmentFrame extends JFrame {
     }
 
     private void loadEnrollments() {
-        tableModel.setRowCount(0);
-        List<Enrollment> enrollments = enrollmentDAO.getAllEnrollments();
-        for (Enrollment enrollment : enrollments) {
-            tableModel.addRow(new Object[]{
-                enrollment.getId(),
-                enrollment.getStudentName(),
-                enrollment.getCourseName(),
-                enrollment.getEnrollmentDate(),
-                enrollment.getStatus(),
-                enrollment.getGrade() > 0 ? enrollment.getGrade() : ""
-            });
-        }
+        tableModel.reload();
     }
 
     private void loadStudents() {
-        List<Student> students = studentDAO.getAllStudents();
-        for (Student student : students) {
-            studentCombo.addItem(student);
-        }
+        UiTask.run(this, studentDAO::getAllStudents, students -> {
+            for (Student student : students) {
+                studentCombo.addItem(student);
+            }
+        });
     }
 
     private void loadCourses() {
-        List<Course> courses = courseDAO.getAllCourses();
-        for (Course course : courses) {
-            courseCombo.addItem(course);
-        }
+        UiTask.run(this, courseDAO::getAllCourses, courses -> {
+            for (Course course : courses) {
+                courseCombo.addItem(course);
+            }
+        });
     }
 
     private void loadSelectedEnrollment() {
@@ -160,19 +184,21 @@ public class EnrollmentFrame extends JFrame {
         enrollment.setEnrollmentDate(LocalDate.now());
         enrollment.setStatus(status);
 
-        if (enrollmentDAO.addEnrollment(enrollment)) {
-            JOptionPane.showMessageDialog(this, "Student enrolled successfully!");
-            loadEnrollments();
-            clearForm();
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to enroll student.", "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        UiTask.run(this, () -> enrollmentDAO.addEnrollment(enrollment), added -> {
+            if (added) {
+                JOptionPane.showMessageDialog(this, "Student enrolled successfully!");
+                loadEnrollments();
+                clearForm();
+            } else {
+                JOptionPane.showMessageDialog(this, "Failed to enroll student.", "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
     }
 
     private void updateEnrollment() {
-        int selectedRow = enrollmentTable.getSelectedRow();
-        if (selectedRow >= 0) {
-            int enrollmentId = (Integer) tableModel.getValueAt(selectedRow, 0);
+        Enrollment selected = getSelectedEnrollment();
+        if (selected != null) {
+            int enrollmentId = selected.getId();
             // Implementation for updating enrollment status/grade would go here
             JOptionPane.showMessageDialog(this, "Update functionality to be implemented.", "Info", JOptionPane.INFORMATION_MESSAGE);
         } else {
@@ -181,24 +207,34 @@ public class EnrollmentFrame extends JFrame {
     }
 
     private void deleteEnrollment() {
-        int selectedRow = enrollmentTable.getSelectedRow();
-        if (selectedRow >= 0) {
-            int enrollmentId = (Integer) tableModel.getValueAt(selectedRow, 0);
+        Enrollment selected = getSelectedEnrollment();
+        if (selected != null) {
+            int enrollmentId = selected.getId();
             int option = JOptionPane.showConfirmDialog(this, "Are you sure you want to delete this enrollment?", "Confirm Delete", JOptionPane.YES_NO_OPTION);
             if (option == JOptionPane.YES_OPTION) {
-                if (enrollmentDAO.deleteEnrollment(enrollmentId)) {
-                    JOptionPane.showMessageDialog(this, "Enrollment deleted successfully!");
-                    loadEnrollments();
-                    clearForm();
-                } else {
-                    JOptionPane.showMessageDialog(this, "Failed to delete enrollment.", "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                UiTask.run(this, () -> enrollmentDAO.deleteEnrollment(enrollmentId), deleted -> {
+                    if (deleted) {
+                        JOptionPane.showMessageDialog(this, "Enrollment deleted successfully!");
+                        loadEnrollments();
+                        clearForm();
+                    } else {
+                        JOptionPane.showMessageDialog(this, "Failed to delete enrollment.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             }
         } else {
             JOptionPane.showMessageDialog(this, "Please select an enrollment to delete.", "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
+    /**
+     * Selected enrollment, or null if nothing is selected or its row is still loading
+     */
+    private Enrollment getSelectedEnrollment() {
+        int selectedRow = enrollmentTable.getSelectedRow();
+        return selectedRow >= 0 ? tableModel.getRowAt(selectedRow) : null;
+    }
+
     private void clearForm() {
         studentCombo.setSelectedIndex(0);
         courseCombo.setSelectedIndex(0);
@@ -0,0 +1,55 @@
+package ui;
+
+import java.awt.Component;
+import java.io.File;
+import java.nio.file.Path;
+import javax.swing.JFileChooser;
+import javax.swing.JOptionPane;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import utils.ExportFormat;
+
+/**
+ * "Export..." button behaviour shared by the data windows: ask for a file, then
+ * stream the export in the background. The format follows the chosen extension.
+ */
+public final class ExportAction {
+
+    /**
+     * Writes an export and returns the number of rows, or -1 on failure
+     */
+    public interface Exporter {
+        long export(ExportFormat format, Path file);
+    }
+
+    private ExportAction() {
+    }
+
+    public static void run(Component owner, String baseName, Exporter exporter) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export " + baseName);
+        FileNameExtensionFilter csv = new FileNameExtensionFilter("CSV (*.csv)", "csv");
+        chooser.addChoosableFileFilter(csv);
+        chooser.addChoosableFileFilter(new FileNameExtensionFilter("JSON Lines (*.jsonl)", "jsonl"));
+        chooser.setFileFilter(csv);
+        chooser.setSelectedFile(new File(baseName + ".csv"));
+        if (chooser.showSaveDialog(owner) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        File selected = chooser.getSelectedFile();
+        if (!selected.getName().contains(".")) {
+            String extension = chooser.getFileFilter() == csv ? "csv" : "jsonl";
+            selected = new File(selected.getParentFile(), selected.getName() + "." + extension);
+        }
+        Path file = selected.toPath();
+        ExportFormat format = ExportFormat.forFileName(selected.getName());
+
+        UiTask.run(owner, () -> exporter.export(format, file), rows -> {
+            if (rows >= 0) {
+                JOptionPane.showMessageDialog(owner, "Exported " + rows + " rows to " + file);
+            } else {
+                JOptionPane.showMessageDialog(owner, "Export failed.", "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+    }
+}
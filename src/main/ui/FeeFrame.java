@@ -1,13 +1,14 @@
 package ui;
 
+import dao.ExportDAO;
 import dao.FeeDAO;
 import dao.StudentDAO;
 import model.Fee;
+import model.Page;
 import model.Student;
 import model.User;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.time.LocalDate;
 import java.util.List;
@@ -16,8 +17,9 @@ public class FeeFrame extends JFrame {
     private User currentUser;
     private FeeDAO feeDAO = new FeeDAO();
     private StudentDAO studentDAO = new StudentDAO();
+    private ExportDAO exportDAO = new ExportDAO();
     private JTable feeTable;
-    private DefaultTableModel tableModel;
+    private LazyTableModel<Fee> tableModel;
     private JComboBox<Student> studentCombo;
     private JTextField feeTypeField, amountField, paidAmountField;
     private JComboBox<String> statusCombo;
@@ -83,23 +85,56 @@ public class FeeFrame extends JFrame {
         JButton updateBtn = new JButton("Update Fee");
         JButton deleteBtn = new JButton("Delete Fee");
         JButton clearBtn = new JButton("Clear");
+        JButton exportBtn = new JButton("Export...");
 
         addBtn.addActionListener(e -> addFee());
         updateBtn.addActionListener(e -> updateFee());
         deleteBtn.addActionListener(e -> deleteFee());
         clearBtn.addActionListener(e -> clearForm());
+        exportBtn.addActionListener(e -> ExportAction.run(this, "fees", exportDAO::exportFees));
 
         buttonPanel.add(addBtn);
         buttonPanel.add(updateBtn);
         buttonPanel.add(deleteBtn);
         buttonPanel.add(clearBtn);
+        buttonPanel.add(exportBtn);
 
         // Table
         String[] columns = {"ID", "Student", "Fee Type", "Amount", "Paid", "Balance", "Due Date", "Status"};
-        tableModel = new DefaultTableModel(columns, 0) {
+        tableModel = new LazyTableModel<Fee>(columns, new LazyTableModel.RowSource<Fee>() {
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+            public int count() {
+                return feeDAO.getFeeCount();
+            }
+
+            @Override
+            public Page<Fee> page(int afterId, int limit) {
+                return feeDAO.getFeesPage(afterId, limit);
+            }
+
+            @Override
+            public int cursorAt(int offset) {
+                return feeDAO.getFeeCursorAt(offset);
+            }
+        }) {
+            @Override
+            protected Object columnValue(Fee fee, int column) {
+                switch (column) {
+                    case 0: return fee.getId();
+                    case 1: return fee.getStudentName();
+                    case 2: return fee.getFeeType();
+                    case 3: return fee.getAmount();
+                    case 4: return fee.getPaidAmount();
+                    case 5: return fee.getBalance();
+                    case 6: return fee.getDueDate();
+                    case 7: return fee.getStatus();
+                    default: return "";
+                }
+            }
+
+            @Override
+            protected int idOf(Fee fee) {
+                return fee.getId();
             }
         };
         feeTable = new JTable(tableModel);
@@ -115,27 +150,15 @@ public class FeeFrame extends JFrame {
     }
 
     private void loadFees() {
-        tableModel.setRowCount(0);
-        List<Fee> fees = feeDAO.getAllFees();
-        for (Fee fee : fees) {
-            tableModel.addRow(new Object[]{
-                fee.getId(),
-                fee.getStudentName(),
-                fee.getFeeType(),
-                fee.getAmount(),
-                fee.getPaidAmount(),
-                fee.getBalance(),
-                fee.getDueDate(),
-                fee.getStatus()
-            });
-        }
+        tableModel.reload();
     }
 
     private void loadStudents() {
-        List<Student> students = studentDAO.getAllStudents();
-        for (Student student : students) {
-            studentCombo.addItem(student);
-        }
+        UiTask.run(this, studentDAO::getAllStudents, students -> {
+            for (Student student : students) {
+                studentCombo.addItem(student);
+            }
+        });
     }
 
     private void addFee() {
@@ -149,13 +172,15 @@ public class FeeFrame extends JFrame {
             fee.setDueDate(LocalDate.now().plusMonths(1)); // Default due date
             fee.setStatus((String) statusCombo.getSelectedItem());
 
-            if (feeDAO.addFee(fee)) {
-                JOptionPane.showMessageDialog(this, "Fee added successfully!");
-                loadFees();
-                clearForm();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to add fee.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            UiTask.run(this, () -> feeDAO.addFee(fee), added -> {
+                if (added) {
+                    JOptionPane.showMessageDialog(this, "Fee added successfully!");
+                    loadFees();
+                    clearForm();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to add fee.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
@@ -84,20 +84,28 @@ public class ForgotPasswordFrame extends JFrame {
             }
 
             AuthService authService = new AuthService();
-            boolean success = authService.resetPassword(username, email, newPass);
-
-            if (success) {
-                JOptionPane.showMessageDialog(this,
-                        "Password reset successfully!",
-                        "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
-                dispose();
-            } else {
+            resetBtn.setEnabled(false);
+            UiTask.run(this, () -> authService.resetPassword(username, email, newPass), success -> {
+                resetBtn.setEnabled(true);
+                if (success) {
+                    JOptionPane.showMessageDialog(this,
+                            "Password reset successfully!",
+                            "Success",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    dispose();
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                            "Invalid username or email.",
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }, ex -> {
+                resetBtn.setEnabled(true);
                 JOptionPane.showMessageDialog(this,
-                        "Invalid username or email.",
+                        "Password reset failed: " + ex.getMessage(),
                         "Error",
                         JOptionPane.ERROR_MESSAGE);
-            }
+            });
         });
 
         backBtn.addActionListener(e -> dispose());
@@ -0,0 +1,65 @@
+package ui;
+
+import java.awt.Component;
+import java.io.File;
+import java.util.function.Consumer;
+import javax.swing.JFileChooser;
+import javax.swing.JOptionPane;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import model.ImportResult;
+import service.BulkImportService;
+
+/**
+ * "Import CSV..." behaviour shared by the admin windows: ask what the file holds
+ * and which file it is, import it in the background, then summarise the outcome.
+ */
+public final class ImportAction {
+
+    private static final BulkImportService IMPORT_SERVICE = new BulkImportService();
+
+    private ImportAction() {
+    }
+
+    /**
+     * onImported, if given, is told which kind of rows were added (on the EDT)
+     */
+    public static void run(Component owner, Consumer<BulkImportService.Kind> onImported) {
+        BulkImportService.Kind kind = (BulkImportService.Kind) JOptionPane.showInputDialog(owner,
+                "What does the file contain?", "Import CSV", JOptionPane.QUESTION_MESSAGE, null,
+                BulkImportService.Kind.values(), BulkImportService.Kind.USERS);
+        if (kind == null) {
+            return;
+        }
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import " + kind + " (header: " + String.join(",", kind.getColumns()) + ")");
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV (*.csv)", "csv"));
+        if (chooser.showOpenDialog(owner) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+
+        UiTask.run(owner, () -> IMPORT_SERVICE.importFile(kind, file), result -> {
+            StringBuilder message = new StringBuilder()
+                    .append("Rows read: ").append(result.getRowsRead())
+                    .append("\nImported: ").append(result.getImported())
+                    .append("\nRejected: ").append(result.getErrors().size());
+            int shown = 0;
+            for (ImportResult.RowError error : result.getErrors()) {
+                if (shown++ == 10) {
+                    message.append("\n...");
+                    break;
+                }
+                message.append("\n  ").append(error);
+            }
+            if (result.getErrorReport() != null) {
+                message.append("\n\nAll rejected rows are listed in ").append(result.getErrorReport());
+            }
+            JOptionPane.showMessageDialog(owner, message.toString(), "Import " + kind,
+                    result.getErrors().isEmpty() ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
+            if (onImported != null && result.getImported() > 0) {
+                onImported.accept(kind);
+            }
+        });
+    }
+}
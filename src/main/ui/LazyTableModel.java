@@ -0,0 +1,197 @@
+package ui;
+
+import config.AppConfig;
+import model.Page;
+
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Table model that loads rows in fixed-size blocks as the table asks for them.
+ * Only the most recently viewed blocks are kept in memory; rows whose block is
+ * still loading are shown as placeholders. Blocks are read on the shared UiTask executor.
+ */
+public abstract class LazyTableModel<T> extends AbstractTableModel {
+
+    public static final String LOADING = "Loading...";
+
+    /**
+     * Where the rows come from, normally a DAO's keyset page query
+     */
+    public interface RowSource<T> {
+        /** Total number of rows */
+        int count();
+
+        /** Rows ordered by id, after the given id (0 for the first row) */
+        Page<T> page(int afterId, int limit);
+
+        /** Id of the row just before offset, i.e. the cursor to pass to page() to start at offset */
+        int cursorAt(int offset);
+    }
+
+    private final String[] columns;
+    private final RowSource<T> source;
+    private final int blockSize;
+    private final int maxBlocks;
+
+    // All of the following are only touched on the EDT
+    private final Map<Integer, List<T>> blocks;
+    private final Map<Integer, Integer> blockCursors = new HashMap<>();
+    private final Set<Integer> pending = new HashSet<>();
+    private int rowCount;
+    private int generation;
+
+    protected LazyTableModel(String[] columns, RowSource<T> source) {
+        this(columns, source, AppConfig.getTableBlockSize(), AppConfig.getTableCachedBlocks());
+    }
+
+    protected LazyTableModel(String[] columns, RowSource<T> source, int blockSize, int maxBlocks) {
+        this.columns = columns;
+        this.source = source;
+        this.blockSize = Math.max(1, blockSize);
+        this.maxBlocks = Math.max(2, maxBlocks);
+        this.blocks = new LinkedHashMap<Integer, List<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > LazyTableModel.this.maxBlocks;
+            }
+        };
+    }
+
+    /**
+     * Value shown in a cell for a loaded row
+     */
+    protected abstract Object columnValue(T row, int column);
+
+    /**
+     * Primary key of a row, used as the keyset cursor for the following block
+     */
+    protected abstract int idOf(T row);
+
+    /**
+     * Drop everything loaded so far and re-read the row count in the background
+     */
+    public void reload() {
+        final int gen = ++generation;
+        blocks.clear();
+        blockCursors.clear();
+        blockCursors.put(0, 0);
+        pending.clear();
+
+        UiTask.execute(new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() {
+                return source.count();
+            }
+
+            @Override
+            protected void done() {
+                if (gen != generation) {
+                    return;
+                }
+                try {
+                    rowCount = get();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    rowCount = 0;
+                }
+                fireTableDataChanged();
+            }
+        });
+    }
+
+    /**
+     * The loaded row at the given index, or null while its block is still loading
+     */
+    public T getRowAt(int rowIndex) {
+        int block = rowIndex / blockSize;
+        List<T> rows = blocks.get(block);
+        if (rows == null) {
+            requestBlock(block);
+            return null;
+        }
+        int i = rowIndex - block * blockSize;
+        return i < rows.size() ? rows.get(i) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        T row = getRowAt(rowIndex);
+        if (row == null) {
+            return columnIndex == 0 && pending.contains(rowIndex / blockSize) ? LOADING : "";
+        }
+        return columnValue(row, columnIndex);
+    }
+
+    private void requestBlock(int block) {
+        if (!SwingUtilities.isEventDispatchThread() || !pending.add(block)) {
+            return;
+        }
+        final int gen = generation;
+        final int offset = block * blockSize;
+        // Known when the previous block has been read; otherwise looked up by offset
+        final Integer knownCursor = blockCursors.get(block);
+
+        UiTask.execute(new SwingWorker<List<T>, Void>() {
+            @Override
+            protected List<T> doInBackground() {
+                int cursor = knownCursor != null ? knownCursor : source.cursorAt(offset);
+                if (cursor < 0) {
+                    return Collections.emptyList();
+                }
+                return source.page(cursor, blockSize).getItems();
+            }
+
+            @Override
+            protected void done() {
+                if (gen != generation) {
+                    return;
+                }
+                pending.remove(block);
+                List<T> rows;
+                try {
+                    rows = get();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    rows = Collections.emptyList();
+                }
+                blocks.put(block, rows);
+                if (rows.size() == blockSize) {
+                    blockCursors.put(block + 1, idOf(rows.get(rows.size() - 1)));
+                }
+                int last = Math.min(rowCount, offset + blockSize) - 1;
+                if (last >= offset) {
+                    fireTableRowsUpdated(offset, last);
+                }
+            }
+        });
+    }
+}
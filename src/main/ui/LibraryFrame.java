@@ -119,20 +119,21 @@ public class LibraryFrame extends JFrame {
     }
 
     private void loadBooks() {
-        tableModel.setRowCount(0);
-        List<Library> books = libraryDAO.getAllBooks();
-        for (Library book : books) {
-            tableModel.addRow(new Object[]{
-                book.getId(),
-                book.getBookTitle(),
-                book.getAuthor(),
-                book.getIsbn(),
-                book.getCategory(),
-                book.getTotalCopies(),
-                book.getAvailableCopies(),
-                book.getLocation()
-            });
-        }
+        UiTask.run(this, libraryDAO::getAllBooks, books -> {
+            tableModel.setRowCount(0);
+            for (Library book : books) {
+                tableModel.addRow(new Object[]{
+                    book.getId(),
+                    book.getBookTitle(),
+                    book.getAuthor(),
+                    book.getIsbn(),
+                    book.getCategory(),
+                    book.getTotalCopies(),
+                    book.getAvailableCopies(),
+                    book.getLocation()
+                });
+            }
+        });
     }
 
     private void addBook() {
@@ -146,13 +147,15 @@ public class LibraryFrame extends JFrame {
             book.setAvailableCopies(Integer.parseInt(availableCopiesField.getText().trim()));
             book.setLocation(locationField.getText().trim());
 
-            if (libraryDAO.addBook(book)) {
-                JOptionPane.showMessageDialog(this, "Book added successfully!");
-                loadBooks();
-                clearForm();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to add book.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            UiTask.run(this, () -> libraryDAO.addBook(book), added -> {
+                if (added) {
+                    JOptionPane.showMessageDialog(this, "Book added successfully!");
+                    loadBooks();
+                    clearForm();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to add book.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
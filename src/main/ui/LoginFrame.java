@@ -133,20 +133,31 @@ public class LoginFrame extends JFrame {
                 return;
             }
 
+            // Password hashing is deliberately slow, so keep it off the EDT
             AuthService authService = new AuthService();
-            User user = authService.login(username, password);
-
-            if (user != null) {
-                dispose();
-                new DashboardFrame(user);
-            } else {
+            loginBtn.setEnabled(false);
+            UiTask.run(this, () -> authService.login(username, password), user -> {
+                loginBtn.setEnabled(true);
+                if (user != null) {
+                    dispose();
+                    new DashboardFrame(user);
+                } else {
+                    JOptionPane.showMessageDialog(
+                            this,
+                            "Invalid username or password",
+                            "Login Failed",
+                            JOptionPane.ERROR_MESSAGE
+                    );
+                }
+            }, ex -> {
+                loginBtn.setEnabled(true);
                 JOptionPane.showMessageDialog(
                         this,
-                        "Invalid username or password",
+                        "Login failed: " + ex.getMessage(),
                         "Login Failed",
                         JOptionPane.ERROR_MESSAGE
                 );
-            }
+            });
         });
 
         signupBtn.addActionListener(e -> new SignUpFrame());
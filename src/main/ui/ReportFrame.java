@@ -3,16 +3,17 @@ package ui;
 import dao.ReportDAO;
 import model.Report;
 import model.User;
+import service.ReportService;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.time.LocalDate;
 import java.util.List;
 
 public class ReportFrame extends JFrame {
     private User currentUser;
     private ReportDAO reportDAO = new ReportDAO();
+    private ReportService reportService = new ReportService();
     private JTable reportTable;
     private DefaultTableModel tableModel;
     private JTextField titleField;
@@ -20,6 +21,13 @@ public class ReportFrame extends JFrame {
     private JComboBox<String> typeCombo;
 
     public ReportFrame(User user) {
+        this(user, null);
+    }
+
+    /**
+     * Open with the first report type of an admin dashboard category (e.g. "FINANCIAL") selected
+     */
+    public ReportFrame(User user, String category) {
         this.currentUser = user;
 
         setTitle("Reports Management");
@@ -28,6 +36,12 @@ public class ReportFrame extends JFrame {
         setLocationRelativeTo(null);
 
         initComponents();
+        if (category != null) {
+            String reportType = ReportService.getReportTypeForCategory(category);
+            if (reportType != null) {
+                typeCombo.setSelectedItem(reportType);
+            }
+        }
         loadReports();
 
         setVisible(true);
@@ -45,7 +59,7 @@ public class ReportFrame extends JFrame {
         gbc.gridx = 0; gbc.gridy = 0;
         formPanel.add(new JLabel("Report Type:"), gbc);
         gbc.gridx = 1;
-        typeCombo = new JComboBox<>(new String[]{"Student Report", "Course Report", "Fee Report", "Attendance Report", "Custom Report"});
+        typeCombo = new JComboBox<>(ReportService.getReportTypes().toArray(new String[0]));
         formPanel.add(typeCombo, gbc);
 
         gbc.gridx = 0; gbc.gridy = 1;
@@ -100,37 +114,37 @@ public class ReportFrame extends JFrame {
     }
 
     private void loadReports() {
-        tableModel.setRowCount(0);
-        List<Report> reports = reportDAO.getAllReports();
-        for (Report report : reports) {
-            tableModel.addRow(new Object[]{
-                report.getId(),
-                report.getReportType(),
-                report.getTitle(),
-                report.getDescription(),
-                report.getGeneratedDate(),
-                report.getGeneratedBy()
-            });
-        }
+        UiTask.run(this, reportDAO::getAllReportSummaries, reports -> {
+            tableModel.setRowCount(0);
+            for (Report report : reports) {
+                tableModel.addRow(new Object[]{
+                    report.getId(),
+                    report.getReportType(),
+                    report.getTitle(),
+                    report.getDescription(),
+                    report.getGeneratedDate(),
+                    report.getGeneratedBy()
+                });
+            }
+        });
     }
 
     private void generateReport() {
         if (validateForm()) {
-            Report report = new Report();
-            report.setReportType((String) typeCombo.getSelectedItem());
-            report.setTitle(titleField.getText().trim());
-            report.setDescription(descriptionArea.getText().trim());
-            report.setGeneratedDate(LocalDate.now());
-            report.setGeneratedBy(currentUser.getName());
-            report.setData("Sample report data - to be implemented with actual data generation");
-
-            if (reportDAO.addReport(report)) {
-                JOptionPane.showMessageDialog(this, "Report generated successfully!");
-                loadReports();
-                clearForm();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to generate report.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            String reportType = (String) typeCombo.getSelectedItem();
+            String title = titleField.getText().trim();
+            String description = descriptionArea.getText().trim();
+
+            // The aggregation runs in the database; only the finished report comes back
+            UiTask.run(this, () -> reportService.generate(reportType, title, description, currentUser.getName()), reportId -> {
+                if (reportId > 0) {
+                    JOptionPane.showMessageDialog(this, "Report generated successfully!");
+                    loadReports();
+                    clearForm();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to generate report.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
@@ -138,31 +152,56 @@ public class ReportFrame extends JFrame {
         int selectedRow = reportTable.getSelectedRow();
         if (selectedRow >= 0) {
             int reportId = (Integer) tableModel.getValueAt(selectedRow, 0);
-            Report report = reportDAO.getAllReports().stream()
-                .filter(r -> r.getId() == reportId)
-                .findFirst()
-                .orElse(null);
-
-            if (report != null) {
-                JOptionPane.showMessageDialog(this, "Report Data:\n" + report.getData(), "Report Details", JOptionPane.INFORMATION_MESSAGE);
-            }
+            UiTask.run(this, () -> reportDAO.getReportById(reportId), report -> {
+                if (report != null) {
+                    showReportData(report);
+                }
+            });
         } else {
             JOptionPane.showMessageDialog(this, "Please select a report to view.", "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
+    // Report data is a tab-separated header line followed by one line per row
+    private void showReportData(Report report) {
+        String data = report.getData();
+        if (data == null || !data.contains("\t")) {
+            JOptionPane.showMessageDialog(this, "Report Data:\n" + data, "Report Details", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        String[] lines = data.split("\n");
+        DefaultTableModel model = new DefaultTableModel(lines[0].split("\t", -1), 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        for (int i = 1; i < lines.length; i++) {
+            if (!lines[i].isEmpty()) {
+                model.addRow(lines[i].split("\t", -1));
+            }
+        }
+
+        JScrollPane scroll = new JScrollPane(new JTable(model));
+        scroll.setPreferredSize(new Dimension(700, 300));
+        JOptionPane.showMessageDialog(this, scroll, report.getTitle() + " (" + report.getReportType() + ")", JOptionPane.PLAIN_MESSAGE);
+    }
+
     private void deleteReport() {
         int selectedRow = reportTable.getSelectedRow();
         if (selectedRow >= 0) {
             int reportId = (Integer) tableModel.getValueAt(selectedRow, 0);
             int option = JOptionPane.showConfirmDialog(this, "Are you sure you want to delete this report?", "Confirm Delete", JOptionPane.YES_NO_OPTION);
             if (option == JOptionPane.YES_OPTION) {
-                if (reportDAO.deleteReport(reportId)) {
-                    JOptionPane.showMessageDialog(this, "Report deleted successfully!");
-                    loadReports();
-                } else {
-                    JOptionPane.showMessageDialog(this, "Failed to delete report.", "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                UiTask.run(this, () -> reportDAO.deleteReport(reportId), deleted -> {
+                    if (deleted) {
+                        JOptionPane.showMessageDialog(this, "Report deleted successfully!");
+                        loadReports();
+                    } else {
+                        JOptionPane.showMessageDialog(this, "Failed to delete report.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             }
         } else {
             JOptionPane.showMessageDialog(this, "Please select a report to delete.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -116,23 +116,31 @@ public class SignUpFrame extends JFrame {
             }
 
             AuthService authService = new AuthService();
-            boolean success = authService.register(
+            signupBtn.setEnabled(false);
+            UiTask.run(this, () -> authService.register(
                     username, password, name, email,
                     matricule, level, role
-            );
-
-            if (success) {
-                JOptionPane.showMessageDialog(this,
-                        "Account created successfully!",
-                        "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
-                dispose();
-            } else {
+            ), success -> {
+                signupBtn.setEnabled(true);
+                if (success) {
+                    JOptionPane.showMessageDialog(this,
+                            "Account created successfully!",
+                            "Success",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    dispose();
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                            "Registration failed. Username or email already exists.",
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }, ex -> {
+                signupBtn.setEnabled(true);
                 JOptionPane.showMessageDialog(this,
-                        "Registration failed. Username or email already exists.",
+                        "Registration failed: " + ex.getMessage(),
                         "Error",
                         JOptionPane.ERROR_MESSAGE);
-            }
+            });
         });
 
         backBtn.addActionListener(e -> dispose());
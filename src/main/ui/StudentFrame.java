@@ -4,17 +4,19 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import model.User;
 import model.*;
-import dao.*;
 import service.*;
+import utils.AttendanceBitmap;
 
 public class StudentFrame extends JFrame {
 
     private User currentUser;
-    private int studentId;
+    private StudentPortalService portal;
 
     public StudentFrame(User user) {
         this.currentUser = user;
@@ -27,6 +29,10 @@ public class StudentFrame extends JFrame {
     }
 
     private void buildStudentDashboard() {
+        // Fire every portal query now; each tab fills in as its data arrives
+        portal = new StudentPortalService(currentUser, UiTask.executor());
+        portal.preload();
+
         setTitle("Student Dashboard - " + currentUser.getName());
         setSize(900, 700);
         setDefaultCloseOperation(DISPOSE_ON_CLOSE);
@@ -81,13 +87,12 @@ public class StudentFrame extends JFrame {
 
     private JPanel createCoursesPanel() {
         JPanel panel = new JPanel(new BorderLayout());
-        EnrollmentDAO dao = new EnrollmentDAO();
-        List<Enrollment> enrollments = dao.getEnrollmentsByStudent(studentId);
-
         DefaultTableModel model = new DefaultTableModel(new String[]{"Course Name", "Status", "Grade"}, 0);
-        for (Enrollment e : enrollments) {
-            model.addRow(new Object[]{e.getCourseName(), e.getStatus(), e.getGrade()});
-        }
+        UiTask.whenDone(this, portal.getEnrollments(), enrollments -> {
+            for (Enrollment e : enrollments) {
+                model.addRow(new Object[]{e.getCourseName(), e.getStatus(), e.getGrade()});
+            }
+        });
         JTable table = new JTable(model);
         panel.add(new JScrollPane(table), BorderLayout.CENTER);
         return panel;
@@ -99,61 +104,75 @@ public class StudentFrame extends JFrame {
 
     private JPanel createTranscriptPanel() {
         JPanel panel = new JPanel(new BorderLayout());
-        JTextArea textArea = new JTextArea();
+        JTextArea textArea = new JTextArea("Loading transcript...");
         textArea.setEditable(false);
 
-        // Build transcript text
-        StringBuilder sb = new StringBuilder();
-        sb.append("Transcript for ").append(currentUser.getName()).append("\n\n");
+        // Built from the same results as the Attendance and Fees tabs
+        CompletableFuture<Transcript> courses = portal.getTranscript();
+        CompletableFuture<AttendanceBitmap> attendance = portal.getAttendanceBitmap();
+        CompletableFuture<List<Fee>> fees = portal.getFees();
+        CompletableFuture<String> transcript = CompletableFuture.allOf(courses, attendance, fees)
+                .thenApply(v -> buildTranscript(courses.join(), attendance.join(), fees.join()));
+        panel.add(new JScrollPane(textArea), BorderLayout.CENTER);
+
+        // Enabled once the transcript is built, so the placeholder text is never saved
+        JButton downloadBtn = new JButton("Download Transcript");
+        downloadBtn.setEnabled(false);
+        UiTask.whenDone(this, transcript, text -> {
+            textArea.setText(text);
+            downloadBtn.setEnabled(true);
+        });
+        downloadBtn.addActionListener(e -> {
+            String text = transcript.join(); // already complete while the button is enabled
+            UiTask.run(this, () -> {
+                try (FileWriter fw = new FileWriter("transcript.txt")) {
+                    fw.write(text);
+                }
+                return null;
+            }, done -> JOptionPane.showMessageDialog(this, "Transcript saved to transcript.txt"));
+        });
+        panel.add(downloadBtn, BorderLayout.SOUTH);
+
+        return panel;
+    }
 
-        EnrollmentDAO eDao = new EnrollmentDAO();
-        List<Enrollment> enrollments = eDao.getEnrollmentsByStudent(studentId);
-        sb.append("Courses Taken:\n");
-        for (Enrollment e : enrollments) {
-            sb.append(e.getCourseName()).append(" - Grade: ").append(e.getGrade()).append("\n");
+    private String buildTranscript(Transcript courses, AttendanceBitmap attendance, List<Fee> fees) {
+        StringBuilder sb = new StringBuilder();
+        if (courses != null) {
+            try {
+                TranscriptService.write(courses, sb);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // StringBuilder never throws
+            }
+        } else {
+            sb.append("Transcript for ").append(currentUser.getName()).append("\n\nNo student record found.\n");
         }
 
-        // Attendance summary
-        AttendanceDAO aDao = new AttendanceDAO();
-        List<Attendance> attendances = aDao.getAttendanceByStudent(studentId);
-        int total = attendances.size();
-        long present = attendances.stream().filter(a -> "Present".equals(a.getStatus())).count();
-        sb.append("\nAttendance Summary: ").append(present).append("/").append(total).append(" days present\n");
+        // Attendance summary for this school year
+        sb.append("\nAttendance Summary: ").append(attendance.countPresent()).append("/")
+          .append(attendance.countRecorded()).append(" days present");
+        if (attendance.countRecorded() > 0) {
+            sb.append(String.format(" (%.1f%%), current streak %d days",
+                    attendance.getRate() * 100, attendance.currentStreak(java.time.LocalDate.now())));
+        }
+        sb.append("\n");
 
         // Fee history
-        FeeDAO fDao = new FeeDAO();
-        List<Fee> fees = fDao.getFeesByStudent(studentId);
         sb.append("\nFee Payment History:\n");
         for (Fee f : fees) {
             sb.append("Type: ").append(f.getFeeType()).append(", Amount: ").append(f.getAmount()).append(", Status: ").append(f.getStatus()).append("\n");
         }
-
-        textArea.setText(sb.toString());
-        panel.add(new JScrollPane(textArea), BorderLayout.CENTER);
-
-        JButton downloadBtn = new JButton("Download Transcript");
-        downloadBtn.addActionListener(e -> {
-            try (FileWriter fw = new FileWriter("transcript.txt")) {
-                fw.write(sb.toString());
-                JOptionPane.showMessageDialog(this, "Transcript saved to transcript.txt");
-            } catch (IOException ex) {
-                ex.printStackTrace();
-            }
-        });
-        panel.add(downloadBtn, BorderLayout.SOUTH);
-
-        return panel;
+        return sb.toString();
     }
 
     private JPanel createAttendancePanel() {
         JPanel panel = new JPanel(new BorderLayout());
-        AttendanceDAO dao = new AttendanceDAO();
-        List<Attendance> attendances = dao.getAttendanceByStudent(studentId);
-
         DefaultTableModel model = new DefaultTableModel(new String[]{"Date", "Present"}, 0);
-        for (Attendance a : attendances) {
-            model.addRow(new Object[]{a.getDate(), "Present".equals(a.getStatus()) ? "Yes" : "No"});
-        }
+        UiTask.whenDone(this, portal.getAttendance(), attendances -> {
+            for (Attendance a : attendances) {
+                model.addRow(new Object[]{a.getDate(), "Present".equals(a.getStatus()) ? "Yes" : "No"});
+            }
+        });
         JTable table = new JTable(model);
         panel.add(new JScrollPane(table), BorderLayout.CENTER);
         return panel;
@@ -161,13 +180,12 @@ public class StudentFrame extends JFrame {
 
     private JPanel createFeesPanel() {
         JPanel panel = new JPanel(new BorderLayout());
-        FeeDAO dao = new FeeDAO();
-        List<Fee> fees = dao.getFeesByStudent(studentId);
-
         DefaultTableModel model = new DefaultTableModel(new String[]{"Type", "Amount", "Paid", "Status", "Due Date"}, 0);
-        for (Fee f : fees) {
-            model.addRow(new Object[]{f.getFeeType(), f.getAmount(), f.getPaidAmount(), f.getStatus(), f.getDueDate()});
-        }
+        UiTask.whenDone(this, portal.getFees(), fees -> {
+            for (Fee f : fees) {
+                model.addRow(new Object[]{f.getFeeType(), f.getAmount(), f.getPaidAmount(), f.getStatus(), f.getDueDate()});
+            }
+        });
         JTable table = new JTable(model);
         panel.add(new JScrollPane(table), BorderLayout.CENTER);
         return panel;
@@ -175,13 +193,12 @@ public class StudentFrame extends JFrame {
 
     private JPanel createAnnouncementsPanel() {
         JPanel panel = new JPanel(new BorderLayout());
-        AnnouncementDAO dao = new AnnouncementDAO();
-        List<Announcement> announcements = dao.getAnnouncementsForAudience("STUDENT");
-
         DefaultTableModel model = new DefaultTableModel(new String[]{"Title", "Content", "Date"}, 0);
-        for (Announcement a : announcements) {
-            model.addRow(new Object[]{a.getTitle(), a.getContent(), a.getPublishDate()});
-        }
+        UiTask.whenDone(this, portal.getAnnouncements(), announcements -> {
+            for (Announcement a : announcements) {
+                model.addRow(new Object[]{a.getTitle(), a.getContent(), a.getPublishDate()});
+            }
+        });
         JTable table = new JTable(model);
         panel.add(new JScrollPane(table), BorderLayout.CENTER);
         return panel;
@@ -189,13 +206,12 @@ public class StudentFrame extends JFrame {
 
     private JPanel createTimetablePanel() {
         JPanel panel = new JPanel(new BorderLayout());
-        TimetableDAO dao = new TimetableDAO();
-        List<Timetable> timetables = dao.getAllTimetables(); // Placeholder: filter by student's courses
-
         DefaultTableModel model = new DefaultTableModel(new String[]{"Day", "Time", "Course", "Room"}, 0);
-        for (Timetable t : timetables) {
-            model.addRow(new Object[]{t.getDayOfWeek(), t.getStartTime() + "-" + t.getEndTime(), t.getCourseName(), t.getRoom()});
-        }
+        UiTask.whenDone(this, portal.getTimetables(), timetables -> {
+            for (Timetable t : timetables) {
+                model.addRow(new Object[]{t.getDayOfWeek(), t.getStartTime() + "-" + t.getEndTime(), t.getCourseName(), t.getRoom()});
+            }
+        });
         JTable table = new JTable(model);
         panel.add(new JScrollPane(table), BorderLayout.CENTER);
         return panel;
@@ -3,7 +3,9 @@ package ui;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import model.User;
 import model.*;
 import dao.*;
@@ -14,24 +16,31 @@ public class TeacherFrame extends JFrame {
     private User currentUser;
     private int teacherId;
 
+    // Filled from one timetable query once the dashboard is built
+    private DefaultTableModel coursesModel;
+    private DefaultTableModel timetableModel;
+    private JComboBox<String> attendanceCourseCombo;
+    private JComboBox<String> gradesCourseCombo;
+
     public TeacherFrame(User user) {
         this.currentUser = user;
 
         // Get teacher ID
         TeacherDAO teacherDAO = new TeacherDAO();
-        Teacher teacher = teacherDAO.getTeacherByEmail(currentUser.getEmail());
-        if (teacher != null) {
-            this.teacherId = teacher.getId();
-        } else {
-            JOptionPane.showMessageDialog(this, "Teacher record not found.", "Error", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
-
-        if ("TEACHER".equalsIgnoreCase(user.getRole())) {
-            buildTeacherDashboard();
-        } else {
-            buildManagementPanel();
-        }
+        UiTask.run(this, () -> teacherDAO.getTeacherByEmail(currentUser.getEmail()), teacher -> {
+            if (teacher != null) {
+                this.teacherId = teacher.getId();
+            } else {
+                JOptionPane.showMessageDialog(this, "Teacher record not found.", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            if ("TEACHER".equalsIgnoreCase(user.getRole())) {
+                buildTeacherDashboard();
+            } else {
+                buildManagementPanel();
+            }
+        });
     }
 
     private void buildTeacherDashboard() {
@@ -59,6 +68,30 @@ public class TeacherFrame extends JFrame {
 
         add(tabbedPane);
         setVisible(true);
+
+        loadAssignedTimetables();
+    }
+
+    private void loadAssignedTimetables() {
+        TimetableDAO timetableDAO = new TimetableDAO();
+        UiTask.run(this, () -> timetableDAO.getTimetablesByInstructor(currentUser.getName()), timetables -> {
+            for (Timetable t : timetables) {
+                coursesModel.addRow(new Object[]{
+                    t.getCourseName(),
+                    t.getDayOfWeek(),
+                    t.getStartTime() + " - " + t.getEndTime(),
+                    t.getRoom()
+                });
+                timetableModel.addRow(new Object[]{
+                    t.getDayOfWeek(),
+                    t.getStartTime() + " - " + t.getEndTime(),
+                    t.getCourseName(),
+                    t.getRoom()
+                });
+                attendanceCourseCombo.addItem(t.getCourseId() + " - " + t.getCourseName());
+                gradesCourseCombo.addItem(t.getCourseId() + " - " + t.getCourseName());
+            }
+        });
     }
 
     private void buildManagementPanel() {
@@ -116,22 +149,10 @@ public class TeacherFrame extends JFrame {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createTitledBorder("My Assigned Courses"));
 
-        TimetableDAO timetableDAO = new TimetableDAO();
-        List<Timetable> timetables = timetableDAO.getTimetablesByInstructor(currentUser.getName());
-
         String[] columns = {"Course Name", "Day", "Time", "Room"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0);
+        coursesModel = new DefaultTableModel(columns, 0);
 
-        for (Timetable t : timetables) {
-            model.addRow(new Object[]{
-                t.getCourseName(),
-                t.getDayOfWeek(),
-                t.getStartTime() + " - " + t.getEndTime(),
-                t.getRoom()
-            });
-        }
-
-        JTable table = new JTable(model);
+        JTable table = new JTable(coursesModel);
         JScrollPane scrollPane = new JScrollPane(table);
         panel.add(scrollPane, BorderLayout.CENTER);
 
@@ -145,22 +166,21 @@ public class TeacherFrame extends JFrame {
         // Top panel for course selection and date
         JPanel topPanel = new JPanel(new FlowLayout());
 
-        TimetableDAO timetableDAO = new TimetableDAO();
-        List<Timetable> timetables = timetableDAO.getTimetablesByInstructor(currentUser.getName());
-
         JComboBox<String> courseCombo = new JComboBox<>();
-        for (Timetable t : timetables) {
-            courseCombo.addItem(t.getCourseId() + " - " + t.getCourseName());
-        }
+        attendanceCourseCombo = courseCombo;
 
         JTextField dateField = new JTextField(10);
         dateField.setText(java.time.LocalDate.now().toString());
 
+        JSpinner slotSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 12, 1));
+
         JButton loadBtn = new JButton("Load Students");
         topPanel.add(new JLabel("Course:"));
         topPanel.add(courseCombo);
         topPanel.add(new JLabel("Date:"));
         topPanel.add(dateField);
+        topPanel.add(new JLabel("Slot:"));
+        topPanel.add(slotSpinner);
         topPanel.add(loadBtn);
 
         // Table for attendance
@@ -187,18 +207,44 @@ public class TeacherFrame extends JFrame {
             String selected = (String) courseCombo.getSelectedItem();
             if (selected != null) {
                 int courseId = Integer.parseInt(selected.split(" - ")[0]);
+                java.time.LocalDate date = java.time.LocalDate.parse(dateField.getText());
+                int slot = (Integer) slotSpinner.getValue();
                 EnrollmentDAO enrollmentDAO = new EnrollmentDAO();
-                List<Enrollment> enrollments = enrollmentDAO.getEnrollmentsByCourse(courseId);
+                AttendanceDAO attendanceDAO = new AttendanceDAO();
+                UiTask.run(panel, () -> {
+                    // Marks already taken for this session are shown instead of the defaults
+                    java.util.Map<Integer, Attendance> marks = new java.util.HashMap<>();
+                    for (Attendance a : attendanceDAO.getSessionAttendance(courseId, date, slot)) {
+                        marks.put(a.getStudentId(), a);
+                    }
+                    List<Object[]> rows = new java.util.ArrayList<>();
+                    for (Enrollment en : enrollmentDAO.getEnrollmentsByCourse(courseId)) {
+                        Attendance mark = marks.get(en.getStudentId());
+                        boolean present = mark == null || "Present".equals(mark.getStatus());
+                        String remarks = mark == null || mark.getRemarks() == null ? "" : mark.getRemarks();
+                        rows.add(new Object[]{en.getStudentId(), en.getStudentName(), present, remarks});
+                    }
+                    return rows;
+                }, rows -> {
 
-                model.setRowCount(0);
-                for (Enrollment en : enrollments) {
-                    model.addRow(new Object[]{en.getStudentId(), en.getStudentName(), true, ""});
-                }
+                    model.setRowCount(0);
+                    for (Object[] row : rows) {
+                        model.addRow(row);
+                    }
+                });
             }
         });
 
         saveBtn.addActionListener(e -> {
+            String selected = (String) courseCombo.getSelectedItem();
+            if (selected == null) {
+                return;
+            }
+            int courseId = Integer.parseInt(selected.split(" - ")[0]);
+            int slot = (Integer) slotSpinner.getValue();
             AttendanceDAO attendanceDAO = new AttendanceDAO();
+            java.time.LocalDate date = java.time.LocalDate.parse(dateField.getText());
+            List<Attendance> roster = new java.util.ArrayList<>();
             for (int i = 0; i < model.getRowCount(); i++) {
                 int studentId = (Integer) model.getValueAt(i, 0);
                 boolean present = (Boolean) model.getValueAt(i, 2);
@@ -206,13 +252,29 @@ public class TeacherFrame extends JFrame {
 
                 Attendance attendance = new Attendance();
                 attendance.setStudentId(studentId);
-                attendance.setDate(java.time.LocalDate.parse(dateField.getText()));
+                attendance.setDate(date);
                 attendance.setStatus(present ? "Present" : "Absent");
                 attendance.setRemarks(remarks);
-
-                attendanceDAO.markAttendance(attendance);
+                roster.add(attendance);
             }
-            JOptionPane.showMessageDialog(panel, "Attendance saved successfully!");
+
+            // Whole roster goes in one transaction
+            saveBtn.setEnabled(false);
+            UiTask.run(panel, () -> attendanceDAO.markSessionAttendance(courseId, date, slot, roster), saved -> {
+                saveBtn.setEnabled(true);
+                int failed = 0;
+                for (boolean ok : saved) {
+                    if (!ok) failed++;
+                }
+                if (failed == 0) {
+                    JOptionPane.showMessageDialog(panel, "Attendance saved successfully!");
+                } else {
+                    JOptionPane.showMessageDialog(panel, "Failed to save attendance for " + failed + " of " + saved.length + " students.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }, ex -> {
+                saveBtn.setEnabled(true);
+                JOptionPane.showMessageDialog(panel, "Failed to save attendance: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            });
         });
 
         return panel;
@@ -225,13 +287,8 @@ public class TeacherFrame extends JFrame {
         // Top panel for course selection
         JPanel topPanel = new JPanel(new FlowLayout());
 
-        TimetableDAO timetableDAO = new TimetableDAO();
-        List<Timetable> timetables = timetableDAO.getTimetablesByInstructor(currentUser.getName());
-
         JComboBox<String> courseCombo = new JComboBox<>();
-        for (Timetable t : timetables) {
-            courseCombo.addItem(t.getCourseId() + " - " + t.getCourseName());
-        }
+        gradesCourseCombo = courseCombo;
 
         JButton loadBtn = new JButton("Load Students");
         topPanel.add(new JLabel("Course:"));
@@ -258,12 +315,13 @@ public class TeacherFrame extends JFrame {
             if (selected != null) {
                 int courseId = Integer.parseInt(selected.split(" - ")[0]);
                 EnrollmentDAO enrollmentDAO = new EnrollmentDAO();
-                List<Enrollment> enrollments = enrollmentDAO.getEnrollmentsByCourse(courseId);
+                UiTask.run(panel, () -> enrollmentDAO.getEnrollmentsByCourse(courseId), enrollments -> {
 
-                model.setRowCount(0);
-                for (Enrollment en : enrollments) {
-                    model.addRow(new Object[]{en.getStudentId(), en.getStudentName(), en.getGrade()});
-                }
+                    model.setRowCount(0);
+                    for (Enrollment en : enrollments) {
+                        model.addRow(new Object[]{en.getStudentId(), en.getStudentName(), en.getGrade()});
+                    }
+                });
             }
         });
 
@@ -273,31 +331,46 @@ public class TeacherFrame extends JFrame {
             if (selected != null) {
                 int courseId = Integer.parseInt(selected.split(" - ")[0]);
 
+                Map<Integer, Double> grades = new LinkedHashMap<>();
+                int skipped = 0;
                 for (int i = 0; i < model.getRowCount(); i++) {
                     int studentId = (Integer) model.getValueAt(i, 0);
                     Double grade = null;
                     Object gradeObj = model.getValueAt(i, 2);
                     if (gradeObj instanceof Double) {
                         grade = (Double) gradeObj;
-                    } else if (gradeObj instanceof String && !((String) gradeObj).isEmpty()) {
+                    } else if (gradeObj instanceof String && !((String) gradeObj).trim().isEmpty()) {
                         try {
-                            grade = Double.parseDouble((String) gradeObj);
+                            grade = Double.parseDouble(((String) gradeObj).trim());
                         } catch (NumberFormatException ex) {
-                            // ignore
+                            skipped++;
+                            continue;
                         }
                     }
 
-                    // Find enrollment and update
-                    List<Enrollment> enrollments = enrollmentDAO.getEnrollmentsByCourse(courseId);
-                    for (Enrollment en : enrollments) {
-                        if (en.getStudentId() == studentId) {
-                            en.setGrade(grade);
-                            enrollmentDAO.updateEnrollment(en);
-                            break;
-                        }
+                    if (grade != null && (grade < 0 || grade > 100)) {
+                        skipped++;
+                        continue;
                     }
+                    grades.put(studentId, grade);
                 }
-                JOptionPane.showMessageDialog(panel, "Grades saved successfully!");
+
+                // One batched transaction for the whole course
+                int skippedCount = skipped;
+                saveBtn.setEnabled(false);
+                UiTask.run(panel, () -> enrollmentDAO.updateGradesForCourse(courseId, grades), updated -> {
+                    saveBtn.setEnabled(true);
+                    if (updated < 0) {
+                        JOptionPane.showMessageDialog(panel, "Failed to save grades.", "Error", JOptionPane.ERROR_MESSAGE);
+                    } else if (skippedCount > 0) {
+                        JOptionPane.showMessageDialog(panel, "Grades saved. " + skippedCount + " invalid grade(s) were skipped (must be 0-100).");
+                    } else {
+                        JOptionPane.showMessageDialog(panel, "Grades saved successfully!");
+                    }
+                }, ex -> {
+                    saveBtn.setEnabled(true);
+                    JOptionPane.showMessageDialog(panel, "Failed to save grades: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                });
             }
         });
 
@@ -308,22 +381,10 @@ public class TeacherFrame extends JFrame {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createTitledBorder("My Timetable"));
 
-        TimetableDAO timetableDAO = new TimetableDAO();
-        List<Timetable> timetables = timetableDAO.getTimetablesByInstructor(currentUser.getName());
-
         String[] columns = {"Day", "Time", "Course", "Room"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0);
-
-        for (Timetable t : timetables) {
-            model.addRow(new Object[]{
-                t.getDayOfWeek(),
-                t.getStartTime() + " - " + t.getEndTime(),
-                t.getCourseName(),
-                t.getRoom()
-            });
-        }
+        timetableModel = new DefaultTableModel(columns, 0);
 
-        JTable table = new JTable(model);
+        JTable table = new JTable(timetableModel);
         JScrollPane scrollPane = new JScrollPane(table);
         panel.add(scrollPane, BorderLayout.CENTER);
 
@@ -383,13 +444,15 @@ public class TeacherFrame extends JFrame {
             announcement.setPublishDate(java.time.LocalDate.now());
             announcement.setActive(true);
 
-            if (announcementDAO.addAnnouncement(announcement)) {
-                JOptionPane.showMessageDialog(panel, "Announcement sent successfully!");
-                titleField.setText("");
-                contentArea.setText("");
-            } else {
-                JOptionPane.showMessageDialog(panel, "Failed to send announcement.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            UiTask.run(panel, () -> announcementDAO.addAnnouncement(announcement), sent -> {
+                if (sent) {
+                    JOptionPane.showMessageDialog(panel, "Announcement sent successfully!");
+                    titleField.setText("");
+                    contentArea.setText("");
+                } else {
+                    JOptionPane.showMessageDialog(panel, "Failed to send announcement.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         });
 
         return panel;
@@ -118,26 +118,28 @@ public class TimetableFrame extends JFrame {
     }
 
     private void loadTimetables() {
-        tableModel.setRowCount(0);
-        List<Timetable> timetables = timetableDAO.getAllTimetables();
-        for (Timetable tt : timetables) {
-            tableModel.addRow(new Object[]{
-                tt.getId(),
-                tt.getCourseName(),
-                tt.getDayOfWeek(),
-                tt.getStartTime(),
-                tt.getEndTime(),
-                tt.getRoom(),
-                tt.getInstructor()
-            });
-        }
+        UiTask.run(this, timetableDAO::getAllTimetables, timetables -> {
+            tableModel.setRowCount(0);
+            for (Timetable tt : timetables) {
+                tableModel.addRow(new Object[]{
+                    tt.getId(),
+                    tt.getCourseName(),
+                    tt.getDayOfWeek(),
+                    tt.getStartTime(),
+                    tt.getEndTime(),
+                    tt.getRoom(),
+                    tt.getInstructor()
+                });
+            }
+        });
     }
 
     private void loadCourses() {
-        List<Course> courses = courseDAO.getAllCourses();
-        for (Course course : courses) {
-            courseCombo.addItem(course);
-        }
+        UiTask.run(this, courseDAO::getAllCourses, courses -> {
+            for (Course course : courses) {
+                courseCombo.addItem(course);
+            }
+        });
     }
 
     private void addTimetable() {
@@ -151,13 +153,15 @@ public class TimetableFrame extends JFrame {
             tt.setRoom(roomField.getText().trim());
             tt.setInstructor(instructorField.getText().trim());
 
-            if (timetableDAO.addTimetable(tt)) {
-                JOptionPane.showMessageDialog(this, "Schedule added successfully!");
-                loadTimetables();
-                clearForm();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to add schedule.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            UiTask.run(this, () -> timetableDAO.addTimetable(tt), added -> {
+                if (added) {
+                    JOptionPane.showMessageDialog(this, "Schedule added successfully!");
+                    loadTimetables();
+                    clearForm();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to add schedule.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
@@ -0,0 +1,201 @@
+package ui;
+
+import dao.DepartmentDAO;
+import dao.StudentDAO;
+import model.Department;
+import model.User;
+import service.TranscriptBatchService;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Registrar's batch run: transcripts for a class, a department or every student,
+ * written to a folder or a single zip in the background. An interrupted or cancelled
+ * run can be resumed into the same output.
+ */
+public class TranscriptBatchFrame extends JFrame {
+    private static final String INSTITUTION = "Entire institution";
+    private static final String CLASS = "Class";
+    private static final String DEPARTMENT = "Department";
+
+    private User currentUser;
+    private TranscriptBatchService batchService = new TranscriptBatchService();
+    private JComboBox<String> scopeCombo;
+    private JComboBox<Object> filterCombo;
+    private JComboBox<String> formatCombo;
+    private JCheckBox resumeBox;
+    private JProgressBar progressBar;
+    private JLabel statusLabel;
+    private JButton generateBtn;
+    private JButton cancelBtn;
+    private volatile boolean cancelRequested;
+
+    public TranscriptBatchFrame(User user) {
+        this.currentUser = user;
+
+        setTitle("Batch Transcripts");
+        setSize(600, 280);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        setLocationRelativeTo(null);
+
+        JPanel formPanel = new JPanel(new GridLayout(4, 2, 10, 10));
+        formPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        scopeCombo = new JComboBox<>(new String[]{INSTITUTION, CLASS, DEPARTMENT});
+        filterCombo = new JComboBox<>();
+        filterCombo.setEnabled(false);
+        formatCombo = new JComboBox<>(new String[]{"Folder of text files", "Single zip file"});
+        resumeBox = new JCheckBox("Resume an interrupted run (skip transcripts already written)");
+
+        formPanel.add(new JLabel("Students:"));
+        formPanel.add(scopeCombo);
+        formPanel.add(new JLabel("Class / Department:"));
+        formPanel.add(filterCombo);
+        formPanel.add(new JLabel("Output:"));
+        formPanel.add(formatCombo);
+        formPanel.add(new JLabel(""));
+        formPanel.add(resumeBox);
+
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        statusLabel = new JLabel("Choose the students and output, then press Generate.");
+        statusLabel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+
+        JPanel statusPanel = new JPanel(new BorderLayout());
+        statusPanel.add(progressBar, BorderLayout.NORTH);
+        statusPanel.add(statusLabel, BorderLayout.SOUTH);
+
+        JPanel buttonPanel = new JPanel();
+        generateBtn = new JButton("Generate");
+        cancelBtn = new JButton("Cancel");
+        cancelBtn.setEnabled(false);
+        buttonPanel.add(generateBtn);
+        buttonPanel.add(cancelBtn);
+
+        JPanel southPanel = new JPanel(new BorderLayout());
+        southPanel.add(statusPanel, BorderLayout.CENTER);
+        southPanel.add(buttonPanel, BorderLayout.SOUTH);
+
+        add(formPanel, BorderLayout.CENTER);
+        add(southPanel, BorderLayout.SOUTH);
+
+        scopeCombo.addActionListener(e -> loadFilters());
+        generateBtn.addActionListener(e -> generate());
+        cancelBtn.addActionListener(e -> {
+            cancelRequested = true;
+            cancelBtn.setEnabled(false);
+            statusLabel.setText("Cancelling after the transcripts in progress...");
+        });
+
+        setVisible(true);
+    }
+
+    private void loadFilters() {
+        String scope = (String) scopeCombo.getSelectedItem();
+        filterCombo.removeAllItems();
+        filterCombo.setEnabled(!INSTITUTION.equals(scope));
+        if (CLASS.equals(scope)) {
+            UiTask.run(this, () -> new StudentDAO().getClassNames(), names -> names.forEach(filterCombo::addItem));
+        } else if (DEPARTMENT.equals(scope)) {
+            UiTask.run(this, () -> new DepartmentDAO().getAllDepartments(),
+                    departments -> departments.forEach(filterCombo::addItem));
+        }
+    }
+
+    private void generate() {
+        String scopeName = (String) scopeCombo.getSelectedItem();
+        Object selected = filterCombo.getSelectedItem();
+        if (!INSTITUTION.equals(scopeName) && selected == null) {
+            JOptionPane.showMessageDialog(this, "Please select a " + scopeName.toLowerCase() + ".", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        TranscriptBatchService.Scope scope = CLASS.equals(scopeName) ? TranscriptBatchService.Scope.CLASS
+                : DEPARTMENT.equals(scopeName) ? TranscriptBatchService.Scope.DEPARTMENT
+                : TranscriptBatchService.Scope.INSTITUTION;
+        String filter = selected instanceof Department ? String.valueOf(((Department) selected).getId())
+                : selected != null ? selected.toString() : null;
+
+        Path output = chooseOutput(formatCombo.getSelectedIndex() == 1);
+        if (output == null) {
+            return;
+        }
+        boolean resume = resumeBox.isSelected();
+
+        cancelRequested = false;
+        generateBtn.setEnabled(false);
+        cancelBtn.setEnabled(true);
+        progressBar.setValue(0);
+        statusLabel.setText("Selecting students...");
+
+        UiTask.runWithProgress(this, progress -> batchService.generate(scope, filter, output, resume,
+                new TranscriptBatchService.Listener() {
+                    @Override
+                    public void progress(int done, int total) {
+                        progress.update(total == 0 ? 100 : (int) (done * 100L / total));
+                    }
+
+                    @Override
+                    public boolean isCancelled() {
+                        return cancelRequested || progress.isCancelled();
+                    }
+                }), percent -> {
+                    progressBar.setValue(percent);
+                    if (!cancelRequested) {
+                        statusLabel.setText("Writing transcripts to " + output + "...");
+                    }
+                }, result -> {
+                    generateBtn.setEnabled(true);
+                    cancelBtn.setEnabled(false);
+                    String summary = String.format("%d written, %d already done, %d failed of %d in %.1f s",
+                            result.getWritten(), result.getSkipped(), result.getFailed().size(),
+                            result.getTotal(), result.getElapsedMillis() / 1000.0);
+                    if (result.isCancelled()) {
+                        statusLabel.setText("Cancelled: " + summary + ". Tick Resume to continue.");
+                    } else if (!result.getFailed().isEmpty()) {
+                        statusLabel.setText(summary + ". Tick Resume and run again to retry the failures.");
+                        showFailures(result.getFailed());
+                    } else {
+                        statusLabel.setText("Done: " + summary);
+                    }
+                }, ex -> {
+                    generateBtn.setEnabled(true);
+                    cancelBtn.setEnabled(false);
+                    statusLabel.setText("Batch failed: " + ex.getMessage());
+                });
+    }
+
+    private Path chooseOutput(boolean zip) {
+        JFileChooser chooser = new JFileChooser();
+        if (zip) {
+            chooser.setDialogTitle("Save transcripts zip");
+            chooser.setSelectedFile(new File("transcripts.zip"));
+        } else {
+            chooser.setDialogTitle("Choose a folder for the transcripts");
+            chooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        }
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return null;
+        }
+        File selected = chooser.getSelectedFile();
+        if (zip && !selected.getName().toLowerCase().endsWith(".zip")) {
+            selected = new File(selected.getParentFile(), selected.getName() + ".zip");
+        }
+        return selected.toPath();
+    }
+
+    private void showFailures(List<Integer> failed) {
+        StringBuilder ids = new StringBuilder();
+        for (int i = 0; i < failed.size() && i < 50; i++) {
+            ids.append(i > 0 ? ", " : "").append(failed.get(i));
+        }
+        if (failed.size() > 50) {
+            ids.append(", ...");
+        }
+        JOptionPane.showMessageDialog(this, "Transcripts could not be written for student ids: " + ids,
+                "Some transcripts failed", JOptionPane.WARNING_MESSAGE);
+    }
+}
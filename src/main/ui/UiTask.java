@@ -0,0 +1,257 @@
+package ui;
+
+import config.AppConfig;
+
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import java.awt.Component;
+import java.awt.Cursor;
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs database work off the Event Dispatch Thread and hands the result back to it.
+ * While a task runs its window shows a wait cursor; closing the window cancels
+ * the tasks it started so their callbacks never touch a disposed frame.
+ */
+public final class UiTask<T> extends SwingWorker<T, Void> {
+
+    /**
+     * Background work that can report progress (0-100) and check for cancellation
+     */
+    public interface Work<T> {
+        T run(Progress progress) throws Exception;
+    }
+
+    public interface Progress {
+        void update(int percent);
+
+        boolean isCancelled();
+    }
+
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    // Running tasks per window, only touched on the EDT
+    private static final Map<Window, Set<UiTask<?>>> RUNNING = new HashMap<>();
+
+    private final Component owner;
+    private final Work<T> work;
+    private final Consumer<T> onSuccess;
+    private final Consumer<Exception> onFailure;
+    private Window window;
+
+    private UiTask(Component owner, Work<T> work, Consumer<T> onSuccess, Consumer<Exception> onFailure) {
+        this.owner = owner;
+        this.work = work;
+        this.onSuccess = onSuccess;
+        this.onFailure = onFailure != null ? onFailure : e -> showError(owner, e);
+    }
+
+    /**
+     * Run work in the background and pass its result to onSuccess on the EDT.
+     * Failures are reported in an error dialog.
+     */
+    public static <T> UiTask<T> run(Component owner, Callable<T> work, Consumer<T> onSuccess) {
+        return run(owner, work, onSuccess, null);
+    }
+
+    /**
+     * Run work in the background; onSuccess or onFailure is called on the EDT
+     */
+    public static <T> UiTask<T> run(Component owner, Callable<T> work, Consumer<T> onSuccess,
+                                    Consumer<Exception> onFailure) {
+        return start(new UiTask<>(owner, progress -> work.call(), onSuccess, onFailure));
+    }
+
+    /**
+     * Run long work that reports progress; onProgress receives 0-100 on the EDT
+     */
+    public static <T> UiTask<T> runWithProgress(Component owner, Work<T> work, IntConsumer onProgress,
+                                                Consumer<T> onSuccess, Consumer<Exception> onFailure) {
+        UiTask<T> task = new UiTask<>(owner, work, onSuccess, onFailure);
+        if (onProgress != null) {
+            task.addPropertyChangeListener(evt -> {
+                if ("progress".equals(evt.getPropertyName())) {
+                    onProgress.accept((Integer) evt.getNewValue());
+                }
+            });
+        }
+        return start(task);
+    }
+
+    /**
+     * Deliver the result of an already running future to onSuccess on the EDT.
+     * Nothing is delivered once the owner's window has been closed.
+     */
+    public static <T> void whenDone(Component owner, CompletableFuture<T> future, Consumer<T> onSuccess) {
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            Window window = owner instanceof Window ? (Window) owner : SwingUtilities.getWindowAncestor(owner);
+            if (window != null && !window.isDisplayable()) {
+                return;
+            }
+            if (error == null) {
+                onSuccess.accept(result);
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                showError(owner, cause instanceof Exception ? (Exception) cause : new ExecutionException(cause));
+            }
+        }));
+    }
+
+    /**
+     * The shared executor, for services that fan work out themselves
+     */
+    static Executor executor() {
+        return EXECUTOR;
+    }
+
+    /**
+     * Run a worker that manages its own callbacks on the shared UI executor
+     */
+    static void execute(SwingWorker<?, ?> worker) {
+        EXECUTOR.execute(worker);
+    }
+
+    private static <T> UiTask<T> start(UiTask<T> task) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            task.track();
+            EXECUTOR.execute(task);
+        } else {
+            SwingUtilities.invokeLater(() -> {
+                task.track();
+                EXECUTOR.execute(task);
+            });
+        }
+        return task;
+    }
+
+    @Override
+    protected T doInBackground() throws Exception {
+        return work.run(new Progress() {
+            @Override
+            public void update(int percent) {
+                setProgress(Math.max(0, Math.min(100, percent)));
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return UiTask.this.isCancelled();
+            }
+        });
+    }
+
+    @Override
+    protected void done() {
+        untrack();
+        if (isCancelled()) {
+            return;
+        }
+        T result;
+        try {
+            result = get();
+        } catch (CancellationException e) {
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            onFailure.accept(cause instanceof Exception ? (Exception) cause : e);
+            return;
+        }
+        if (onSuccess != null) {
+            onSuccess.accept(result);
+        }
+    }
+
+    private void track() {
+        window = owner == null ? null
+                : owner instanceof Window ? (Window) owner : SwingUtilities.getWindowAncestor(owner);
+        if (window == null) {
+            return;
+        }
+        Set<UiTask<?>> tasks = RUNNING.get(window);
+        if (tasks == null) {
+            tasks = new HashSet<>();
+            RUNNING.put(window, tasks);
+            window.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+            if (!hasCancelListener(window)) {
+                window.addWindowListener(new CancelOnClose());
+            }
+        }
+        tasks.add(this);
+    }
+
+    private void untrack() {
+        if (window == null) {
+            return;
+        }
+        Set<UiTask<?>> tasks = RUNNING.get(window);
+        if (tasks != null && tasks.remove(this) && tasks.isEmpty()) {
+            RUNNING.remove(window);
+            window.setCursor(Cursor.getDefaultCursor());
+        }
+    }
+
+    private static boolean hasCancelListener(Window window) {
+        for (Object l : window.getWindowListeners()) {
+            if (l instanceof CancelOnClose) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void showError(Component owner, Exception e) {
+        e.printStackTrace();
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        JOptionPane.showMessageDialog(owner, "Operation failed: " + message, "Error", JOptionPane.ERROR_MESSAGE);
+    }
+
+    private static ExecutorService createExecutor() {
+        int threads = Math.max(1, AppConfig.getUiTaskThreads());
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "ui-task-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Cancels the window's outstanding tasks once it is closed
+     */
+    private static final class CancelOnClose extends WindowAdapter {
+        @Override
+        public void windowClosed(WindowEvent e) {
+            Set<UiTask<?>> tasks = RUNNING.remove(e.getWindow());
+            if (tasks != null) {
+                for (UiTask<?> task : tasks) {
+                    task.cancel(false);
+                }
+            }
+        }
+    }
+}
@@ -1,16 +1,21 @@
-// package ui;
+package ui;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.List;
+import model.Page;
 import model.User;
+import dao.ExportDAO;
 import dao.UserDAO;
 import service.AuthService;
+import service.BulkImportService;
+import service.PasswordHashingService;
 
 public class UserManagementFrame extends JFrame {
 
     private User currentUser;
     private UserDAO userDAO = new UserDAO();
+    private ExportDAO exportDAO = new ExportDAO();
+    private final PasswordHashingService hashing = PasswordHashingService.getInstance();
     private AuthService authService = new AuthService();
     private JTable userTable;
     private UserTableModel tableModel;
@@ -30,7 +35,7 @@ public class UserManagementFrame extends JFrame {
         setLocationRelativeTo(null);
 
         // Table
-        tableModel = new UserTableModel();
+        tableModel = new UserTableModel(userDAO);
         userTable = new JTable(tableModel);
         JScrollPane scrollPane = new JScrollPane(userTable);
 
@@ -40,11 +45,15 @@ public class UserManagementFrame extends JFrame {
         JButton editBtn = new JButton("Edit User");
         JButton deleteBtn = new JButton("Delete User");
         JButton refreshBtn = new JButton("Refresh");
+        JButton exportBtn = new JButton("Export...");
+        JButton importBtn = new JButton("Import CSV...");
 
         buttonPanel.add(addBtn);
         buttonPanel.add(editBtn);
         buttonPanel.add(deleteBtn);
         buttonPanel.add(refreshBtn);
+        buttonPanel.add(exportBtn);
+        buttonPanel.add(importBtn);
 
         add(scrollPane, BorderLayout.CENTER);
         add(buttonPanel, BorderLayout.SOUTH);
@@ -55,13 +64,18 @@ public class UserManagementFrame extends JFrame {
         editBtn.addActionListener(e -> showEditUserDialog());
         deleteBtn.addActionListener(e -> deleteUser());
         refreshBtn.addActionListener(e -> loadUsers());
+        exportBtn.addActionListener(e -> ExportAction.run(this, "users", exportDAO::exportUsers));
+        importBtn.addActionListener(e -> ImportAction.run(this, kind -> {
+            if (kind == BulkImportService.Kind.USERS) {
+                loadUsers();
+            }
+        }));
 
         setVisible(true);
     }
 
     private void loadUsers() {
-        List<User> users = userDAO.getAllUsers();
-        tableModel.setUsers(users);
+        tableModel.reload();
     }
 
     private void showAddUserDialog() {
@@ -108,34 +122,35 @@ public class UserManagementFrame extends JFrame {
 
             User user = new User();
             user.setUsername(usernameField.getText().trim());
-            user.setPassword(authService.hashPassword(new String(passwordField.getPassword())));
+            String password = new String(passwordField.getPassword());
             user.setName(nameField.getText().trim());
             user.setEmail(emailField.getText().trim());
             user.setMatricule(matriculeField.getText().trim());
             user.setLevel(levelField.getText().trim());
             user.setRole(selectedRole);
 
-            if (userDAO.addUser(user)) {
-                loadUsers();
-                JOptionPane.showMessageDialog(this, "User added successfully");
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to add user");
-            }
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to add user");
-            }
+            UiTask.run(this, () -> {
+                user.setPassword(PasswordHashingService.await(hashing.hash(password)));
+                return userDAO.addUser(user);
+            }, added -> {
+                if (added) {
+                    loadUsers();
+                    JOptionPane.showMessageDialog(this, "User added successfully");
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to add user");
+                }
+            });
         }
     }
 
     private void showEditUserDialog() {
         int selectedRow = userTable.getSelectedRow();
-        if (selectedRow == -1) {
+        User user = selectedRow == -1 ? null : tableModel.getRowAt(selectedRow);
+        if (user == null) {
             JOptionPane.showMessageDialog(this, "Select a user to edit");
             return;
         }
 
-        User user = tableModel.getUserAt(selectedRow);
-
         JTextField usernameField = new JTextField(user.getUsername());
         JPasswordField passwordField = new JPasswordField(); // Leave empty to keep current
         JTextField nameField = new JTextField(user.getName());
@@ -180,75 +195,78 @@ public class UserManagementFrame extends JFrame {
 
             user.setUsername(usernameField.getText().trim());
             String password = new String(passwordField.getPassword());
-            if (!password.isEmpty()) {
-                user.setPassword(authService.hashPassword(password));
-            }
             user.setName(nameField.getText().trim());
             user.setEmail(emailField.getText().trim());
             user.setMatricule(matriculeField.getText().trim());
             user.setLevel(levelField.getText().trim());
             user.setRole(newRole);
 
-            if (userDAO.updateUser(user)) {
-                loadUsers();
-                JOptionPane.showMessageDialog(this, "User updated successfully");
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to update user");
-            }
+            UiTask.run(this, () -> {
+                if (!password.isEmpty()) {
+                    user.setPassword(PasswordHashingService.await(hashing.hash(password)));
+                }
+                return userDAO.updateUser(user);
+            }, updated -> {
+                if (updated) {
+                    loadUsers();
+                    JOptionPane.showMessageDialog(this, "User updated successfully");
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to update user");
+                }
+            });
         }
     }
 
     private void deleteUser() {
         int selectedRow = userTable.getSelectedRow();
-        if (selectedRow == -1) {
+        User user = selectedRow == -1 ? null : tableModel.getRowAt(selectedRow);
+        if (user == null) {
             JOptionPane.showMessageDialog(this, "Select a user to delete");
             return;
         }
-
-        User user = tableModel.getUserAt(selectedRow);
         int option = JOptionPane.showConfirmDialog(this, "Delete user " + user.getUsername() + "?", "Confirm", JOptionPane.YES_NO_OPTION);
         if (option == JOptionPane.YES_OPTION) {
-            if (userDAO.deleteUser(user.getId())) {
-                loadUsers();
-                JOptionPane.showMessageDialog(this, "User deleted successfully");
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to delete user");
-            }
+            UiTask.run(this, () -> userDAO.deleteUser(user.getId()), deleted -> {
+                if (deleted) {
+                    loadUsers();
+                    JOptionPane.showMessageDialog(this, "User deleted successfully");
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to delete user");
+                }
+            });
         }
     }
 
-    // Simple table model
-    private static class UserTableModel extends javax.swing.table.AbstractTableModel {
-        private List<User> users = java.util.Collections.emptyList();
-        private String[] columns = {"ID", "Username", "Name", "Email", "Matricule", "Level", "Role"};
+    // Users are read a block at a time as the table scrolls
+    private static class UserTableModel extends LazyTableModel<User> {
+        private static final String[] COLUMNS = {"ID", "Username", "Name", "Email", "Matricule", "Level", "Role"};
 
-        public void setUsers(List<User> users) {
-            this.users = users;
-            fireTableDataChanged();
-        }
-
-        public User getUserAt(int row) {
-            return users.get(row);
-        }
+        UserTableModel(UserDAO userDAO) {
+            super(COLUMNS, new RowSource<User>() {
+                @Override
+                public int count() {
+                    return userDAO.getUserCount();
+                }
 
-        @Override
-        public int getRowCount() {
-            return users.size();
-        }
+                @Override
+                public Page<User> page(int afterId, int limit) {
+                    return userDAO.getUsersPage(afterId, limit);
+                }
 
-        @Override
-        public int getColumnCount() {
-            return columns.length;
+                @Override
+                public int cursorAt(int offset) {
+                    return userDAO.getUserCursorAt(offset);
+                }
+            });
         }
 
         @Override
-        public String getColumnName(int column) {
-            return columns[column];
+        protected int idOf(User user) {
+            return user.getId();
         }
 
         @Override
-        public Object getValueAt(int rowIndex, int columnIndex) {
-            User user = users.get(rowIndex);
+        protected Object columnValue(User user, int columnIndex) {
             switch (columnIndex) {
                 case 0: return user.getId();
                 case 1: return user.getUsername();
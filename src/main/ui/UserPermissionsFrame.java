@@ -1,6 +1,7 @@
 package ui;
 
 import dao.UserDAO;
+import model.Permission;
 import model.User;
 import service.AuthService;
 import javax.swing.*;
@@ -121,9 +122,11 @@ public class UserPermissionsFrame extends JFrame {
                     newRoleCombo.setSelectedItem(role);
 
                     // Set permission checkboxes based on role
-                    boolean isAdmin = "ADMIN".equals(role);
-                    adminBox.setSelected(isAdmin);
-                    superBox.setSelected("SUPERADMIN".equals(role));
+                    int permissions = Permission.forRole(role);
+                    readBox.setSelected(Permission.READ.in(permissions));
+                    writeBox.setSelected(Permission.WRITE.in(permissions));
+                    adminBox.setSelected(Permission.ADMIN.in(permissions));
+                    superBox.setSelected(Permission.SUPER_ADMIN.in(permissions));
                 }
             }
         });
@@ -138,19 +141,20 @@ public class UserPermissionsFrame extends JFrame {
     }
 
     private void loadUsers() {
-        List<User> users = userDAO.getAllUsers();
-        tableModel.setRowCount(0);
-
-        for (User user : users) {
-            tableModel.addRow(new Object[]{
-                user.getId(),
-                user.getUsername(),
-                user.getName(),
-                user.getEmail(),
-                user.getRole(),
-                "Active" // Mock status
-            });
-        }
+        UiTask.run(this, userDAO::getAllUsers, users -> {
+            tableModel.setRowCount(0);
+
+            for (User user : users) {
+                tableModel.addRow(new Object[]{
+                    user.getId(),
+                    user.getUsername(),
+                    user.getName(),
+                    user.getEmail(),
+                    user.getRole(),
+                    "Active" // Mock status
+                });
+            }
+        });
     }
 
     private void updateUserRole(String username, String newRole) {
@@ -165,16 +169,19 @@ public class UserPermissionsFrame extends JFrame {
             return;
         }
 
-        User user = userDAO.getUserByUsername(username);
-        if (user != null) {
-            user.setRole(newRole);
-            if (userDAO.updateUser(user)) {
-                JOptionPane.showMessageDialog(this, "User role updated successfully!");
-                loadUsers();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to update user role");
+        UiTask.run(this, () -> userDAO.findByUsername(username), user -> {
+            if (user != null) {
+                user.setRole(newRole);
+                UiTask.run(this, () -> userDAO.updateUser(user), updated -> {
+                    if (updated) {
+                        JOptionPane.showMessageDialog(this, "User role updated successfully!");
+                        loadUsers();
+                    } else {
+                        JOptionPane.showMessageDialog(this, "Failed to update user role");
+                    }
+                });
             }
-        }
+        });
     }
 
     private void grantAdminRights(String username) {
@@ -0,0 +1,226 @@
+package utils;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * One student's attendance for one school year, one bit per day. A "recorded" bit
+ * says attendance was taken that day and a "present" bit says the student attended,
+ * so rates and range counts are popcounts over a few longs. The byte form matches
+ * PostgreSQL's bytea bit numbering (get_bit/set_bit), so the database can update a
+ * stored bitmap in place.
+ */
+public class AttendanceBitmap {
+
+    public static final int MAX_DAYS = 366;
+    public static final int BYTES = (MAX_DAYS + 7) / 8;
+
+    private static final int WORDS = (MAX_DAYS + 63) / 64;
+
+    private final LocalDate termStart;
+    private final long[] recorded = new long[WORDS];
+    private final long[] present = new long[WORDS];
+
+    public AttendanceBitmap(LocalDate termStart) {
+        this.termStart = termStart;
+    }
+
+    /**
+     * Rebuild a bitmap from its stored bytes
+     */
+    public static AttendanceBitmap fromBytes(LocalDate termStart, byte[] recorded, byte[] present) {
+        AttendanceBitmap bitmap = new AttendanceBitmap(termStart);
+        unpack(recorded, bitmap.recorded);
+        unpack(present, bitmap.present);
+        return bitmap;
+    }
+
+    /**
+     * First day of the school year containing date, given the day each year starts
+     */
+    public static LocalDate termStart(LocalDate date, MonthDay start) {
+        LocalDate candidate = start.atYear(date.getYear());
+        return candidate.isAfter(date) ? start.atYear(date.getYear() - 1) : candidate;
+    }
+
+    public LocalDate getTermStart() {
+        return termStart;
+    }
+
+    /**
+     * Bit index of a date, or -1 if it falls outside this term
+     */
+    public int dayIndex(LocalDate date) {
+        long days = ChronoUnit.DAYS.between(termStart, date);
+        return days >= 0 && days < MAX_DAYS ? (int) days : -1;
+    }
+
+    public boolean contains(LocalDate date) {
+        return dayIndex(date) >= 0;
+    }
+
+    public void mark(LocalDate date, boolean wasPresent) {
+        int day = requireDay(date);
+        recorded[day >>> 6] |= 1L << day;
+        if (wasPresent) {
+            present[day >>> 6] |= 1L << day;
+        } else {
+            present[day >>> 6] &= ~(1L << day);
+        }
+    }
+
+    public void clear(LocalDate date) {
+        int day = requireDay(date);
+        recorded[day >>> 6] &= ~(1L << day);
+        present[day >>> 6] &= ~(1L << day);
+    }
+
+    public boolean isRecorded(LocalDate date) {
+        int day = dayIndex(date);
+        return day >= 0 && (recorded[day >>> 6] & (1L << day)) != 0;
+    }
+
+    public boolean isPresent(LocalDate date) {
+        int day = dayIndex(date);
+        return day >= 0 && (present[day >>> 6] & (1L << day)) != 0;
+    }
+
+    public int countRecorded() {
+        return count(recorded, 0, MAX_DAYS);
+    }
+
+    public int countPresent() {
+        return count(present, 0, MAX_DAYS);
+    }
+
+    /**
+     * Days with attendance taken between from and to, both inclusive
+     */
+    public int countRecorded(LocalDate from, LocalDate to) {
+        return count(recorded, clip(from), clip(to.plusDays(1)));
+    }
+
+    /**
+     * Days present between from and to, both inclusive
+     */
+    public int countPresent(LocalDate from, LocalDate to) {
+        return count(present, clip(from), clip(to.plusDays(1)));
+    }
+
+    /**
+     * Share of recorded days attended, 0 when nothing has been recorded
+     */
+    public double getRate() {
+        int days = countRecorded();
+        return days == 0 ? 0 : (double) countPresent() / days;
+    }
+
+    /**
+     * Recorded days in a row attended up to and including asOf; days without a record are skipped
+     */
+    public int currentStreak(LocalDate asOf) {
+        return streak(asOf, true);
+    }
+
+    /**
+     * Recorded days in a row missed up to and including asOf; days without a record are skipped
+     */
+    public int currentAbsenceStreak(LocalDate asOf) {
+        return streak(asOf, false);
+    }
+
+    /**
+     * Longest run of consecutive recorded days attended this term
+     */
+    public int longestStreak() {
+        int best = 0;
+        int run = 0;
+        for (int day = 0; day < MAX_DAYS; day++) {
+            if (!bit(recorded, day)) {
+                continue;
+            }
+            run = bit(present, day) ? run + 1 : 0;
+            best = Math.max(best, run);
+        }
+        return best;
+    }
+
+    public byte[] getRecordedBytes() {
+        return pack(recorded);
+    }
+
+    public byte[] getPresentBytes() {
+        return pack(present);
+    }
+
+    private int streak(LocalDate asOf, boolean wanted) {
+        int last = asOf.isBefore(termStart) ? -1 : clip(asOf.plusDays(1)) - 1;
+        int run = 0;
+        for (int day = last; day >= 0; day--) {
+            if (!bit(recorded, day)) {
+                continue;
+            }
+            if (bit(present, day) != wanted) {
+                break;
+            }
+            run++;
+        }
+        return run;
+    }
+
+    private int requireDay(LocalDate date) {
+        int day = dayIndex(date);
+        if (day < 0) {
+            throw new IllegalArgumentException(date + " is outside the term starting " + termStart);
+        }
+        return day;
+    }
+
+    // Day index of date clamped to [0, MAX_DAYS]
+    private int clip(LocalDate date) {
+        long days = ChronoUnit.DAYS.between(termStart, date);
+        return (int) Math.max(0, Math.min(MAX_DAYS, days));
+    }
+
+    private static boolean bit(long[] bits, int day) {
+        return (bits[day >>> 6] & (1L << day)) != 0;
+    }
+
+    // Set bits in [from, to)
+    private static int count(long[] bits, int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> (63 - ((to - 1) & 63));
+        if (first == last) {
+            return Long.bitCount(bits[first] & firstMask & lastMask);
+        }
+        int total = Long.bitCount(bits[first] & firstMask);
+        for (int w = first + 1; w < last; w++) {
+            total += Long.bitCount(bits[w]);
+        }
+        return total + Long.bitCount(bits[last] & lastMask);
+    }
+
+    // Little-endian bytes: bit n is bit (n % 8) of byte n / 8, as in PostgreSQL
+    private static byte[] pack(long[] bits) {
+        byte[] bytes = new byte[BYTES];
+        for (int i = 0; i < BYTES; i++) {
+            bytes[i] = (byte) (bits[i >>> 3] >>> ((i & 7) * 8));
+        }
+        return bytes;
+    }
+
+    private static void unpack(byte[] bytes, long[] bits) {
+        if (bytes == null) {
+            return;
+        }
+        for (int i = 0; i < Math.min(BYTES, bytes.length); i++) {
+            bits[i >>> 3] |= (bytes[i] & 0xFFL) << ((i & 7) * 8);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time: quoted fields may contain commas,
+ * doubled quotes and line breaks. Blank lines are skipped.
+ */
+public class CsvReader implements Closeable {
+
+    private final Reader in;
+    private int pushedBack = -2; // -2 = nothing pushed back
+    private int lineNumber = 1;
+    private int recordLine;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Next record, or null at end of input
+     */
+    public String[] readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        recordLine = lineNumber;
+
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (!any && field.length() == 0 && fields.isEmpty()) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields.toArray(new String[0]);
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+                continue;
+            }
+            switch (c) {
+                case '"':
+                    quoted = true;
+                    any = true;
+                    break;
+                case ',':
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    any = true;
+                    break;
+                case '\r':
+                    break;
+                case '\n':
+                    lineNumber++;
+                    if (!any && field.length() == 0 && fields.isEmpty()) {
+                        recordLine = lineNumber; // blank line
+                        break;
+                    }
+                    fields.add(field.toString());
+                    return fields.toArray(new String[0]);
+                default:
+                    field.append((char) c);
+                    any = true;
+            }
+        }
+    }
+
+    /**
+     * Line number in the file where the last returned record started
+     */
+    public int getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
@@ -0,0 +1,128 @@
+package utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+/**
+ * File formats for data exports. Rows are written one at a time so an export
+ * never has to hold more than the current row in memory.
+ */
+public enum ExportFormat {
+
+    /** Comma-separated values with a header row (RFC 4180 quoting) */
+    CSV("csv") {
+        @Override
+        public void writeHeader(Writer out, String[] columns) throws IOException {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writeCsvValue(out, columns[i]);
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        public void writeRow(Writer out, String[] columns, Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                if (values[i] != null) {
+                    writeCsvValue(out, text(values[i]));
+                }
+            }
+            out.write("\r\n");
+        }
+    },
+
+    /** One JSON object per line, keyed by column name */
+    JSONL("jsonl") {
+        @Override
+        public void writeHeader(Writer out, String[] columns) {
+            // Every line names its own fields
+        }
+
+        @Override
+        public void writeRow(Writer out, String[] columns, Object[] values) throws IOException {
+            out.write('{');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writeJsonString(out, columns[i]);
+                out.write(':');
+                Object value = values[i];
+                if (value == null) {
+                    out.write("null");
+                } else if (value instanceof Number || value instanceof Boolean) {
+                    out.write(text(value));
+                } else {
+                    writeJsonString(out, value.toString());
+                }
+            }
+            out.write("}\n");
+        }
+    };
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public abstract void writeHeader(Writer out, String[] columns) throws IOException;
+
+    public abstract void writeRow(Writer out, String[] columns, Object[] values) throws IOException;
+
+    /**
+     * Format matching a file name's extension, CSV if it has no known one
+     */
+    public static ExportFormat forFileName(String fileName) {
+        String lower = fileName.toLowerCase();
+        return lower.endsWith(".jsonl") || lower.endsWith(".json") ? JSONL : CSV;
+    }
+
+    // Decimals without exponent notation, e.g. 1500.00 rather than 1.5E+3
+    private static String text(Object value) {
+        return value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+    }
+
+    private static void writeCsvValue(Writer out, String value) throws IOException {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    private static void writeJsonString(Writer out, String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': out.write("\\\""); break;
+                case '\\': out.write("\\\\"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                case '\t': out.write("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
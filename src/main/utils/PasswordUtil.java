@@ -1,48 +1,151 @@
 package utils;
 
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.security.SecureRandom;
 import java.security.spec.KeySpec;
 import java.util.Base64;
 import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.PBEKeySpec;
 
+/**
+ * PBKDF2 password hashing. Hashes are stored as "pbkdf2-sha256:iterations:salt:hash";
+ * older "iterations:salt:hash" values still verify and are reported by needsRehash().
+ */
 public class PasswordUtil {
+    public static final String ALGORITHM_ID = "pbkdf2-sha256";
+    public static final int MIN_ITERATIONS = 65536;
+
     private static final int SALT_LEN = 16;
-    private static final int ITERATIONS = 65536;
     private static final int KEY_LENGTH = 256; // bits
 
+    // Work factor for new hashes, raised by calibrate() or setIterations()
+    private static volatile int iterations = MIN_ITERATIONS;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // SecretKeyFactory is not thread-safe, so each hashing thread keeps its own
+    private static final ThreadLocal<SecretKeyFactory> KEY_FACTORY = ThreadLocal.withInitial(() -> {
+        try {
+            return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2WithHmacSHA256 not available", e);
+        }
+    });
+
     public static String hash(String password) {
+        return hash(password, iterations);
+    }
+
+    public static String hash(String password, int iterations) {
         try {
             byte[] salt = new byte[SALT_LEN];
-            SecureRandom sr = new SecureRandom();
-            sr.nextBytes(salt);
+            RANDOM.nextBytes(salt);
 
-            KeySpec spec = new PBEKeySpec(password.toCharArray(), salt, ITERATIONS, KEY_LENGTH);
-            SecretKeyFactory f = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
-            byte[] hash = f.generateSecret(spec).getEncoded();
+            byte[] hash = derive(password, salt, iterations, KEY_LENGTH);
 
             String sSalt = Base64.getEncoder().encodeToString(salt);
             String sHash = Base64.getEncoder().encodeToString(hash);
-            return ITERATIONS + ":" + sSalt + ":" + sHash;
+            return ALGORITHM_ID + ":" + iterations + ":" + sSalt + ":" + sHash;
         } catch (Exception e) {
             throw new RuntimeException("Failed to hash password", e);
         }
     }
 
+    /**
+     * Check a password against a stored hash. Malformed or missing hashes never verify.
+     */
     public static boolean verify(String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        String[] parts = split(stored);
+        if (parts == null) {
+            return false;
+        }
         try {
-            String[] parts = stored.split(":");
-            int iterations = Integer.parseInt(parts[0]);
+            int storedIterations = Integer.parseInt(parts[0]);
             byte[] salt = Base64.getDecoder().decode(parts[1]);
             byte[] hash = Base64.getDecoder().decode(parts[2]);
+            if (hash.length == 0) {
+                return false;
+            }
 
-            KeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, hash.length * 8);
-            SecretKeyFactory f = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
-            byte[] testHash = f.generateSecret(spec).getEncoded();
-
-            return java.security.MessageDigest.isEqual(hash, testHash);
-        } catch (Exception e) {
+            byte[] testHash = derive(password, salt, storedIterations, hash.length * 8);
+            return MessageDigest.isEqual(hash, testHash);
+        } catch (IllegalArgumentException e) {
+            return false;
+        } catch (GeneralSecurityException e) {
             throw new RuntimeException("Failed to verify password", e);
         }
     }
+
+    /**
+     * True if the stored hash uses the old format or fewer iterations than new hashes get
+     */
+    public static boolean needsRehash(String stored) {
+        if (stored == null || !stored.startsWith(ALGORITHM_ID + ":")) {
+            return true;
+        }
+        String[] parts = split(stored);
+        try {
+            return parts == null || Integer.parseInt(parts[0]) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    public static int getIterations() {
+        return iterations;
+    }
+
+    public static void setIterations(int value) {
+        iterations = Math.max(MIN_ITERATIONS, value);
+    }
+
+    /**
+     * Time a short PBKDF2 run on this machine and pick the iteration count that makes
+     * one verify take about targetMillis (never less than MIN_ITERATIONS).
+     */
+    public static int calibrate(long targetMillis) {
+        int sample = 16384;
+        byte[] salt = new byte[SALT_LEN];
+        RANDOM.nextBytes(salt);
+        try {
+            derive("calibration", salt, sample, KEY_LENGTH); // warm up the JIT
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < 3; i++) {
+                long start = System.nanoTime();
+                derive("calibration", salt, sample, KEY_LENGTH);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            long perIteration = Math.max(1, best / sample);
+            long wanted = targetMillis * 1_000_000L / perIteration;
+            // Round up to a multiple of 1024 so the stored values stay readable
+            int calibrated = (int) Math.min(Integer.MAX_VALUE - 1024, ((wanted + 1023) / 1024) * 1024);
+            return Math.max(MIN_ITERATIONS, calibrated);
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Failed to calibrate password hashing", e);
+        }
+    }
+
+    /**
+     * iterations, salt and hash of a stored value in either format, or null if malformed
+     */
+    private static String[] split(String stored) {
+        String[] parts = stored.split(":");
+        if (parts.length == 4 && ALGORITHM_ID.equals(parts[0])) {
+            return new String[] { parts[1], parts[2], parts[3] };
+        }
+        if (parts.length == 3) {
+            return parts;
+        }
+        return null;
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations, int keyLength)
+            throws GeneralSecurityException {
+        KeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, keyLength);
+        return KEY_FACTORY.get().generateSecret(spec).getEncoded();
+    }
 }
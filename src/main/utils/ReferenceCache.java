@@ -0,0 +1,132 @@
+package utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Small read-through cache for reference data that rarely changes (courses, departments).
+ * Entries expire after a time-to-live, the least recently used entry is dropped once
+ * the cache is full, and writers call invalidate()/invalidateAll() after a change.
+ */
+public class ReferenceCache<K, V> {
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<K, Entry<V>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // Bumped on every invalidation so a load that raced with a write is not stored
+    private long generation;
+
+    public ReferenceCache(String name, int maxEntries, long ttlMillis) {
+        this.name = name;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() <= ReferenceCache.this.maxEntries) {
+                    return false;
+                }
+                evictions.incrementAndGet();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Cached value for key, or the loader's result if it is missing or expired.
+     * Null results are returned but not cached. A ttl of 0 disables caching.
+     */
+    public V get(K key, Function<K, V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            if (ttlMillis > 0) {
+                Entry<V> entry = entries.get(key);
+                if (entry != null && System.currentTimeMillis() - entry.loadedAt < ttlMillis) {
+                    hits.incrementAndGet();
+                    return entry.value;
+                }
+                if (entry != null) {
+                    entries.remove(key);
+                }
+            }
+            loadGeneration = generation;
+        }
+
+        misses.incrementAndGet();
+        V value = loader.apply(key);
+
+        if (value != null && ttlMillis > 0) {
+            synchronized (this) {
+                if (loadGeneration == generation) {
+                    entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+                }
+            }
+        }
+        return value;
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    /**
+     * Apply a write to a cached value in place instead of dropping it. Does nothing if the
+     * key is not cached; loads already in progress are not stored, as they may predate the write.
+     */
+    public synchronized void update(K key, Consumer<V> change) {
+        generation++;
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            change.accept(entry.value);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * One-line summary for logs and diagnostics
+     */
+    public String getStats() {
+        long h = hits.get();
+        long m = misses.get();
+        long total = h + m;
+        double hitRate = total == 0 ? 0 : (h * 100.0) / total;
+        return String.format("%s: size=%d hits=%d misses=%d evictions=%d hitRate=%.1f%%",
+                name, size(), h, m, evictions.get(), hitRate);
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long loadedAt;
+
+        private Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package test.java;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import model.AtRiskStudent;
+import model.Student;
+import service.AtRiskScanner;
+import utils.AttendanceBitmap;
+
+/**
+ * Unit tests for AtRiskScanner (pure ranking logic, no database)
+ */
+public class AtRiskScannerTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 9, 1);
+    private static final LocalDate AS_OF = START.plusDays(29);
+
+    public static void main(String[] args) {
+        System.out.println("=== AtRiskScanner Tests ===\n");
+
+        try {
+            runAllTests();
+            System.out.println("\n=== All AtRiskScanner Tests Passed! ===");
+
+        } catch (Exception e) {
+            System.err.println("AtRiskScanner tests failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void runAllTests() {
+        testAssess();
+        testRanking();
+        testParallelMatchesSequential();
+    }
+
+    private static void testAssess() {
+        System.out.println("Testing single assessments...");
+
+        AtRiskScanner scanner = new AtRiskScanner(0.75, 50, 5, 10, 2);
+        Student student = new Student(1, "Ada", "M1", "1A", null);
+
+        assert scanner.assess(student, bitmap(30, 0), new double[]{80, 70}, AS_OF) == null : "Good student should not be flagged";
+        assert scanner.assess(student, bitmap(5, 3), null, AS_OF) == null : "Too few days recorded to judge attendance";
+
+        AtRiskStudent low = scanner.assess(student, bitmap(30, 15), null, AS_OF);
+        assert low != null && low.getReasons().contains("attendance 50%") : "Half attendance should be flagged";
+
+        AtRiskStudent failing = scanner.assess(student, null, new double[]{40, 90}, AS_OF);
+        assert failing != null && failing.getFailingCourses() == 1 : "One failing course should be flagged";
+        assert failing.getAttendanceRate() == -1 : "No attendance means no rate";
+
+        AtRiskStudent streak = scanner.assess(student, bitmap(30, 6), null, AS_OF);
+        assert streak != null && streak.getAbsenceStreak() == 6 : "Six trailing absences should be flagged";
+
+        System.out.println("✓ Assessment tests passed");
+    }
+
+    private static void testRanking() {
+        System.out.println("Testing ranking...");
+
+        AtRiskScanner scanner = new AtRiskScanner(0.75, 50, 0, 10, 2);
+        List<Student> students = new ArrayList<>();
+        Map<Integer, AttendanceBitmap> attendance = new HashMap<>();
+        Map<Integer, double[]> grades = new HashMap<>();
+        students.add(new Student(1, "Mild", "M1", "1A", null));
+        students.add(new Student(2, "Severe", "M2", "1B", null));
+        students.add(new Student(3, "Fine", "M3", "1A", null));
+        grades.put(1, new double[]{45, 70});
+        grades.put(2, new double[]{20, 30, 40});
+        grades.put(3, new double[]{90});
+
+        List<AtRiskStudent> ranked = scanner.rank(students, attendance, grades, AS_OF);
+        assert ranked.size() == 2 : "Two students should be flagged";
+        assert "Severe".equals(ranked.get(0).getName()) : "Highest score should rank first";
+
+        String data = AtRiskScanner.toReportData(ranked);
+        String[] lines = data.split("\n");
+        assert lines.length == 3 && lines[0].equals(AtRiskScanner.REPORT_HEADER) : "Header plus one line per student";
+        assert lines[1].startsWith("1\t2\tSevere\t") : "Lines start with rank, id and name";
+
+        System.out.println("✓ Ranking tests passed");
+    }
+
+    private static void testParallelMatchesSequential() {
+        System.out.println("Testing parallel scan...");
+
+        List<Student> students = new ArrayList<>();
+        Map<Integer, AttendanceBitmap> attendance = new HashMap<>();
+        Map<Integer, double[]> grades = new HashMap<>();
+        for (int id = 1; id <= 20000; id++) {
+            students.add(new Student(id, "Student " + id, "M" + id, "Class " + (id % 40), null));
+            attendance.put(id, bitmap(30, id % 31));
+            grades.put(id, new double[]{id % 100, (id * 7) % 100});
+        }
+
+        List<AtRiskStudent> sequential = new AtRiskScanner(0.75, 50, 5, 10, 1).rank(students, attendance, grades, AS_OF);
+        List<AtRiskStudent> parallel = new AtRiskScanner(0.75, 50, 5, 10, 8).rank(students, attendance, grades, AS_OF);
+        assert sequential.size() == parallel.size() : "Same students flagged regardless of threads";
+        for (int i = 0; i < sequential.size(); i++) {
+            assert sequential.get(i).getStudentId() == parallel.get(i).getStudentId() : "Same order regardless of threads";
+        }
+
+        System.out.println("✓ Parallel scan tests passed (" + parallel.size() + " of 20000 flagged)");
+    }
+
+    // days recorded from the term start, the last `absent` of them missed
+    private static AttendanceBitmap bitmap(int days, int absent) {
+        AttendanceBitmap bitmap = new AttendanceBitmap(START);
+        for (int day = 0; day < days; day++) {
+            bitmap.mark(START.plusDays(day), day < days - absent);
+        }
+        return bitmap;
+    }
+}
@@ -0,0 +1,142 @@
+package test.java;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import utils.AttendanceBitmap;
+
+/**
+ * Unit tests for AttendanceBitmap utility class
+ */
+public class AttendanceBitmapTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 9, 1);
+
+    public static void main(String[] args) {
+        System.out.println("=== AttendanceBitmap Tests ===\n");
+
+        try {
+            runAllTests();
+            System.out.println("\n=== All AttendanceBitmap Tests Passed! ===");
+
+        } catch (Exception e) {
+            System.err.println("AttendanceBitmap tests failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void runAllTests() {
+        testTermStart();
+        testMarkAndRate();
+        testRangeCounts();
+        testStreaks();
+        testBytes();
+    }
+
+    private static void testTermStart() {
+        System.out.println("Testing term start...");
+
+        MonthDay september = MonthDay.of(9, 1);
+        assert AttendanceBitmap.termStart(LocalDate.of(2025, 3, 10), september).equals(START) : "Spring belongs to the previous September";
+        assert AttendanceBitmap.termStart(START, september).equals(START) : "Start day belongs to its own term";
+        assert AttendanceBitmap.termStart(LocalDate.of(2024, 12, 1), september).equals(START) : "Autumn belongs to this September";
+
+        AttendanceBitmap bitmap = new AttendanceBitmap(START);
+        assert bitmap.contains(LocalDate.of(2025, 8, 31)) : "Last day of the year is inside the term";
+        assert !bitmap.contains(LocalDate.of(2024, 8, 31)) : "Day before the term is outside it";
+
+        System.out.println("✓ Term start tests passed");
+    }
+
+    private static void testMarkAndRate() {
+        System.out.println("Testing marks and rate...");
+
+        AttendanceBitmap bitmap = new AttendanceBitmap(START);
+        assert bitmap.getRate() == 0 : "Empty bitmap should have a rate of 0";
+
+        bitmap.mark(START, true);
+        bitmap.mark(START.plusDays(1), false);
+        bitmap.mark(START.plusDays(2), true);
+        bitmap.mark(START.plusDays(3), true);
+        assert bitmap.countRecorded() == 4 : "Four days recorded";
+        assert bitmap.countPresent() == 3 : "Three days present";
+        assert bitmap.getRate() == 0.75 : "Rate should be 3/4";
+
+        bitmap.mark(START.plusDays(3), false);
+        assert !bitmap.isPresent(START.plusDays(3)) : "Re-marking absent should clear the present bit";
+        bitmap.clear(START.plusDays(3));
+        assert !bitmap.isRecorded(START.plusDays(3)) : "Cleared day should not be recorded";
+        assert bitmap.countRecorded() == 3 : "Three days recorded after clearing";
+
+        try {
+            bitmap.mark(START.minusDays(1), true);
+            assert false : "Marking outside the term should fail";
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+
+        System.out.println("✓ Mark and rate tests passed");
+    }
+
+    private static void testRangeCounts() {
+        System.out.println("Testing range counts...");
+
+        AttendanceBitmap bitmap = new AttendanceBitmap(START);
+        for (int day = 0; day < AttendanceBitmap.MAX_DAYS; day++) {
+            bitmap.mark(START.plusDays(day), day % 2 == 0);
+        }
+        assert bitmap.countRecorded() == AttendanceBitmap.MAX_DAYS : "Every day recorded";
+        assert bitmap.countPresent() == AttendanceBitmap.MAX_DAYS / 2 : "Every other day present";
+
+        // Range across a word boundary (days 60-70)
+        assert bitmap.countRecorded(START.plusDays(60), START.plusDays(70)) == 11 : "Inclusive range of 11 days";
+        assert bitmap.countPresent(START.plusDays(60), START.plusDays(70)) == 6 : "Even days 60-70 present";
+        assert bitmap.countPresent(START.plusDays(5), START.plusDays(5)) == 0 : "Single odd day absent";
+        assert bitmap.countPresent(START.minusDays(30), START.plusDays(1)) == 1 : "Range is clipped to the term";
+        assert bitmap.countPresent(START.plusDays(10), START.plusDays(9)) == 0 : "Empty range counts nothing";
+
+        System.out.println("✓ Range count tests passed");
+    }
+
+    private static void testStreaks() {
+        System.out.println("Testing streaks...");
+
+        AttendanceBitmap bitmap = new AttendanceBitmap(START);
+        // Present Mon-Wed, absent Thu, present Fri, weekend unrecorded, present Mon
+        bitmap.mark(LocalDate.of(2024, 9, 2), true);
+        bitmap.mark(LocalDate.of(2024, 9, 3), true);
+        bitmap.mark(LocalDate.of(2024, 9, 4), true);
+        bitmap.mark(LocalDate.of(2024, 9, 5), false);
+        bitmap.mark(LocalDate.of(2024, 9, 6), true);
+        bitmap.mark(LocalDate.of(2024, 9, 9), true);
+
+        assert bitmap.currentStreak(LocalDate.of(2024, 9, 9)) == 2 : "Unrecorded weekend should not break a streak";
+        assert bitmap.currentStreak(LocalDate.of(2024, 9, 5)) == 0 : "Streak ends on an absence";
+        assert bitmap.currentAbsenceStreak(LocalDate.of(2024, 9, 5)) == 1 : "One day absent";
+        assert bitmap.longestStreak() == 3 : "Longest streak is Mon-Wed";
+        assert bitmap.currentStreak(START.minusDays(1)) == 0 : "No streak before the term";
+
+        System.out.println("✓ Streak tests passed");
+    }
+
+    private static void testBytes() {
+        System.out.println("Testing byte form...");
+
+        AttendanceBitmap bitmap = new AttendanceBitmap(START);
+        bitmap.mark(START.plusDays(0), true);
+        bitmap.mark(START.plusDays(9), false);
+        bitmap.mark(START.plusDays(365), true);
+
+        byte[] recorded = bitmap.getRecordedBytes();
+        assert recorded.length == AttendanceBitmap.BYTES : "Fixed size";
+        // Same numbering as PostgreSQL get_bit: bit n is bit n % 8 of byte n / 8
+        assert recorded[0] == 1 : "Day 0 is the lowest bit of byte 0";
+        assert recorded[1] == 2 : "Day 9 is bit 1 of byte 1";
+        assert recorded[45] == 0x20 : "Day 365 is bit 5 of byte 45";
+
+        AttendanceBitmap copy = AttendanceBitmap.fromBytes(START, recorded, bitmap.getPresentBytes());
+        assert copy.countRecorded() == 3 && copy.countPresent() == 2 : "Round trip should keep every bit";
+        assert copy.isRecorded(START.plusDays(9)) && !copy.isPresent(START.plusDays(9)) : "Absent day survives the round trip";
+
+        System.out.println("✓ Byte form tests passed");
+    }
+}
@@ -0,0 +1,76 @@
+package test.java;
+
+import utils.BloomFilter;
+
+/**
+ * Unit tests for BloomFilter utility class
+ */
+public class BloomFilterTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== BloomFilter Tests ===\n");
+
+        try {
+            runAllTests();
+            System.out.println("\n=== All BloomFilter Tests Passed! ===");
+
+        } catch (Exception e) {
+            System.err.println("BloomFilter tests failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void runAllTests() {
+        testNoFalseNegatives();
+        testFalsePositiveRate();
+        testSizing();
+    }
+
+    private static void testNoFalseNegatives() {
+        System.out.println("Testing added values are always found...");
+
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add("student" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assert filter.mightContain("student" + i) : "Added value must be reported as present";
+        }
+        assert !new BloomFilter(10, 0.01).mightContain("admin") : "Empty filter should contain nothing";
+
+        System.out.println("✓ No false negatives test passed");
+    }
+
+    private static void testFalsePositiveRate() {
+        System.out.println("Testing false positive rate...");
+
+        BloomFilter filter = new BloomFilter(5000, 0.01);
+        for (int i = 0; i < 5000; i++) {
+            filter.add("user" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("unknown" + i)) {
+                falsePositives++;
+            }
+        }
+        // 1% expected; allow generous slack
+        assert falsePositives < 300 : "False positive rate too high: " + falsePositives + "/10000";
+
+        System.out.println("✓ False positive rate test passed (" + falsePositives + "/10000)");
+    }
+
+    private static void testSizing() {
+        System.out.println("Testing sizing...");
+
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        assert filter.getBitCount() >= 9000 : "About 9.6 bits per entry expected for 1%";
+        assert filter.getHashCount() >= 6 && filter.getHashCount() <= 8 : "About 7 hashes expected for 1%";
+
+        BloomFilter tiny = new BloomFilter(0, 0.01);
+        tiny.add("x");
+        assert tiny.mightContain("x") : "Degenerate sizes should still work";
+
+        System.out.println("✓ Sizing test passed");
+    }
+}
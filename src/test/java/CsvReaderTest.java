@@ -0,0 +1,76 @@
+package test.java;
+
+import java.io.IOException;
+import java.io.StringReader;
+import utils.CsvReader;
+
+/**
+ * Unit tests for CsvReader utility class
+ */
+public class CsvReaderTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== CsvReader Tests ===\n");
+
+        try {
+            runAllTests();
+            System.out.println("\n=== All CsvReader Tests Passed! ===");
+
+        } catch (Exception e) {
+            System.err.println("CsvReader tests failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void runAllTests() throws IOException {
+        testPlainRecords();
+        testQuotedFields();
+        testLineNumbers();
+    }
+
+    private static void testPlainRecords() throws IOException {
+        System.out.println("Testing plain records...");
+
+        CsvReader csv = new CsvReader(new StringReader("a,b,c\r\n1,,3\n"));
+        String[] header = csv.readRecord();
+        assert header.length == 3 && "c".equals(header[2]) : "Header should have three fields";
+        String[] row = csv.readRecord();
+        assert row.length == 3 && "".equals(row[1]) : "Empty field should be kept";
+        assert csv.readRecord() == null : "End of input should return null";
+
+        CsvReader noNewline = new CsvReader(new StringReader("x,y"));
+        assert noNewline.readRecord().length == 2 : "Last record needs no line break";
+        assert noNewline.readRecord() == null : "Only one record expected";
+
+        System.out.println("✓ Plain record tests passed");
+    }
+
+    private static void testQuotedFields() throws IOException {
+        System.out.println("Testing quoted fields...");
+
+        CsvReader csv = new CsvReader(new StringReader("\"Doe, Jane\",\"say \"\"hi\"\"\",\"two\nlines\"\n"));
+        String[] row = csv.readRecord();
+        assert row.length == 3 : "Quoted commas should not split fields";
+        assert "Doe, Jane".equals(row[0]) : "Comma inside quotes should be kept";
+        assert "say \"hi\"".equals(row[1]) : "Doubled quotes should become one quote";
+        assert "two\nlines".equals(row[2]) : "Line break inside quotes should be kept";
+
+        System.out.println("✓ Quoted field tests passed");
+    }
+
+    private static void testLineNumbers() throws IOException {
+        System.out.println("Testing line numbers...");
+
+        CsvReader csv = new CsvReader(new StringReader("h\n\"a\nb\"\n\n\nc\n"));
+        csv.readRecord();
+        assert csv.getRecordLine() == 1 : "Header starts on line 1";
+        csv.readRecord();
+        assert csv.getRecordLine() == 2 : "Multi-line record starts on line 2";
+        String[] row = csv.readRecord();
+        assert "c".equals(row[0]) : "Blank lines should be skipped";
+        assert csv.getRecordLine() == 6 : "Record after blank lines starts on line 6";
+        assert csv.readRecord() == null : "End of input should return null";
+
+        System.out.println("✓ Line number tests passed");
+    }
+}
@@ -0,0 +1,71 @@
+package test.java;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import utils.ExportFormat;
+
+/**
+ * Unit tests for ExportFormat
+ */
+public class ExportFormatTest {
+
+    private static final String[] COLUMNS = {"id", "name", "amount", "present", "remarks"};
+
+    public static void main(String[] args) {
+        System.out.println("=== ExportFormat Tests ===\n");
+
+        try {
+            runAllTests();
+            System.out.println("\n=== All ExportFormat Tests Passed! ===");
+
+        } catch (Exception e) {
+            System.err.println("ExportFormat tests failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void runAllTests() throws Exception {
+        testCsv();
+        testJsonLines();
+        testFormatForFileName();
+    }
+
+    private static void testCsv() throws Exception {
+        System.out.println("Testing CSV...");
+
+        StringWriter out = new StringWriter();
+        ExportFormat.CSV.writeHeader(out, COLUMNS);
+        ExportFormat.CSV.writeRow(out, COLUMNS, new Object[]{1, "Doe, Jane", new BigDecimal("1500.00"), true, null});
+        ExportFormat.CSV.writeRow(out, COLUMNS, new Object[]{2, "Said \"hi\"", new BigDecimal("1E+3"), false, "line1\nline2"});
+
+        String[] lines = out.toString().split("\r\n");
+        assert lines[0].equals("id,name,amount,present,remarks") : "Header row expected";
+        assert lines[1].equals("1,\"Doe, Jane\",1500.00,true,") : "Commas should be quoted, null empty: " + lines[1];
+        assert lines[2].equals("2,\"Said \"\"hi\"\"\",1000,false,\"line1\nline2\"") : "Quotes doubled, newlines quoted: " + lines[2];
+
+        System.out.println("✓ CSV test passed");
+    }
+
+    private static void testJsonLines() throws Exception {
+        System.out.println("Testing JSON Lines...");
+
+        StringWriter out = new StringWriter();
+        ExportFormat.JSONL.writeHeader(out, COLUMNS);
+        ExportFormat.JSONL.writeRow(out, COLUMNS, new Object[]{1, "Tab\there \"q\"", new BigDecimal("12.50"), true, null});
+
+        String expected = "{\"id\":1,\"name\":\"Tab\\there \\\"q\\\"\",\"amount\":12.50,\"present\":true,\"remarks\":null}\n";
+        assert out.toString().equals(expected) : "Unexpected JSON line: " + out;
+
+        System.out.println("✓ JSON Lines test passed");
+    }
+
+    private static void testFormatForFileName() {
+        System.out.println("Testing format detection...");
+
+        assert ExportFormat.forFileName("fees.csv") == ExportFormat.CSV : "csv extension";
+        assert ExportFormat.forFileName("Attendance.JSONL") == ExportFormat.JSONL : "jsonl extension";
+        assert ExportFormat.forFileName("users") == ExportFormat.CSV : "CSV by default";
+
+        System.out.println("✓ Format detection test passed");
+    }
+}
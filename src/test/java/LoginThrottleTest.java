@@ -0,0 +1,137 @@
+package test.java;
+
+import java.util.concurrent.atomic.AtomicLong;
+import service.LoginThrottle;
+
+/**
+ * Unit tests for LoginThrottle
+ */
+public class LoginThrottleTest {
+
+    private static final AtomicLong now = new AtomicLong(1_000_000L);
+
+    public static void main(String[] args) {
+        System.out.println("=== LoginThrottle Tests ===\n");
+
+        try {
+            runAllTests();
+            System.out.println("\n=== All LoginThrottle Tests Passed! ===");
+
+        } catch (Exception e) {
+            System.err.println("LoginThrottle tests failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void runAllTests() {
+        testLockAfterMaxAttempts();
+        testExponentialBackoff();
+        testSlidingWindow();
+        testResetAndTerminalLimit();
+        testBoundedMemory();
+    }
+
+    // 3 attempts per 60s window, 1s first lockout, 8s maximum
+    private static LoginThrottle newThrottle(int maxEntries) {
+        return new LoginThrottle(3, 60_000, 1_000, 8_000, maxEntries, now::get);
+    }
+
+    private static void testLockAfterMaxAttempts() {
+        System.out.println("Testing lockout after max attempts...");
+
+        LoginThrottle throttle = newThrottle(100);
+        String key = LoginThrottle.userKey("alice");
+
+        throttle.recordFailure(key);
+        throttle.recordFailure(key);
+        assert throttle.getRetryAfterMillis(key) == 0 : "Below the limit should not lock";
+
+        throttle.recordFailure(key);
+        assert throttle.getRetryAfterMillis(key) == 1_000 : "Reaching the limit should lock for the base lockout";
+
+        try {
+            throttle.check(key);
+            assert false : "check should throw while locked";
+        } catch (LoginThrottle.ThrottledException e) {
+            assert e.getRetryAfterMillis() == 1_000 : "Exception should carry the wait";
+        }
+
+        now.addAndGet(1_000);
+        assert throttle.getRetryAfterMillis(key) == 0 : "Lockout should expire";
+
+        System.out.println("✓ Lockout test passed");
+    }
+
+    private static void testExponentialBackoff() {
+        System.out.println("Testing exponential backoff...");
+
+        LoginThrottle throttle = newThrottle(100);
+        String key = LoginThrottle.userKey("bob");
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure(key);
+        }
+
+        throttle.recordFailure(key);
+        assert throttle.getRetryAfterMillis(key) == 2_000 : "Each extra failure should double the lockout";
+        throttle.recordFailure(key);
+        assert throttle.getRetryAfterMillis(key) == 4_000 : "Each extra failure should double the lockout";
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure(key);
+        }
+        assert throttle.getRetryAfterMillis(key) == 8_000 : "Lockout should be capped";
+
+        System.out.println("✓ Exponential backoff test passed");
+    }
+
+    private static void testSlidingWindow() {
+        System.out.println("Testing sliding window...");
+
+        LoginThrottle throttle = newThrottle(100);
+        String key = LoginThrottle.userKey("carol");
+
+        throttle.recordFailure(key);
+        throttle.recordFailure(key);
+        now.addAndGet(61_000);
+        throttle.recordFailure(key);
+        assert throttle.getRetryAfterMillis(key) == 0 : "Failures outside the window should not count";
+
+        System.out.println("✓ Sliding window test passed");
+    }
+
+    private static void testResetAndTerminalLimit() {
+        System.out.println("Testing reset and terminal limit...");
+
+        LoginThrottle throttle = newThrottle(100);
+        String user = LoginThrottle.userKey("dave");
+        String terminal = LoginThrottle.terminalKey("lab-01");
+
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure(user, terminal);
+        }
+        assert throttle.getRetryAfterMillis(user) > 0 : "User should be locked";
+        assert throttle.getRetryAfterMillis(terminal) == 0 : "Terminal should allow more attempts";
+
+        throttle.reset(user);
+        assert throttle.getRetryAfterMillis(user, terminal) == 0 : "Reset should unlock the user";
+
+        for (int i = 0; i < 12; i++) {
+            throttle.recordFailure(LoginThrottle.userKey("guess" + i), terminal);
+        }
+        assert throttle.getRetryAfterMillis(LoginThrottle.userKey("erin"), terminal) > 0
+                : "Terminal cycling usernames should be locked";
+
+        System.out.println("✓ Reset and terminal limit test passed");
+    }
+
+    private static void testBoundedMemory() {
+        System.out.println("Testing bounded memory...");
+
+        LoginThrottle throttle = newThrottle(50);
+        for (int i = 0; i < 500; i++) {
+            throttle.recordFailure(LoginThrottle.userKey("user" + i));
+        }
+        assert throttle.size() <= 50 : "Tracked keys should stay bounded, was " + throttle.size();
+
+        System.out.println("✓ Bounded memory test passed");
+    }
+}
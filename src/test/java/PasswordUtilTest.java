@@ -26,6 +26,7 @@ public class PasswordUtilTest {
         testHashUniqueness();
         testInvalidInputs();
         testHashConsistency();
+        testWorkFactorUpgrade();
     }
 
     private static void testPasswordHashing() {
@@ -38,9 +39,11 @@ public class PasswordUtilTest {
         assert !hash.isEmpty() : "Hash should not be empty";
         assert !hash.equals(password) : "Hash should not equal original password";
 
-        // PBKDF2 hash should be in format: iterations:salt:hash
+        // PBKDF2 hash should be in format: algorithm:iterations:salt:hash
         String[] parts = hash.split(":");
-        assert parts.length == 3 : "Hash should have 3 parts separated by colons";
+        assert parts.length == 4 : "Hash should have 4 parts separated by colons";
+        assert PasswordUtil.ALGORITHM_ID.equals(parts[0]) : "Hash should start with the algorithm id";
+        assert Integer.parseInt(parts[1]) == PasswordUtil.getIterations() : "Hash should use the current work factor";
 
         System.out.println("✓ Password hashing test passed");
     }
@@ -140,4 +143,34 @@ public class PasswordUtilTest {
 
         System.out.println("✓ Hash consistency test passed");
     }
-}
\ No newline at end of file
+
+    private static void testWorkFactorUpgrade() {
+        System.out.println("Testing work factor upgrade...");
+
+        String password = "UpgradePassword123!";
+
+        // Old format without algorithm id still verifies but should be upgraded
+        String legacy = PasswordUtil.hash(password).substring(PasswordUtil.ALGORITHM_ID.length() + 1);
+        assert PasswordUtil.verify(password, legacy) : "Legacy hash should still verify";
+        assert PasswordUtil.needsRehash(legacy) : "Legacy hash should need rehash";
+
+        String current = PasswordUtil.hash(password);
+        assert !PasswordUtil.needsRehash(current) : "Fresh hash should not need rehash";
+
+        int original = PasswordUtil.getIterations();
+        try {
+            PasswordUtil.setIterations(original * 2);
+            assert PasswordUtil.needsRehash(current) : "Hash below the work factor should need rehash";
+            assert PasswordUtil.verify(password, current) : "Lower work factor hash should still verify";
+
+            PasswordUtil.setIterations(1000);
+            assert PasswordUtil.getIterations() == PasswordUtil.MIN_ITERATIONS : "Work factor should not drop below the minimum";
+        } finally {
+            PasswordUtil.setIterations(original);
+        }
+
+        assert PasswordUtil.calibrate(1) == PasswordUtil.MIN_ITERATIONS : "Tiny target should calibrate to the minimum";
+
+        System.out.println("✓ Work factor upgrade test passed");
+    }
+}
@@ -0,0 +1,138 @@
+package test.java;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import utils.ReferenceCache;
+
+/**
+ * Unit tests for ReferenceCache utility class
+ */
+public class ReferenceCacheTest {
+
+    public static void main(String[] args) {
+        System.out.println("=== ReferenceCache Tests ===\n");
+
+        try {
+            runAllTests();
+            System.out.println("\n=== All ReferenceCache Tests Passed! ===");
+
+        } catch (Exception e) {
+            System.err.println("ReferenceCache tests failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void runAllTests() throws InterruptedException {
+        testReadThrough();
+        testInvalidation();
+        testUpdate();
+        testSizeBound();
+        testExpiry();
+        testNullNotCached();
+    }
+
+    private static void testReadThrough() {
+        System.out.println("Testing read-through...");
+
+        AtomicInteger loads = new AtomicInteger();
+        ReferenceCache<String, String> cache = new ReferenceCache<>("test", 10, 60000);
+
+        assert "A".equals(cache.get("a", k -> { loads.incrementAndGet(); return "A"; })) : "Loader result should be returned";
+        assert "A".equals(cache.get("a", k -> { loads.incrementAndGet(); return "B"; })) : "Second read should hit the cache";
+        assert loads.get() == 1 : "Loader should run once";
+        assert cache.getHits() == 1 && cache.getMisses() == 1 : "Should count one hit and one miss";
+
+        System.out.println("✓ Read-through tests passed");
+    }
+
+    private static void testInvalidation() {
+        System.out.println("Testing invalidation...");
+
+        ReferenceCache<String, String> cache = new ReferenceCache<>("test", 10, 60000);
+        cache.get("a", k -> "A");
+        cache.get("b", k -> "B");
+
+        cache.invalidate("a");
+        assert "A2".equals(cache.get("a", k -> "A2")) : "Invalidated key should reload";
+        assert "B".equals(cache.get("b", k -> "B2")) : "Other keys should stay cached";
+
+        cache.invalidateAll();
+        assert cache.size() == 0 : "invalidateAll should empty the cache";
+
+        // A write during a load must win over the value being loaded
+        String loaded = cache.get("c", k -> { cache.invalidateAll(); return "stale"; });
+        assert "stale".equals(loaded) : "Caller still gets its loaded value";
+        assert "fresh".equals(cache.get("c", k -> "fresh")) : "Value loaded across an invalidation should not be stored";
+
+        System.out.println("✓ Invalidation tests passed");
+    }
+
+    private static void testUpdate() {
+        System.out.println("Testing in-place update...");
+
+        AtomicInteger loads = new AtomicInteger();
+        ReferenceCache<String, Map<String, Integer>> cache = new ReferenceCache<>("test", 10, 60000);
+        cache.get("a", k -> { loads.incrementAndGet(); return new HashMap<>(); });
+
+        cache.update("a", m -> m.put("x", 1));
+        assert cache.get("a", k -> new HashMap<>()).get("x") == 1 : "Update should change the cached value";
+        assert loads.get() == 1 : "Update should not force a reload";
+
+        cache.update("b", m -> m.put("x", 1));
+        assert cache.size() == 1 : "Updating a missing key should not cache anything";
+
+        // A write during a load must not be lost to the value being loaded
+        cache.get("c", k -> { cache.update("c", m -> m.put("x", 1)); return new HashMap<>(); });
+        assert cache.get("c", k -> Map.of("x", 2)).get("x") == 2 : "Value loaded across an update should not be stored";
+
+        System.out.println("✓ Update tests passed");
+    }
+
+    private static void testSizeBound() {
+        System.out.println("Testing size bound...");
+
+        ReferenceCache<Integer, Integer> cache = new ReferenceCache<>("test", 2, 60000);
+        cache.get(1, k -> k);
+        cache.get(2, k -> k);
+        cache.get(1, k -> k); // 1 is now most recently used
+        cache.get(3, k -> k);
+
+        assert cache.size() == 2 : "Cache should not grow past its bound";
+        assert cache.get(2, k -> -1) == -1 : "Least recently used entry should be evicted";
+        assert cache.getStats().contains("evictions=") : "Stats should report evictions";
+
+        System.out.println("✓ Size bound tests passed");
+    }
+
+    private static void testExpiry() throws InterruptedException {
+        System.out.println("Testing expiry...");
+
+        ReferenceCache<String, String> cache = new ReferenceCache<>("test", 10, 20);
+        cache.get("a", k -> "A");
+        Thread.sleep(40);
+        assert "A2".equals(cache.get("a", k -> "A2")) : "Expired entry should reload";
+
+        ReferenceCache<String, String> disabled = new ReferenceCache<>("test", 10, 0);
+        disabled.get("a", k -> "A");
+        assert "A2".equals(disabled.get("a", k -> "A2")) : "TTL of 0 should disable caching";
+
+        System.out.println("✓ Expiry tests passed");
+    }
+
+    private static void testNullNotCached() {
+        System.out.println("Testing null values...");
+
+        ReferenceCache<String, String> cache = new ReferenceCache<>("test", 10, 60000);
+        assert cache.get("a", k -> null) == null : "Null should be returned";
+        assert cache.size() == 0 : "Null should not be cached";
+
+        // Loaders return null on a failed query so the next read retries
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("b", k -> { loads.incrementAndGet(); return null; });
+        assert "B".equals(cache.get("b", k -> { loads.incrementAndGet(); return "B"; })) : "Failed load should be retried";
+        assert loads.get() == 2 : "Failed load should not be cached";
+
+        System.out.println("✓ Null value tests passed");
+    }
+}
@@ -0,0 +1,165 @@
+package test.java;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipFile;
+import model.Transcript;
+import service.TranscriptBatchService;
+import service.TranscriptService;
+
+/**
+ * Unit tests for TranscriptBatchService output and resume (transcripts are generated, no database)
+ */
+public class TranscriptBatchServiceTest {
+
+    private static final int STUDENTS = 1000;
+
+    public static void main(String[] args) {
+        System.out.println("=== TranscriptBatchService Tests ===\n");
+
+        try {
+            runAllTests();
+            System.out.println("\n=== All TranscriptBatchService Tests Passed! ===");
+
+        } catch (Exception e) {
+            System.err.println("TranscriptBatchService tests failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void runAllTests() throws Exception {
+        testDirectory();
+        testZipResume();
+        testFailuresAndCancel();
+    }
+
+    private static void testDirectory() throws Exception {
+        System.out.println("Testing folder output...");
+
+        Path dir = Files.createTempDirectory("transcripts");
+        Set<Integer> loadedIds = ConcurrentHashMap.newKeySet();
+        TranscriptBatchService service = new TranscriptBatchService(4, 64, ids -> {
+            loadedIds.addAll(ids);
+            return fake(ids);
+        });
+
+        AtomicInteger lastDone = new AtomicInteger();
+        TranscriptBatchService.Result result = service.generate(ids(STUDENTS), dir, false, (done, total) -> {
+            lastDone.accumulateAndGet(done, Math::max);
+        });
+        assert result.getWritten() == STUDENTS && result.getFailed().isEmpty() : "Every transcript should be written";
+        assert lastDone.get() == STUDENTS : "Progress should reach the total";
+        assert Files.readString(dir.resolve("transcript-7.txt")).startsWith("Transcript for Student 7") : "File should hold the transcript";
+
+        // Half-written leftovers are cleaned up; resuming writes only what is missing
+        Files.delete(dir.resolve("transcript-10.txt"));
+        Files.writeString(dir.resolve("transcript-11.txt.tmp"), "partial");
+        loadedIds.clear();
+        result = service.generate(ids(STUDENTS), dir, true, (done, total) -> { });
+        assert result.getSkipped() == STUDENTS - 1 && result.getWritten() == 1 : "Only the missing transcript should be written";
+        assert loadedIds.equals(Collections.singleton(10)) : "Only the missing student should be loaded";
+        assert !Files.exists(dir.resolve("transcript-11.txt.tmp")) : "Leftover temporary files should be removed";
+
+        System.out.println("✓ Folder output tests passed");
+    }
+
+    private static void testZipResume() throws Exception {
+        System.out.println("Testing zip output and resume...");
+
+        Path zip = Files.createTempDirectory("transcripts").resolve("all.zip");
+        TranscriptBatchService service = new TranscriptBatchService(4, 50, TranscriptBatchServiceTest::fake);
+
+        TranscriptBatchService.Result result = service.generate(ids(STUDENTS), zip, false, (done, total) -> { });
+        assert result.getWritten() == STUDENTS : "Every transcript should be written";
+        assert entries(zip) == STUDENTS : "Zip should have one entry per student";
+
+        // Cut the archive off mid-way, as a crash would, then resume into it
+        long size = Files.size(zip);
+        try (RandomAccessFile file = new RandomAccessFile(zip.toFile(), "rw")) {
+            file.setLength(size / 2);
+        }
+        result = service.generate(ids(STUDENTS), zip, true, (done, total) -> { });
+        assert result.getSkipped() > 0 && result.getSkipped() < STUDENTS : "Complete entries should be kept";
+        assert result.getSkipped() + result.getWritten() == STUDENTS : "The rest should be regenerated";
+        assert entries(zip) == STUDENTS : "Resumed zip should be complete without duplicates";
+        assert !Files.exists(zip.resolveSibling("all.zip.partial")) : "Salvaged archive should be removed";
+
+        System.out.println("✓ Zip output tests passed (" + result.getSkipped() + " entries kept)");
+    }
+
+    private static void testFailuresAndCancel() throws Exception {
+        System.out.println("Testing failures and cancellation...");
+
+        Path dir = Files.createTempDirectory("transcripts");
+        // Student 5 no longer exists, so the loader leaves it out
+        TranscriptBatchService service = new TranscriptBatchService(2, 10, ids -> {
+            List<Integer> kept = new ArrayList<>(ids);
+            kept.remove(Integer.valueOf(5));
+            return fake(kept);
+        });
+        TranscriptBatchService.Result result = service.generate(ids(20), dir, false, (done, total) -> { });
+        assert result.getFailed().equals(Collections.singletonList(5)) : "Missing student should be reported";
+        assert result.getWritten() == 19 : "Others should still be written";
+
+        TranscriptBatchService.Result cancelled = service.generate(ids(20), Files.createTempDirectory("transcripts"), false,
+                new TranscriptBatchService.Listener() {
+                    @Override
+                    public void progress(int done, int total) {
+                    }
+
+                    @Override
+                    public boolean isCancelled() {
+                        return true;
+                    }
+                });
+        assert cancelled.isCancelled() && cancelled.getWritten() == 0 : "Cancelled run should stop";
+
+        System.out.println("✓ Failure and cancellation tests passed");
+    }
+
+    private static List<Integer> ids(int count) {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private static List<Transcript> fake(List<Integer> ids) {
+        List<Transcript> transcripts = new ArrayList<>();
+        for (Integer id : ids) {
+            Transcript transcript = new Transcript();
+            transcript.setStudentId(id);
+            transcript.setStudentName("Student " + id);
+            transcript.setClassName("Class " + (id % 10));
+            for (int c = 0; c < 6; c++) {
+                Transcript.Line line = new Transcript.Line();
+                line.setTermStart(LocalDate.of(2024, 9, 1));
+                line.setCourseCode("C" + c);
+                line.setCourseName("Course " + c);
+                line.setCredits(1 + c % 3);
+                line.setGrade((double) ((id * 7 + c * 13) % 100));
+                line.setStatus("COMPLETED");
+                transcript.getLines().add(line);
+            }
+            TranscriptService.summarize(transcript);
+            transcripts.add(transcript);
+        }
+        return transcripts;
+    }
+
+    private static int entries(Path zip) throws IOException {
+        try (ZipFile file = new ZipFile(zip.toFile())) {
+            return file.size();
+        }
+    }
+}
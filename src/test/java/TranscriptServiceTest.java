@@ -0,0 +1,143 @@
+package test.java;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import model.Transcript;
+import service.TranscriptService;
+
+/**
+ * Unit tests for TranscriptService GPA, ranking and formatting (no database)
+ */
+public class TranscriptServiceTest {
+
+    private static final LocalDate YEAR1 = LocalDate.of(2023, 9, 1);
+    private static final LocalDate YEAR2 = LocalDate.of(2024, 9, 1);
+
+    public static void main(String[] args) {
+        System.out.println("=== TranscriptService Tests ===\n");
+
+        try {
+            runAllTests();
+            System.out.println("\n=== All TranscriptService Tests Passed! ===");
+
+        } catch (Exception e) {
+            System.err.println("TranscriptService tests failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void runAllTests() throws Exception {
+        testGradePoints();
+        testCreditWeighting();
+        testSummarize();
+        testRanking();
+        testWrite();
+    }
+
+    private static void testGradePoints() {
+        System.out.println("Testing grade points...");
+
+        assert TranscriptService.gradePoints(100) == 4.0 : "100 should be 4 points";
+        assert TranscriptService.gradePoints(90) == 4.0 : "90 should be 4 points";
+        assert TranscriptService.gradePoints(89.99) == 3.0 : "Just under 90 should be 3 points";
+        assert TranscriptService.gradePoints(60) == 1.0 : "60 should be 1 point";
+        assert TranscriptService.gradePoints(59) == 0.0 : "Below 60 should be 0 points";
+        assert "F".equals(TranscriptService.letterGrade(40)) : "40 should be an F";
+
+        System.out.println("✓ Grade point tests passed");
+    }
+
+    private static void testCreditWeighting() {
+        System.out.println("Testing credit weighting...");
+
+        List<Transcript.Line> lines = new ArrayList<>();
+        lines.add(line(YEAR1, "MATH", 4, 95.0, "COMPLETED")); // 4 points x 4 credits
+        lines.add(line(YEAR1, "ART", 1, 65.0, "COMPLETED"));  // 1 point x 1 credit
+        assert TranscriptService.gpa(lines) == 3.4 : "GPA should be (16 + 1) / 5 = 3.4";
+
+        lines.add(line(YEAR1, "HIST", 3, 10.0, "DROPPED"));
+        lines.add(line(YEAR1, "BIO", 3, null, "ACTIVE"));
+        assert TranscriptService.gpa(lines) == 3.4 : "Dropped and ungraded courses should not count";
+
+        assert TranscriptService.gpa(new ArrayList<>()) == -1 : "No graded courses means no GPA";
+
+        System.out.println("✓ Credit weighting tests passed");
+    }
+
+    private static void testSummarize() {
+        System.out.println("Testing yearly totals...");
+
+        Transcript transcript = transcript();
+        TranscriptService.summarize(transcript);
+
+        assert transcript.getTerms().size() == 2 : "Two school years should be summarized";
+        Transcript.Term first = transcript.getTerms().get(0);
+        assert first.getStart().equals(YEAR1) : "Years should be in order";
+        assert first.getGpa() == 2.0 && first.getAttemptedCredits() == 6 && first.getEarnedCredits() == 3 : "First year totals";
+        assert transcript.getTerms().get(1).getGpa() == 4.0 : "Second year GPA";
+        assert transcript.getGpa() == 2.5 : "Cumulative GPA should be (12 + 0 + 8) / 8 = 2.5";
+        assert transcript.getEarnedCredits() == 5 && transcript.getAttemptedCredits() == 8 : "Failed course earns no credits";
+        assert transcript.getLines().get(0).getPoints() == 4.0 : "Line points should be filled in";
+
+        System.out.println("✓ Yearly total tests passed");
+    }
+
+    private static void testRanking() {
+        System.out.println("Testing class rank...");
+
+        double[] standings = {3.8, 3.5, 3.5, 2.0};
+        assert TranscriptService.rankOf(3.8, standings) == 1 : "Top GPA ranks first";
+        assert TranscriptService.rankOf(3.5, standings) == 2 : "Equal GPAs share a rank";
+        assert TranscriptService.rankOf(2.0, standings) == 4 : "Rank skips past the tie";
+        assert TranscriptService.rankOf(1.0, standings) == 5 : "GPA below everyone ranks last";
+
+        assert "2024/2025".equals(TranscriptService.termLabel(YEAR2)) : "School year spans two calendar years";
+        assert "2024".equals(TranscriptService.termLabel(LocalDate.of(2024, 1, 1))) : "Calendar school year";
+
+        System.out.println("✓ Class rank tests passed");
+    }
+
+    private static void testWrite() throws Exception {
+        System.out.println("Testing text output...");
+
+        Transcript transcript = transcript();
+        TranscriptService.summarize(transcript);
+        transcript.setClassRank(2);
+        transcript.setClassSize(30);
+        StringBuilder out = new StringBuilder();
+        TranscriptService.write(transcript, out);
+        String text = out.toString();
+
+        assert text.startsWith("Transcript for Ada Lovelace\nClass: 1A\n") : "Header should name the student and class";
+        assert text.indexOf("2023/2024") < text.indexOf("2024/2025") : "Years should be listed in order";
+        assert text.contains("Year GPA: 2.00 (3 of 6 credits earned)") : "Each year should show its GPA";
+        assert text.contains("Cumulative GPA: 2.50 over 8 credits (5 earned)") : "Totals should be shown";
+        assert text.contains("Class rank: 2 of 30") : "Rank should be shown";
+
+        System.out.println("✓ Text output tests passed");
+    }
+
+    private static Transcript transcript() {
+        Transcript transcript = new Transcript();
+        transcript.setStudentId(1);
+        transcript.setStudentName("Ada Lovelace");
+        transcript.setClassName("1A");
+        transcript.getLines().add(line(YEAR1, "MATH101", 3, 92.0, "COMPLETED"));
+        transcript.getLines().add(line(YEAR1, "PHYS101", 3, 41.0, "COMPLETED"));
+        transcript.getLines().add(line(YEAR2, "MATH201", 2, 97.5, "ACTIVE"));
+        transcript.getLines().add(line(YEAR2, "CHEM201", 3, null, "ACTIVE"));
+        return transcript;
+    }
+
+    private static Transcript.Line line(LocalDate termStart, String code, int credits, Double grade, String status) {
+        Transcript.Line line = new Transcript.Line();
+        line.setTermStart(termStart);
+        line.setCourseCode(code);
+        line.setCourseName(code + " course");
+        line.setCredits(credits);
+        line.setGrade(grade);
+        line.setStatus(status);
+        return line;
+    }
+}